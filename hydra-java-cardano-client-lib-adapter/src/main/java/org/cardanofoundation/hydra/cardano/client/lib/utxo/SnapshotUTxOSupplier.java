@@ -4,27 +4,44 @@ import com.bloxbean.cardano.client.api.UtxoSupplier;
 import com.bloxbean.cardano.client.api.common.OrderEnum;
 import com.bloxbean.cardano.client.api.model.Amount;
 import com.bloxbean.cardano.client.api.model.Utxo;
-import com.bloxbean.cardano.client.util.Tuple;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.cardanofoundation.hydra.core.HydraException;
 import org.cardanofoundation.hydra.core.model.UTXO;
+import org.cardanofoundation.hydra.core.store.IncrementalUTxOStore;
+import org.cardanofoundation.hydra.core.store.IndexedUTxOStore;
 import org.cardanofoundation.hydra.core.store.UTxOStore;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import static com.bloxbean.cardano.client.plutus.spec.serializers.PlutusDataJsonConverter.toPlutusData;
 import static org.cardanofoundation.hydra.core.utils.StringUtils.split;
 
-public class SnapshotUTxOSupplier implements UtxoSupplier {
+/**
+ * Supplies the UTxOs of the latest snapshot to cardano-client-lib, converted outputs are cached until spent.
+ *
+ * The supplier listens to deltas of incremental stores, close it once it is no longer used so the store does not
+ * keep its cache reachable.
+ */
+public class SnapshotUTxOSupplier implements UtxoSupplier, AutoCloseable {
 
     private final UTxOStore utxoStore;
 
+    private final UtxoConversionCache conversionCache = new UtxoConversionCache();
+
+    private final boolean reportsDeltas;
+
     public SnapshotUTxOSupplier(UTxOStore utxoStore) {
         this.utxoStore = utxoStore;
+        this.reportsDeltas = utxoStore instanceof IncrementalUTxOStore;
+        if (utxoStore instanceof IncrementalUTxOStore incrementalUTxOStore) {
+            incrementalUTxOStore.addDeltaListener(conversionCache);
+        }
     }
 
     @Override
@@ -33,7 +50,7 @@ public class SnapshotUTxOSupplier implements UtxoSupplier {
                               Integer page,
                               OrderEnum order) {
         var items = nrOfItems == null ? UtxoSupplier.DEFAULT_NR_OF_ITEMS_TO_FETCH : nrOfItems;
-        var snapshot = utxoStore.getLatestUTxO();
+        var snapshot = latestUTxO();
         if (snapshot.isEmpty()) {
             return Collections.emptyList();
         }
@@ -42,45 +59,76 @@ public class SnapshotUTxOSupplier implements UtxoSupplier {
             return List.of();
         }
 
+        if (utxoStore instanceof IndexedUTxOStore indexedUTxOStore) {
+            return indexedUTxOStore.getTxInsByAddress(address)
+                    .stream()
+                    .map(txIn -> {
+                        var utxo = snapshot.get(txIn);
+                        // output may have been spent in the meantime
+                        return utxo == null ? null : createUtxo(txIn, utxo);
+                    })
+                    .filter(Objects::nonNull)
+                    .limit(items)
+                    .toList();
+        }
+
         return snapshot.entrySet()
                 .stream()
                 .filter(utxoEntry -> utxoEntry.getValue().getAddress().equals(address))
-                .map(utxoEntry -> new Tuple<>(split(utxoEntry.getKey(), "#"), utxoEntry.getValue()))
-                .map(tuple -> createUtxo(address, tuple))
+                .map(utxoEntry -> createUtxo(utxoEntry.getKey(), utxoEntry.getValue()))
                 .limit(items)
                 .toList();
     }
 
     @Override
     public Optional<Utxo> getTxOutput(String txHash, int outputIndex) {
-        List<Utxo> allUtxos = getAll();
+        // direct TxIn lookup, only the matching entry gets converted
+        var txIn = txHash + "#" + outputIndex;
+        var utxo = latestUTxO().get(txIn);
+        if (utxo == null) {
+            return Optional.empty();
+        }
 
-        return allUtxos.stream()
-                .filter(utxo -> utxo.getTxHash().equals(txHash) && utxo.getOutputIndex() == outputIndex)
-                .findFirst();
+        return Optional.of(createUtxo(txIn, utxo));
     }
 
     public List<Utxo> getAll() {
-        return utxoStore.getLatestUTxO().entrySet()
+        return latestUTxO().entrySet()
                 .stream()
-                .map(entry -> {
-                    var utxo = entry.getValue();
-                    var address = utxo.getAddress();
-                    var txId = entry.getKey();
+                .map(entry -> createUtxo(entry.getKey(), entry.getValue()))
+                .toList();
+    }
 
-                    var tuple = new Tuple<>(split(txId, "#"), utxo);
+    private Map<String, UTXO> latestUTxO() {
+        var snapshot = utxoStore.getLatestUTxO();
+        // spent conversions of incremental stores are evicted from their deltas
+        if (!reportsDeltas) {
+            conversionCache.prune(snapshot);
+        }
 
-                    return createUtxo(address, tuple);
-                })
-                .toList();
+        return snapshot;
     }
 
+    /**
+     * Stops listening to deltas of the store.
+     */
+    @Override
+    public void close() {
+        if (utxoStore instanceof IncrementalUTxOStore incrementalUTxOStore) {
+            incrementalUTxOStore.removeDeltaListener(conversionCache);
+        }
+    }
 
-    private static @Nullable String convertInlineDatum(@Nullable JsonNode inlineDatum) {
+    private @Nullable String convertInlineDatum(UTXO utxo) {
+        var inlineDatum = utxo.getInlineDatum();
         if (inlineDatum == null || inlineDatum.isNull()) {
             return null;
         }
 
+        return conversionCache.getInlineDatum(utxo.getInlineDatumhash(), inlineDatum, SnapshotUTxOSupplier::serializeInlineDatum);
+    }
+
+    private static String serializeInlineDatum(JsonNode inlineDatum) {
         try {
             var plutusData = toPlutusData(inlineDatum);
 
@@ -90,22 +138,35 @@ public class SnapshotUTxOSupplier implements UtxoSupplier {
         }
     }
 
-    private static Utxo createUtxo(String address,
-                                   Tuple<@Nullable String[], UTXO> tuple) {
-        String txId = tuple._1[0];
-        int outputIndex = Integer.parseInt(tuple._1[1]);
-        UTXO utxo = tuple._2;
+    int cachedConversions() {
+        return conversionCache.size();
+    }
+
+    private Utxo createUtxo(String txIn, UTXO utxo) {
+        var converted = conversionCache.get(txIn, utxo, this::convertUtxo);
+        // spent while converting, the eviction may have run before the conversion was cached
+        if (!utxoStore.getLatestUTxO().containsKey(txIn)) {
+            conversionCache.evict(List.of(txIn));
+        }
+
+        return converted;
+    }
+
+    private Utxo convertUtxo(String txIn, UTXO utxo) {
+        var txInParts = split(txIn, "#");
+        String txId = txInParts[0];
+        int outputIndex = Integer.parseInt(txInParts[1]);
 
         return Utxo.builder()
                 .txHash(txId)
                 .outputIndex(outputIndex)
-                .address(address)
+                .address(utxo.getAddress())
                 .amount(utxo.getValue().entrySet()
                         .stream()
                         .map(entry -> new Amount(entry.getKey(), entry.getValue()))
                         .toList())
                 .dataHash(utxo.getDatumhash())
-                .inlineDatum(convertInlineDatum(utxo.getInlineDatum()))
+                .inlineDatum(convertInlineDatum(utxo))
                 .referenceScriptHash(utxo.getReferenceScript())
                 .build();
     }
@@ -0,0 +1,128 @@
+package org.cardanofoundation.hydra.cardano.client.lib.utxo;
+
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.cardanofoundation.hydra.core.store.UTxODelta;
+import org.cardanofoundation.hydra.core.store.UTxODeltaListener;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Memoizes UTXO -> cardano-client-lib Utxo conversions.
+ *
+ * Converted outputs are keyed by TxIn and remember the UTXO they were converted from, an entry is only reused
+ * for that same UTXO. Spent entries are evicted from the deltas of incremental stores, for other stores the cache
+ * is pruned to the latest UTxO set once it holds more entries than that set. Inline datum conversions are
+ * additionally keyed by the inline datum hash, since the same datum is often locked in many outputs. The inline
+ * datum cache is bounded and simply starts over once full.
+ *
+ * cardano-client-lib Utxo instances are mutable, every caller gets its own copy of the cached conversion.
+ */
+public class UtxoConversionCache implements UTxODeltaListener {
+
+    public static final int DEFAULT_MAX_INLINE_DATUMS = 10_000;
+
+    private final Map<String, Conversion> utxos = new ConcurrentHashMap<>();
+
+    private final Map<String, String> inlineDatums = new ConcurrentHashMap<>();
+
+    private final int maxInlineDatums;
+
+    public UtxoConversionCache() {
+        this(DEFAULT_MAX_INLINE_DATUMS);
+    }
+
+    public UtxoConversionCache(int maxInlineDatums) {
+        this.maxInlineDatums = maxInlineDatums;
+    }
+
+    /**
+     * @return copy of the conversion of the given output, converted once per UTXO instance
+     */
+    public Utxo get(String txIn, UTXO utxo, BiFunction<String, UTXO, Utxo> converter) {
+        var conversion = utxos.get(txIn);
+        if (conversion == null || conversion.source != utxo) {
+            conversion = new Conversion(utxo, converter.apply(txIn, utxo));
+            utxos.put(txIn, conversion);
+        }
+
+        return copy(conversion.utxo);
+    }
+
+    /**
+     * @param inlineDatumHash - hash of the inline datum, conversions of datums without a hash are not cached
+     * @return cbor hex of the inline datum
+     */
+    public String getInlineDatum(@Nullable String inlineDatumHash, JsonNode inlineDatum, Function<JsonNode, String> converter) {
+        if (inlineDatumHash == null) {
+            return converter.apply(inlineDatum);
+        }
+        var hex = inlineDatums.get(inlineDatumHash);
+        if (hex != null) {
+            return hex;
+        }
+        if (inlineDatums.size() >= maxInlineDatums) {
+            inlineDatums.clear();
+        }
+        hex = converter.apply(inlineDatum);
+        inlineDatums.put(inlineDatumHash, hex);
+
+        return hex;
+    }
+
+    public void evict(Collection<String> spentTxIns) {
+        spentTxIns.forEach(utxos::remove);
+    }
+
+    /**
+     * Drops the conversions of spent outputs once the cache holds more entries than the latest UTxO set, so each
+     * pass over the cache is paid for by at least as many conversions.
+     *
+     * @param latestUTxO - latest UTxO set of a store not reporting deltas
+     */
+    public void prune(Map<String, UTXO> latestUTxO) {
+        if (utxos.size() > latestUTxO.size()) {
+            utxos.keySet().retainAll(latestUTxO.keySet());
+        }
+    }
+
+    @Override
+    public void onDelta(UTxODelta delta) {
+        evict(delta.getRemoved().keySet());
+    }
+
+    public int size() {
+        return utxos.size();
+    }
+
+    public int inlineDatumsSize() {
+        return inlineDatums.size();
+    }
+
+    private static Utxo copy(Utxo utxo) {
+        var amounts = new ArrayList<Amount>(utxo.getAmount().size());
+        for (var amount : utxo.getAmount()) {
+            amounts.add(new Amount(amount.getUnit(), amount.getQuantity()));
+        }
+
+        return new Utxo(utxo.getTxHash(),
+                utxo.getOutputIndex(),
+                utxo.getAddress(),
+                amounts,
+                utxo.getDataHash(),
+                utxo.getInlineDatum(),
+                utxo.getReferenceScriptHash());
+    }
+
+    private record Conversion(UTXO source, Utxo utxo) {
+    }
+
+}
@@ -0,0 +1,81 @@
+package org.cardanofoundation.hydra.cardano.client.lib.utxo;
+
+import com.bloxbean.cardano.client.api.model.Utxo;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.cardanofoundation.hydra.core.store.InMemoryUTxOStore;
+import org.cardanofoundation.hydra.core.utils.MoreJson;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares direct TxIn lookup against listing the whole snapshot via getAll and searching it linearly. Every
+ * operation runs on a fresh supplier, so that a lookup converts a single output while getAll converts them all
+ * instead of both being served from the conversion cache.
+ *
+ * Tagged benchmark, not part of the regular test run, execute with:
+ * mvn -Pbenchmarks -pl hydra-java-cardano-client-lib-adapter -am test -Dtest=SnapshotUTxOSupplierBenchmark
+ */
+@Slf4j
+@Tag("benchmark")
+class SnapshotUTxOSupplierBenchmark {
+
+    private static final int UTXO_COUNT = 100_000;
+
+    private static final int WARMUP_ROUNDS = 3;
+
+    @Test
+    public void getTxOutput() {
+        var snapshot = new HashMap<String, UTXO>();
+        for (int i = 0; i < UTXO_COUNT; i++) {
+            snapshot.put(txHash(i) + "#0", UTXO.builder()
+                    .address("addr_test1" + (i % 1000))
+                    .value(Map.of("lovelace", BigInteger.valueOf(i)))
+                    .inlineDatum(MoreJson.read("{\"constructor\":0,\"fields\":[{\"int\":" + i + "},{\"bytes\":\"deadbeef\"}]}"))
+                    .build());
+        }
+        var store = new InMemoryUTxOStore(snapshot);
+
+        IntFunction<Optional<Utxo>> direct = i -> new SnapshotUTxOSupplier(store).getTxOutput(txHash(i), 0);
+        IntFunction<Optional<Utxo>> scan = i -> new SnapshotUTxOSupplier(store).getAll().stream()
+                .filter(utxo -> utxo.getTxHash().equals(txHash(i)) && utxo.getOutputIndex() == 0)
+                .findFirst();
+
+        assertEquals(scan.apply(42).orElseThrow(), direct.apply(42).orElseThrow());
+
+        var directNanos = measure(direct, 10_000);
+        var scanNanos = measure(scan, 5);
+
+        log.info("getTxOutput over {} UTxOs, direct lookup: {} ns/op, getAll + scan: {} ns/op ({}x)",
+                UTXO_COUNT, directNanos, scanNanos, scanNanos / Math.max(1, directNanos));
+    }
+
+    private static long measure(IntFunction<Optional<Utxo>> lookup, int operations) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            run(lookup, operations);
+        }
+        var start = System.nanoTime();
+        run(lookup, operations);
+
+        return (System.nanoTime() - start) / operations;
+    }
+
+    private static void run(IntFunction<Optional<Utxo>> lookup, int operations) {
+        for (int i = 0; i < operations; i++) {
+            lookup.apply((i * 7919) % UTXO_COUNT).orElseThrow();
+        }
+    }
+
+    private static String txHash(int i) {
+        return String.format("%064x", i);
+    }
+
+}
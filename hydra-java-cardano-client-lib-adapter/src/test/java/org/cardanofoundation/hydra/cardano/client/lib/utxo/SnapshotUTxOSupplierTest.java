@@ -0,0 +1,180 @@
+package org.cardanofoundation.hydra.cardano.client.lib.utxo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.cardanofoundation.hydra.core.store.InMemoryUTxOStore;
+import org.cardanofoundation.hydra.core.store.IndexedUTxOStore;
+import org.cardanofoundation.hydra.core.utils.MoreJson;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotUTxOSupplierTest {
+
+    private static final String TX_HASH = "2b6d1b4bb7e0a0f2e3a1d1b7d5d6e7f8091a2b3c4d5e6f708192a3b4c5d6e7f8";
+
+    private static UTXO utxo(String address) {
+        return UTXO.builder()
+                .address(address)
+                .value(Map.of("lovelace", BigInteger.TEN))
+                .inlineDatum(MoreJson.read("{\"int\":42}"))
+                .build();
+    }
+
+    @Test
+    public void looksUpSingleTxOutput() {
+        var supplier = new SnapshotUTxOSupplier(new InMemoryUTxOStore(Map.of(
+                TX_HASH + "#0", utxo("addr1"),
+                TX_HASH + "#1", utxo("addr2"))));
+
+        var txOutput = supplier.getTxOutput(TX_HASH, 1).orElseThrow();
+
+        assertEquals(TX_HASH, txOutput.getTxHash());
+        assertEquals(1, txOutput.getOutputIndex());
+        assertEquals("addr2", txOutput.getAddress());
+        assertEquals("182a", txOutput.getInlineDatum());
+        assertTrue(supplier.getTxOutput(TX_HASH, 2).isEmpty());
+    }
+
+    @Test
+    public void pagesFromAddressIndex() {
+        var store = new IndexedUTxOStore();
+        store.storeLatestUtxO(Map.of(
+                TX_HASH + "#0", utxo("addr1"),
+                TX_HASH + "#1", utxo("addr2"),
+                TX_HASH + "#2", utxo("addr1")));
+        var supplier = new SnapshotUTxOSupplier(store);
+
+        var page = supplier.getPage("addr1", 10, 0, null);
+
+        assertEquals(2, page.size());
+        assertTrue(page.stream().allMatch(utxo -> utxo.getAddress().equals("addr1")));
+        assertEquals(1, supplier.getPage("addr1", 1, 0, null).size());
+        assertTrue(supplier.getPage("addr1", 10, 1, null).isEmpty());
+    }
+
+    @Test
+    public void reusesConversionsOfUnspentOutputs() {
+        var store = new IndexedUTxOStore();
+        var unspent = utxo("addr1");
+        store.storeLatestUtxO(Map.of(TX_HASH + "#0", unspent, TX_HASH + "#1", utxo("addr1")));
+        var supplier = new SnapshotUTxOSupplier(store);
+
+        supplier.getAll();
+        store.storeLatestUtxO(Map.of(TX_HASH + "#0", unspent));
+        assertEquals(1, supplier.cachedConversions());
+
+        // a reused conversion does not see later changes of its source
+        unspent.setAddress("addr2");
+        assertEquals("addr1", supplier.getTxOutput(TX_HASH, 0).orElseThrow().getAddress());
+        assertTrue(supplier.getTxOutput(TX_HASH, 1).isEmpty());
+    }
+
+    @Test
+    public void handsOutCopiesOfCachedConversions() {
+        var supplier = new SnapshotUTxOSupplier(new InMemoryUTxOStore(Map.of(TX_HASH + "#0", utxo("addr1"))));
+
+        var first = supplier.getTxOutput(TX_HASH, 0).orElseThrow();
+        first.setAddress("addr2");
+        first.getAmount().get(0).setQuantity(BigInteger.ONE);
+
+        var second = supplier.getTxOutput(TX_HASH, 0).orElseThrow();
+        assertNotSame(first, second);
+        assertEquals("addr1", second.getAddress());
+        assertEquals(BigInteger.TEN, second.getAmount().get(0).getQuantity());
+    }
+
+    @Test
+    public void cachesInlineDatumsByHash() {
+        var cache = new UtxoConversionCache();
+        var conversions = new AtomicInteger();
+        Function<JsonNode, String> converter = datum -> "hex" + conversions.incrementAndGet();
+
+        assertEquals("hex1", cache.getInlineDatum("hash", MoreJson.read("{\"int\":42}"), converter));
+        assertEquals("hex1", cache.getInlineDatum("hash", MoreJson.read("{\"int\":42}"), converter));
+        // conversions of datums without a hash are not cached
+        assertEquals("hex2", cache.getInlineDatum(null, MoreJson.read("{\"int\":42}"), converter));
+        assertEquals(1, cache.inlineDatumsSize());
+    }
+
+    @Test
+    public void evictsConversionsOfSpentOutputs() {
+        var store = new InMemoryUTxOStore(Map.of(TX_HASH + "#0", utxo("addr1"), TX_HASH + "#1", utxo("addr1")));
+        var supplier = new SnapshotUTxOSupplier(store);
+
+        supplier.getAll();
+        assertEquals(2, supplier.cachedConversions());
+        store.storeLatestUtxO(Map.of(TX_HASH + "#0", utxo("addr1")));
+        assertTrue(supplier.getTxOutput(TX_HASH, 1).isEmpty());
+        assertEquals(1, supplier.cachedConversions());
+
+        store.storeLatestUtxO(Map.of(TX_HASH + "#1", utxo("addr2")));
+        assertEquals("addr2", supplier.getTxOutput(TX_HASH, 1).orElseThrow().getAddress());
+    }
+
+    @Test
+    public void doesNotCacheOutputSpentWhileConverting() {
+        var store = new SpendingOnLookupStore(TX_HASH + "#1");
+        store.storeLatestUtxO(Map.of(TX_HASH + "#0", utxo("addr1"), TX_HASH + "#1", utxo("addr1")));
+        var supplier = new SnapshotUTxOSupplier(store);
+
+        supplier.getTxOutput(TX_HASH, 1).orElseThrow();
+        // spent and evicted before the conversion was cached
+        assertEquals(0, supplier.cachedConversions());
+
+        store.storeLatestUtxO(Map.of(TX_HASH + "#1", utxo("addr2")));
+        assertEquals("addr2", supplier.getTxOutput(TX_HASH, 1).orElseThrow().getAddress());
+    }
+
+    // spends the given TxIn right after it has been looked up for the first time
+    private static class SpendingOnLookupStore extends IndexedUTxOStore {
+
+        private final String txIn;
+
+        private boolean spent;
+
+        private final Map<String, UTXO> view = new AbstractMap<>() {
+            @Override
+            public UTXO get(Object key) {
+                var utxo = SpendingOnLookupStore.super.getLatestUTxO().get(key);
+                if (txIn.equals(key) && !spent) {
+                    spent = true;
+                    var remaining = new HashMap<>(SpendingOnLookupStore.super.getLatestUTxO());
+                    remaining.remove(txIn);
+                    storeLatestUtxO(remaining);
+                }
+
+                return utxo;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return SpendingOnLookupStore.super.getLatestUTxO().containsKey(key);
+            }
+
+            @Override
+            public Set<Entry<String, UTXO>> entrySet() {
+                return SpendingOnLookupStore.super.getLatestUTxO().entrySet();
+            }
+        };
+
+        private SpendingOnLookupStore(String txIn) {
+            this.txIn = txIn;
+        }
+
+        @Override
+        public Map<String, UTXO> getLatestUTxO() {
+            return view;
+        }
+
+    }
+
+}
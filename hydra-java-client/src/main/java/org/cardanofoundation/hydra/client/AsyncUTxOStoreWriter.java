@@ -0,0 +1,209 @@
+package org.cardanofoundation.hydra.client;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.cardanofoundation.hydra.core.store.UTxOStore;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies UTxO store writes on a dedicated thread so that a slow store (e.g. disk backed or indexed) does not hold up
+ * reading of the websocket.
+ *
+ * Writes are queued in order on a bounded queue. Every snapshot carries the full UTxO set, so when the store falls
+ * behind consecutive pending snapshots are coalesced and only the newest one is applied. Rollbacks are never
+ * coalesced, writes on both sides of a rollback are applied. Only when the queue is full and its newest write is a
+ * rollback does the reading thread wait for the store.
+ *
+ * The writer thread stops when idle, the writer needs no closing.
+ */
+@Slf4j
+public class AsyncUTxOStoreWriter extends UTxOStoreWriter {
+
+    public static final int DEFAULT_QUEUE_SIZE = 16;
+
+    private static final long IDLE_TIMEOUT_SECONDS = 60;
+
+    private final BlockingDeque<Write> queue;
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+
+    private final LongAdder coalescedWrites = new LongAdder();
+
+    private final LongAdder appliedWrites = new LongAdder();
+
+    private volatile Write inFlight;
+
+    public AsyncUTxOStoreWriter(UTxOStore utxoStore) {
+        this(utxoStore, DEFAULT_QUEUE_SIZE);
+    }
+
+    /**
+     * @param utxoStore - store to write to
+     * @param queueSize - maximum number of pending writes
+     */
+    public AsyncUTxOStoreWriter(UTxOStore utxoStore, int queueSize) {
+        super(utxoStore);
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("queueSize must be positive!");
+        }
+        this.queue = new LinkedBlockingDeque<>(queueSize);
+        this.executor = new ThreadPoolExecutor(1, 1, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            val thread = new Thread(runnable, "hydra-utxo-store-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void storeLatestUtxO(Map<String, UTXO> utxo) {
+        submit(new Write(Kind.LATEST, -1, utxo, System.nanoTime()));
+    }
+
+    @Override
+    public void applySnapshot(int snapshotNumber, Map<String, UTXO> utxo) {
+        submit(new Write(Kind.SNAPSHOT, snapshotNumber, utxo, System.nanoTime()));
+    }
+
+    @Override
+    public void rollback() {
+        submit(new Write(Kind.ROLLBACK, -1, null, System.nanoTime()));
+    }
+
+    @Override
+    public int getPendingWrites() {
+        return pendingWrites.get();
+    }
+
+    @Override
+    public long getCoalescedWrites() {
+        return coalescedWrites.sum();
+    }
+
+    /**
+     * @return number of writes applied to the store
+     */
+    public long getAppliedWrites() {
+        return appliedWrites.sum();
+    }
+
+    @Override
+    public long getLagMillis() {
+        val current = inFlight;
+        val head = queue.peekFirst();
+        val oldest = current != null ? current : head;
+        if (oldest == null) {
+            return 0;
+        }
+
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedAt);
+    }
+
+    // producers (a connection's reading thread) are serialised, the writer thread only ever takes from the head
+    private synchronized void submit(Write write) {
+        pendingWrites.incrementAndGet();
+        if (!queue.offerLast(write)) {
+            val newest = queue.pollLast();
+            if (newest != null && newest.coalescesWith(write)) {
+                queue.offerLast(newest.coalesce(write));
+                coalesced();
+            } else {
+                if (newest != null) {
+                    queue.offerLast(newest);
+                }
+                try {
+                    queue.putLast(write);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    pendingWrites.decrementAndGet();
+                    log.warn("Interrupted while waiting for the UTxO store, write dropped: {}", write.kind);
+                    return;
+                }
+            }
+        }
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            val batch = new ArrayList<Write>();
+            queue.drainTo(batch);
+
+            Write pending = null;
+            for (val write : batch) {
+                if (pending != null && pending.coalescesWith(write)) {
+                    pending = pending.coalesce(write);
+                    coalesced();
+                    continue;
+                }
+                if (pending != null) {
+                    apply(pending);
+                }
+                pending = write;
+                // coalesced writes keep the enqueue time of the oldest write, lag is measured from it
+                inFlight = pending;
+            }
+            if (pending != null) {
+                apply(pending);
+            }
+            inFlight = null;
+            draining.set(false);
+            // a write submitted after drainTo may have found the flag still set
+        } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    private void apply(Write write) {
+        try {
+            switch (write.kind) {
+                case LATEST -> utxoStore.storeLatestUtxO(write.utxo);
+                case SNAPSHOT -> utxoStore.applySnapshot(write.snapshotNumber, write.utxo);
+                case ROLLBACK -> utxoStore.rollback();
+            }
+            appliedWrites.increment();
+        } catch (RuntimeException e) {
+            log.error("Unable to apply {} to UTxO store", write.kind, e);
+        } finally {
+            pendingWrites.decrementAndGet();
+        }
+    }
+
+    private void coalesced() {
+        coalescedWrites.increment();
+        pendingWrites.decrementAndGet();
+    }
+
+    private enum Kind {
+        LATEST, SNAPSHOT, ROLLBACK
+    }
+
+    private record Write(Kind kind, int snapshotNumber, Map<String, UTXO> utxo, long enqueuedAt) {
+
+        boolean coalescesWith(Write newer) {
+            return kind != Kind.ROLLBACK && newer.kind != Kind.ROLLBACK;
+        }
+
+        // both writes carry a full UTxO set, the newer one wins, latest UTxO keeps the snapshot number it follows
+        Write coalesce(Write newer) {
+            if (newer.kind == Kind.LATEST && kind == Kind.SNAPSHOT) {
+                return new Write(Kind.SNAPSHOT, snapshotNumber, newer.utxo, enqueuedAt);
+            }
+
+            return new Write(newer.kind, newer.snapshotNumber, newer.utxo, enqueuedAt);
+        }
+
+    }
+
+}
@@ -0,0 +1,467 @@
+package org.cardanofoundation.hydra.client;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.core.HydraException;
+import org.cardanofoundation.hydra.core.model.Tag;
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.cardanofoundation.hydra.core.model.query.response.GreetingsResponse;
+import org.cardanofoundation.hydra.core.utils.MoreJson;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reads messages handed over in parts as their frames arrive. A Greetings message carrying the snapshot UTxO set is
+ * streamed: the parts are scanned for the boundaries of the UTxO entries and every entry is decoded on its own
+ * straight into the map the UTxO store is given, the message itself is never held as a whole, neither as bytes nor
+ * as a string, tree or buffered tokens.
+ *
+ * Every other message is collected and passed on as a string to be processed as usual, so is a message arriving in
+ * one part smaller than the streaming threshold. Telling a Greetings message apart takes the top level fields in front
+ * of the snapshot UTxO set only, hydra-node sorts the fields alphabetically so these are few and small.
+ *
+ * The scanner only tracks strings and nesting, the fields around the snapshot UTxO set and every entry are decoded
+ * by the regular json parser, which reports malformed input.
+ *
+ * Parts of one connection are handled sequentially, not meant to be shared between threads.
+ */
+@Slf4j
+class GreetingsStreamReader {
+
+    /**
+     * Size of a message arriving in one part from which it is streamed
+     */
+    static final int DEFAULT_STREAMING_THRESHOLD = 1024 * 1024;
+
+    private static final String SNAPSHOT_UTXO_FIELD = "snapshotUtxo";
+
+    private static final String TAG_FIELD = "tag";
+
+    // top level fields of a Greetings message besides the snapshot UTxO set
+    private static final Set<String> GREETINGS_FIELDS = Set.of("headStatus", "hydraNodeVersion", "me", "seq", TAG_FIELD, "timestamp");
+
+    // nesting depth of the root object and of the snapshot UTxO set
+    private static final int ROOT_DEPTH = 1;
+
+    private static final int UTXO_DEPTH = 2;
+
+    private enum Section {
+        // no message being read
+        NONE,
+        // top level fields in front of the snapshot UTxO set, collected
+        HEADER,
+        // entries of the snapshot UTxO set, decoded one by one
+        UTXO,
+        // top level fields behind the snapshot UTxO set, collected
+        TRAILER,
+        // root object read
+        COMPLETE,
+        // not a Greetings message carrying the snapshot UTxO set, collected to be processed as a string
+        PASSTHROUGH,
+        // rest of a message which failed to be streamed
+        SKIP
+    }
+
+    private final int streamingThreshold;
+
+    private final Consumer<String> messageProcessor;
+
+    private final Consumer<GreetingsResponse> greetingsProcessor;
+
+    private Section section = Section.NONE;
+
+    private int depth;
+
+    private boolean inString;
+
+    private boolean escaped;
+
+    // true between the start (or a comma) of the object being followed and the next key
+    private boolean expectingKey;
+
+    // key or string value being captured, null when no string is captured
+    private ByteArray captured;
+
+    private String key;
+
+    // true between the name of a top level field and its value
+    private boolean awaitingTagValue;
+
+    private boolean awaitingUTxOValue;
+
+    // offset in the collected bytes where the name of the snapshot UTxO field starts
+    private int utxoFieldStart;
+
+    // true until the first byte behind the snapshot UTxO set was seen
+    private boolean trailerStart;
+
+    // true when the header ends with the opening brace, the trailer then continues without a comma
+    private boolean headerEmpty;
+
+    // bytes of the message, or of the fields around the snapshot UTxO set once it is streamed
+    private final ByteArray collected = new ByteArray();
+
+    // bytes of the UTxO entry being read
+    private final ByteArray entry = new ByteArray();
+
+    private boolean inEntry;
+
+    // non null once the snapshot UTxO set is being streamed
+    private Map<String, UTXO> utxo;
+
+    private long streamedEntries;
+
+    /**
+     * @param streamingThreshold - size of a message arriving in one part from which it is streamed
+     * @param messageProcessor - processes messages which are not streamed
+     * @param greetingsProcessor - processes streamed Greetings messages, their snapshot UTxO set fully decoded
+     */
+    GreetingsStreamReader(int streamingThreshold, Consumer<String> messageProcessor, Consumer<GreetingsResponse> greetingsProcessor) {
+        this.streamingThreshold = streamingThreshold;
+        this.messageProcessor = messageProcessor;
+        this.greetingsProcessor = greetingsProcessor;
+    }
+
+    /**
+     * @param part - utf-8 encoded part of a message, consumed during the call
+     * @param last - true for the last part of the message
+     */
+    void onPart(ByteBuffer part, boolean last) {
+        if (section == Section.NONE) {
+            if (last && part.remaining() < streamingThreshold) {
+                messageProcessor.accept(decode(part));
+                return;
+            }
+            section = Section.HEADER;
+        }
+        if (section == Section.SKIP) {
+            if (last) {
+                reset();
+            }
+            return;
+        }
+
+        try {
+            scan(part);
+        } catch (RuntimeException e) {
+            reset();
+            section = last ? Section.NONE : Section.SKIP;
+            throw e;
+        }
+
+        if (!last) {
+            return;
+        }
+        if (utxo != null) {
+            complete();
+            return;
+        }
+        val message = new String(collected.bytes, 0, collected.length, StandardCharsets.UTF_8);
+        reset();
+        messageProcessor.accept(message);
+    }
+
+    /**
+     * @return number of UTxO entries streamed on this connection
+     */
+    long getStreamedEntries() {
+        return streamedEntries;
+    }
+
+    private void scan(ByteBuffer part) {
+        val limit = part.limit();
+        // start of the bytes of this part still to be collected, or of the entry being read
+        int start = part.position();
+
+        for (int i = part.position(); i < limit; i++) {
+            if (section == Section.PASSTHROUGH || section == Section.COMPLETE) {
+                break;
+            }
+            val b = part.get(i);
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                    if (captured != null) {
+                        onString();
+                    }
+                    continue;
+                }
+                if (captured != null) {
+                    captured.add(b);
+                }
+                continue;
+            }
+
+            switch (section) {
+                case HEADER -> {
+                    if (b == '{' && depth == ROOT_DEPTH && awaitingUTxOValue) {
+                        // the snapshot UTxO set starts, only the fields around it are collected from here on
+                        collected.add(part, start, i);
+                        startUTxO();
+                        depth++;
+                        expectingKey = true;
+                        continue;
+                    }
+                    if (!scanHeader(b, i - start)) {
+                        section = Section.PASSTHROUGH;
+                    }
+                }
+                case UTXO -> {
+                    if (b == '"') {
+                        inString = true;
+                        if (depth == UTXO_DEPTH && expectingKey) {
+                            expectingKey = false;
+                            captured = new ByteArray();
+                        }
+                    } else if (b == '{' || b == '[') {
+                        if (++depth == UTXO_DEPTH + 1) {
+                            inEntry = true;
+                            start = i;
+                        }
+                    } else if (b == '}' || b == ']') {
+                        if (--depth == UTXO_DEPTH) {
+                            entry.add(part, start, i + 1);
+                            onEntry();
+                        } else if (depth == ROOT_DEPTH) {
+                            section = Section.TRAILER;
+                            trailerStart = true;
+                            start = i + 1;
+                        }
+                    } else if (b == ',' && depth == UTXO_DEPTH) {
+                        expectingKey = true;
+                    }
+                }
+                case TRAILER -> {
+                    if (trailerStart && !isWhitespace(b)) {
+                        trailerStart = false;
+                        if (b == ',' && headerEmpty) {
+                            start = i + 1;
+                        }
+                    }
+                    if (b == '"') {
+                        inString = true;
+                    } else if (b == '{' || b == '[') {
+                        depth++;
+                    } else if ((b == '}' || b == ']') && --depth == 0) {
+                        collected.add(part, start, i + 1);
+                        section = Section.COMPLETE;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        switch (section) {
+            case HEADER, TRAILER, PASSTHROUGH -> collected.add(part, start, limit);
+            case UTXO -> {
+                if (inEntry) {
+                    entry.add(part, start, limit);
+                }
+            }
+            default -> {
+            }
+        }
+        // the entry continues at the start of the next part
+        part.position(limit);
+    }
+
+    // scans a byte of the top level fields in front of the snapshot UTxO set, false when the message is not to be streamed
+    private boolean scanHeader(byte b, int offsetInPart) {
+        if (isWhitespace(b)) {
+            return true;
+        }
+        if (depth == 0) {
+            if (b != '{') {
+                return false;
+            }
+            depth++;
+            expectingKey = true;
+            return true;
+        }
+        if (awaitingUTxOValue && b != ':') {
+            // the snapshot UTxO set is null
+            return false;
+        }
+
+        switch (b) {
+            case '"' -> {
+                inString = true;
+                if (depth == ROOT_DEPTH && expectingKey) {
+                    expectingKey = false;
+                    utxoFieldStart = collected.length + offsetInPart;
+                    captured = new ByteArray();
+                } else if (depth == ROOT_DEPTH && awaitingTagValue) {
+                    captured = new ByteArray();
+                }
+            }
+            case '{', '[' -> depth++;
+            case '}', ']' -> depth--;
+            case ',' -> {
+                if (depth == ROOT_DEPTH) {
+                    expectingKey = true;
+                    awaitingTagValue = false;
+                }
+            }
+            default -> {
+            }
+        }
+
+        return true;
+    }
+
+    private void onString() {
+        val value = new String(captured.bytes, 0, captured.length, StandardCharsets.UTF_8);
+        captured = null;
+
+        if (section == Section.UTXO) {
+            key = value;
+            return;
+        }
+        if (awaitingTagValue) {
+            awaitingTagValue = false;
+            if (!Tag.Greetings.name().equals(value)) {
+                section = Section.PASSTHROUGH;
+            }
+            return;
+        }
+        if (SNAPSHOT_UTXO_FIELD.equals(value)) {
+            awaitingUTxOValue = true;
+        } else if (TAG_FIELD.equals(value)) {
+            awaitingTagValue = true;
+        } else if (!GREETINGS_FIELDS.contains(value)) {
+            section = Section.PASSTHROUGH;
+        }
+    }
+
+    private void startUTxO() {
+        // drop the name of the snapshot UTxO field and the comma in front of it from the collected fields
+        collected.length = utxoFieldStart;
+        collected.trimEnd();
+        if (collected.length > 0 && collected.bytes[collected.length - 1] == ',') {
+            collected.length--;
+            collected.trimEnd();
+        }
+        headerEmpty = collected.length > 0 && collected.bytes[collected.length - 1] == '{';
+        awaitingUTxOValue = false;
+        utxo = new HashMap<>();
+        section = Section.UTXO;
+    }
+
+    private void onEntry() {
+        utxo.put(key, MoreJson.readValue(entry.bytes, 0, entry.length, UTXO.class));
+        streamedEntries++;
+        entry.length = 0;
+        inEntry = false;
+    }
+
+    private void complete() {
+        if (section != Section.COMPLETE) {
+            reset();
+            throw new HydraException("Unable to deserialise streamed Greetings, message ended early");
+        }
+        val fields = new String(collected.bytes, 0, collected.length, StandardCharsets.UTF_8);
+        val snapshotUtxo = utxo;
+        reset();
+
+        val tag = MessageHeader.peek(fields).map(MessageHeader::tag).orElse(null);
+        if (tag != Tag.Greetings) {
+            throw new HydraException("Unable to deserialise streamed Greetings, unexpected tag: " + tag);
+        }
+        val greetings = MoreJson.readValue(fields, GreetingsResponse.class);
+        log.debug("Streamed Greetings with {} UTxO entries", snapshotUtxo.size());
+
+        greetingsProcessor.accept(new GreetingsResponse(greetings.getMe(),
+                greetings.getSeq(),
+                greetings.getTimestamp(),
+                greetings.getHeadStatus(),
+                snapshotUtxo,
+                greetings.getHydraNodeVersion()));
+    }
+
+    private void reset() {
+        section = Section.NONE;
+        depth = 0;
+        inString = false;
+        escaped = false;
+        expectingKey = false;
+        captured = null;
+        key = null;
+        awaitingTagValue = false;
+        awaitingUTxOValue = false;
+        trailerStart = false;
+        headerEmpty = false;
+        inEntry = false;
+        utxo = null;
+        collected.release();
+        entry.release();
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static String decode(ByteBuffer part) {
+        if (part.hasArray()) {
+            return new String(part.array(), part.arrayOffset() + part.position(), part.remaining(), StandardCharsets.UTF_8);
+        }
+        val bytes = new byte[part.remaining()];
+        part.duplicate().get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class ByteArray {
+
+        private static final byte[] EMPTY = new byte[0];
+
+        private byte[] bytes = EMPTY;
+
+        private int length;
+
+        void add(byte b) {
+            ensureCapacity(1);
+            bytes[length++] = b;
+        }
+
+        void add(ByteBuffer buffer, int from, int to) {
+            val count = to - from;
+            if (count <= 0) {
+                return;
+            }
+            ensureCapacity(count);
+            buffer.get(from, bytes, length, count);
+            length += count;
+        }
+
+        void trimEnd() {
+            while (length > 0 && isWhitespace(bytes[length - 1])) {
+                length--;
+            }
+        }
+
+        void release() {
+            bytes = EMPTY;
+            length = 0;
+        }
+
+        private void ensureCapacity(int count) {
+            if (bytes.length - length < count) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + count, Math.max(64, bytes.length * 2)));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.cardanofoundation.hydra.client;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.core.model.Tag;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Fast-forwards through the history the hydra node replays on a connection with history enabled.
+ *
+ * Until the node greets the client, which it does once the history was replayed, only the header of a message is read.
+ * Lifecycle messages (head state changes and rollbacks) are passed on in order for state tracking, confirmed snapshots
+ * are held back and only the latest one before each lifecycle message and before the greeting is decoded, every other
+ * historical message is skipped. From the greeting on all messages are passed on.
+ *
+ * Listeners consequently see only lifecycle messages and the latest snapshots of the history.
+ *
+ * Messages of one connection are handled sequentially, not meant to be shared between threads.
+ */
+@Slf4j
+class HistoryFastForward {
+
+    private static final Set<Tag> LIFECYCLE_TAGS = EnumSet.of(
+            Tag.HeadIsInitializing,
+            Tag.HeadIsOpen,
+            Tag.HeadIsClosed,
+            Tag.HeadIsContested,
+            Tag.ReadyToFanout,
+            Tag.HeadIsAborted,
+            Tag.HeadIsFinalized,
+            Tag.RolledBack);
+
+    private final boolean enabled;
+
+    private boolean active = false;
+
+    // latest confirmed snapshot not passed on yet, kept as the raw message
+    private String pendingSnapshot;
+
+    private long skippedMessages = 0;
+
+    private long skippedSnapshots = 0;
+
+    HistoryFastForward(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @param history - true when the new connection replays history to fast-forward through, false for a resumed
+     *                connection which must pass on every message after the last processed one
+     */
+    void onConnect(boolean history) {
+        active = enabled && history;
+        pendingSnapshot = null;
+        skippedMessages = 0;
+        skippedSnapshots = 0;
+    }
+
+    /**
+     * @param message - raw message
+     * @param processor - decodes and processes the messages passed on, in order
+     */
+    void onMessage(String message, Consumer<String> processor) {
+        if (!active) {
+            processor.accept(message);
+            return;
+        }
+        val maybeHeader = MessageHeader.peek(message);
+        val tag = maybeHeader.map(MessageHeader::tag).orElse(null);
+        if (tag == null) {
+            // unknown tag or malformed, leave reporting to the decoder
+            processor.accept(message);
+            return;
+        }
+
+        if (tag == Tag.SnapshotConfirmed) {
+            if (pendingSnapshot != null) {
+                skippedSnapshots++;
+            }
+            pendingSnapshot = message;
+            return;
+        }
+
+        if (tag == Tag.Greetings) {
+            onGreetings(processor);
+            processor.accept(message);
+            return;
+        }
+
+        if (LIFECYCLE_TAGS.contains(tag)) {
+            flush(processor);
+            processor.accept(message);
+            return;
+        }
+
+        skippedMessages++;
+    }
+
+    /**
+     * Ends fast-forwarding on a greeting which was decoded while it arrived instead of being passed to onMessage,
+     * the greeting itself is to be processed by the caller afterwards.
+     *
+     * @param processor - decodes and processes the held back snapshot
+     */
+    void onGreetings(Consumer<String> processor) {
+        if (!active) {
+            return;
+        }
+        flush(processor);
+        active = false;
+        log.info("Fast-forwarded history, skipped {} messages and {} snapshots", skippedMessages, skippedSnapshots);
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    private void flush(Consumer<String> processor) {
+        if (pendingSnapshot != null) {
+            val snapshot = pendingSnapshot;
+            pendingSnapshot = null;
+            processor.accept(snapshot);
+        }
+    }
+
+}
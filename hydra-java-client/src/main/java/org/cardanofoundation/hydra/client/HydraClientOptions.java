@@ -5,6 +5,8 @@ import lombok.Getter;
 import org.cardanofoundation.hydra.core.store.EmptyUTxOStore;
 import org.cardanofoundation.hydra.core.store.UTxOStore;
 
+import java.time.Duration;
+
 import static org.cardanofoundation.hydra.client.HydraClientOptions.TransactionFormat.CBOR;
 
 @Getter
@@ -22,6 +24,35 @@ public class HydraClientOptions {
     @Builder.Default
     private boolean snapshotUtxo = false;
 
+    /**
+     * Size of a message arriving in one part from which it is parsed while reading, so that a Greetings message
+     * carrying a large snapshot UTxO set is decoded entry by entry instead of as a whole, messages arriving
+     * in several parts are always parsed while reading. Takes effect with snapshotUtxo and a transport
+     * delivering message parts only
+     */
+    @Builder.Default
+    private int snapshotUtxoStreamingThreshold = GreetingsStreamReader.DEFAULT_STREAMING_THRESHOLD;
+
+    /**
+     * Fast-forward through replayed history: only lifecycle messages and the latest snapshots are decoded
+     * and passed on until the node greets the client at the end of the history
+     */
+    @Builder.Default
+    private boolean fastForwardHistory = false;
+
+    /**
+     * Apply UTxO store writes on a dedicated thread instead of the websocket reading thread,
+     * pending snapshots are coalesced when the store falls behind
+     */
+    @Builder.Default
+    private boolean asyncUtxoStoreWrites = false;
+
+    /**
+     * Maximum number of pending UTxO store writes when writing asynchronously
+     */
+    @Builder.Default
+    private int utxoStoreWriteQueueSize = AsyncUTxOStoreWriter.DEFAULT_QUEUE_SIZE;
+
     /**
      * Hydra internal consensus level errors are not propagated to the developer
      */
@@ -31,6 +62,74 @@ public class HydraClientOptions {
     @Builder.Default
     private TransactionFormat transactionFormat = CBOR;
 
+    /**
+     * Decode messages by reading the tag first and binding fields straight into the response type,
+     * when disabled every message is read into a json tree first
+     */
+    @Builder.Default
+    private boolean tagFirstDecoding = true;
+
+    /**
+     * Deliver responses to every query event listener on its own thread through a bounded queue,
+     * a slow listener then no longer holds up reading of the websocket or the other listeners
+     */
+    @Builder.Default
+    private boolean asyncListenerDispatch = false;
+
+    /**
+     * Maximum number of responses queued per listener when dispatching asynchronously
+     */
+    @Builder.Default
+    private int listenerQueueSize = QueryEventDispatchLane.DEFAULT_QUEUE_SIZE;
+
+    /**
+     * What happens with a response when a listener's queue is full, under BLOCK reading of the websocket pauses
+     * until the queue drained to half
+     */
+    @Builder.Default
+    private OverflowPolicy listenerOverflowPolicy = OverflowPolicy.BLOCK;
+
+    /**
+     * Number of slots of the ring buffer responses are published into for subscribers reading in batches,
+     * 0 disables the ring buffer. Up to this number of responses, e.g. large SnapshotConfirmed ones, may stay
+     * reachable from the ring after all subscribers read them
+     */
+    @Builder.Default
+    private int responseRingSize = 0;
+
+    /**
+     * Reconnect with exponential backoff when the connection drops, the new connection replays history
+     * and resumes after the last processed seq
+     */
+    @Builder.Default
+    private boolean autoReconnect = false;
+
+    @Builder.Default
+    private Duration reconnectInitialDelay = Duration.ofSeconds(1);
+
+    @Builder.Default
+    private Duration reconnectMaxDelay = Duration.ofSeconds(30);
+
+    /**
+     * Creates the websocket transport of every connection, Java-WebSocket with its own threads per connection
+     * by default, see JdkWebSocketTransport for one sharing an executor
+     */
+    @Builder.Default
+    private HydraTransport.Factory transportFactory = JavaWebSocketTransport::new;
+
+    /**
+     * Bytes of request frames written in a burst after which they are flushed to the socket together
+     */
+    @Builder.Default
+    private int requestFlushThreshold = RequestWriter.DEFAULT_FLUSH_THRESHOLD;
+
+    /**
+     * How long written request frames may wait for more requests to be flushed with,
+     * zero flushes as soon as no more requests are queued
+     */
+    @Builder.Default
+    private Duration requestLinger = Duration.ZERO;
+
     /**
      *
      * @param serverURI
@@ -53,4 +152,8 @@ public class HydraClientOptions {
         CBOR, JSON
     }
 
+    public enum OverflowPolicy {
+        BLOCK, DROP_OLDEST, FAIL
+    }
+
 }
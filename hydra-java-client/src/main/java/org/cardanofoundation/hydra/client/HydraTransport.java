@@ -0,0 +1,170 @@
+package org.cardanofoundation.hydra.client;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Websocket connection to a hydra-node the client exchanges text frames through.
+ *
+ * A transport connects at most once, a reconnecting client creates a new transport for every connection.
+ */
+public interface HydraTransport {
+
+    /**
+     * Close code of a normal closure.
+     */
+    int NORMAL_CLOSURE = 1000;
+
+    /**
+     * Close code reported when the connection dropped without a close frame.
+     */
+    int ABNORMAL_CLOSURE = 1006;
+
+    /**
+     * Close code reported when the connection could not be established.
+     */
+    int NEVER_CONNECTED = -1;
+
+    /**
+     * Starts connecting without waiting for the handshake to complete.
+     */
+    void connect();
+
+    /**
+     * Connects and waits until the handshake completed or failed, or the timeout elapsed.
+     *
+     * @return true if the connection is open
+     */
+    boolean connectBlocking(long time, TimeUnit timeUnit) throws InterruptedException;
+
+    /**
+     * Starts closing the connection with the given close code and reason.
+     */
+    void close(int code, String reason);
+
+    /**
+     * Closes the connection and waits until it is closed.
+     */
+    void closeBlocking() throws InterruptedException;
+
+    /**
+     * Closes the connection unless it is already closing and waits until it is closed or the timeout elapsed.
+     * The default polls {@link #isClosed()}, transports with a close signal wait on it instead.
+     *
+     * @return true if the connection is closed
+     */
+    default boolean closeBlocking(long time, TimeUnit timeUnit) throws InterruptedException {
+        if (!isClosing() && !isClosed()) {
+            close(NORMAL_CLOSURE, "");
+        }
+        final long deadline = System.nanoTime() + timeUnit.toNanos(time);
+        while (!isClosed()) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(10)));
+        }
+
+        return true;
+    }
+
+    boolean isOpen();
+
+    boolean isClosing();
+
+    boolean isClosed();
+
+    /**
+     * Sends the remaining bytes of the buffer as one text frame.
+     *
+     * The payload is copied before the method returns so the caller may reuse the buffer, sends are not
+     * to be called concurrently.
+     *
+     * @param payload - utf-8 encoded text
+     */
+    void send(ByteBuffer payload);
+
+    /**
+     * Writes the remaining bytes of the buffer as one text frame which is put on the wire by the next flush at
+     * the latest, so a burst of frames goes out with as few socket writes as possible.
+     *
+     * Transports without control over flushing send the frame right away.
+     *
+     * @param payload - utf-8 encoded text, copied before the method returns
+     */
+    default void write(ByteBuffer payload) {
+        send(payload);
+    }
+
+    /**
+     * Puts all written frames on the wire.
+     *
+     * @return future completed once the flushed frames have been sent, exceptionally when sending any of them failed,
+     * transports sending frames right away return a completed future
+     */
+    default CompletableFuture<Void> flush() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Stops handing over messages once the current one is handled, until reading resumes. The socket is no longer
+     * read, TCP flow control then holds up the hydra-node.
+     *
+     * Transports without control over reading keep reading. May be called from any thread.
+     */
+    default void pauseReading() {
+    }
+
+    /**
+     * Resumes handing over messages after {@link #pauseReading()}, may be called from any thread.
+     */
+    default void resumeReading() {
+    }
+
+    /**
+     * Receives the events of one connection, called from the transport's reading thread one at a time.
+     */
+    interface Handler {
+
+        void onOpen();
+
+        void onMessage(String message);
+
+        /**
+         * True when the handler takes messages in parts as their frames arrive, so that a large message is never
+         * held as a whole.
+         *
+         * @return true to receive messages through {@link #onMessagePart(ByteBuffer, boolean)}
+         */
+        default boolean acceptsMessageParts() {
+            return false;
+        }
+
+        /**
+         * Receives a message part by part as its frames arrive. Transports only call it for handlers accepting
+         * message parts, every message is delivered either in parts or through {@link #onMessage(String)}.
+         *
+         * @param part - utf-8 encoded part of the message, valid during the call only
+         * @param last - true for the last part of the message
+         */
+        default void onMessagePart(ByteBuffer part, boolean last) {
+            throw new UnsupportedOperationException("Handler does not accept message parts");
+        }
+
+        void onClose(int code, String reason, boolean remote);
+
+        void onError(Exception e);
+
+    }
+
+    @FunctionalInterface
+    interface Factory {
+
+        HydraTransport create(URI serverUri, Handler handler);
+
+    }
+
+}
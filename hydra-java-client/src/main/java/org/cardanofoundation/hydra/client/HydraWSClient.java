@@ -3,55 +3,142 @@ package org.cardanofoundation.hydra.client;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.cardanofoundation.hydra.core.HydraException;
 import org.cardanofoundation.hydra.core.model.HydraState;
+import org.cardanofoundation.hydra.core.model.Request;
 import org.cardanofoundation.hydra.core.model.Tag;
 import org.cardanofoundation.hydra.core.model.query.request.*;
 import org.cardanofoundation.hydra.core.model.query.response.FailureResponse;
 import org.cardanofoundation.hydra.core.model.query.response.GreetingsResponse;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.cardanofoundation.hydra.core.store.EmptyUTxOStore;
 import org.cardanofoundation.hydra.core.store.UTxOStore;
-import org.cardanofoundation.hydra.core.utils.MoreJson;
-import org.java_websocket.client.WebSocketClient;
-import org.java_websocket.handshake.ServerHandshake;
 
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.lang.String.format;
 
+/**
+ * Requests may be submitted from any number of threads, they are written to the hydra-node one at a time in the
+ * order each thread submitted them. Responses are processed on the reading thread of the transport.
+ */
 @Slf4j
-// not thread safe yet
 public class HydraWSClient {
 
     private final static ResponseTagStateMapper RESPONSE_TAG_STATE_MAPPER = new ResponseTagStateMapper();
 
-    private final ResponseTagHandlers responseTagHandlers;
+    private final static Set<Tag> ALL_TAGS = EnumSet.allOf(Tag.class);
 
-    private final HydraWebSocketHandler hydraWebSocketHandler;
+    // tags the client tracks the head state with
+    private final static Set<Tag> INTERNAL_TAGS = EnumSet.of(Tag.Greetings,
+            Tag.HeadIsInitializing,
+            Tag.HeadIsOpen,
+            Tag.HeadIsClosed,
+            Tag.HeadIsContested,
+            Tag.ReadyToFanout,
+            Tag.HeadIsAborted,
+            Tag.HeadIsFinalized);
+
+    // tags the client updates the UTxO store with
+    private final static Set<Tag> UTXO_STORE_TAGS = EnumSet.of(Tag.Greetings,
+            Tag.HeadIsOpen,
+            Tag.SnapshotConfirmed,
+            Tag.RolledBack);
+
+    private final ResponseDecoder responseDecoder;
+
+    private final UTxOStoreUpdater utxoStoreUpdater;
+
+    private final RequestWriter requestWriter;
+
+    // null unless enabled in the options
+    private final ResponseRingBuffer responseRing;
+
+    private final HydraTransport.Factory transportFactory;
+
+    // replaced by a new handler on every reconnect
+    private volatile HydraWebSocketHandler hydraWebSocketHandler;
+
+    private final ReplayFilter replayFilter = new ReplayFilter();
+
+    private final HistoryFastForward historyFastForward;
+
+    private final AtomicInteger reconnectAttempts = new AtomicInteger();
+
+    private volatile boolean closeRequested = false;
+
+    private ScheduledExecutorService reconnectScheduler;
 
     private final List<HydraStateEventListener> hydraStateEventListeners = new CopyOnWriteArrayList<>();
 
     private final List<HydraQueryEventListener> hydraQueryEventListeners = new CopyOnWriteArrayList<>();
 
+    // tags of the messages to decode, all other messages are skipped after reading their tag
+    private volatile Set<Tag> wantedTags = ALL_TAGS;
+
     private final HydraClientOptions hydraClientOptions;
 
     @Getter
     private final UTxOStore utxoStore;
 
+    /**
+     * Writer applying snapshots to the UTxO store, exposes how far the store lags behind
+     */
+    @Getter
+    private final UTxOStoreWriter utxoStoreWriter;
+
+    /**
+     * Pauses reading of the websocket while consumers fall behind, e.g. full listener queues under the BLOCK policy
+     */
     @Getter
-    private HydraState hydraState;
+    private final ReadBackpressure readBackpressure;
+
+    // published atomically, read from any thread
+    private final AtomicReference<HydraState> hydraState = new AtomicReference<>(HydraState.Unknown);
 
 
     public HydraWSClient(HydraClientOptions hydraClientOptions) {
-        final URI hydraServerUri = createHydraServerUri(hydraClientOptions);
+        this(hydraClientOptions, hydraClientOptions.getTransportFactory());
+    }
+
+    /**
+     * Creates a client talking to the hydra-node through transports created by the given factory instead of
+     * the one in the options.
+     *
+     * @param hydraClientOptions - client options
+     * @param transportFactory - creates the transport of every connection
+     */
+    public HydraWSClient(HydraClientOptions hydraClientOptions, HydraTransport.Factory transportFactory) {
+        final URI hydraServerUri = createHydraServerUri(hydraClientOptions, hydraClientOptions.isHistory());
         log.info("hydra connection url:{}", hydraServerUri);
-        this.hydraWebSocketHandler = new HydraWebSocketHandler(hydraServerUri);
+        this.transportFactory = transportFactory;
         this.hydraClientOptions = hydraClientOptions;
-        this.hydraState = HydraState.Unknown;
+        this.requestWriter = new RequestWriter(() -> hydraWebSocketHandler.transport,
+                hydraClientOptions.getRequestFlushThreshold(),
+                hydraClientOptions.getRequestLinger());
+        this.readBackpressure = new ReadBackpressure(() -> hydraWebSocketHandler.transport);
+        this.hydraWebSocketHandler = new HydraWebSocketHandler(hydraServerUri, hydraClientOptions.isHistory());
+        this.historyFastForward = new HistoryFastForward(hydraClientOptions.isFastForwardHistory());
         this.utxoStore = hydraClientOptions.getUtxoStore();
-        this.responseTagHandlers = new ResponseTagHandlers(utxoStore);
+        this.responseDecoder = createResponseDecoder(hydraClientOptions, new ResponseTagHandlers());
+        this.utxoStoreWriter = createUTxOStoreWriter(hydraClientOptions);
+        this.utxoStoreUpdater = new UTxOStoreUpdater(utxoStoreWriter);
+        this.responseRing = hydraClientOptions.getResponseRingSize() > 0 ? new ResponseRingBuffer(hydraClientOptions.getResponseRingSize(), readBackpressure) : null;
+        updateWantedTags();
     }
 
     /**
@@ -59,7 +146,7 @@ public class HydraWSClient {
      * @return
      */
     public boolean isOpen() {
-        return hydraWebSocketHandler.isOpen();
+        return hydraWebSocketHandler.transport.isOpen();
     }
 
     /**
@@ -68,7 +155,7 @@ public class HydraWSClient {
      * @return true if the websocket connection is closed
      */
     public boolean isClosed() {
-        return hydraWebSocketHandler.isClosed();
+        return hydraWebSocketHandler.transport.isClosed();
     }
 
     /**
@@ -77,7 +164,7 @@ public class HydraWSClient {
      * @return true if the websocket connection is closing
      */
     public boolean isClosing() {
-        return hydraWebSocketHandler.isClosing();
+        return hydraWebSocketHandler.transport.isClosing();
     }
 
 
@@ -92,11 +179,46 @@ public class HydraWSClient {
             throw new IllegalArgumentException("HydraQueryEventListener instance cannot be null!");
         }
 
-        hydraQueryEventListeners.add(eventListener);
+        hydraQueryEventListeners.add(dispatchTo(eventListener));
+        updateWantedTags();
 
         return this;
     }
 
+    /**
+     * Add a HydraQueryEventListener instance interested only in responses with the given tags.
+     *
+     * Messages with tags no listener (nor the client itself) is interested in are skipped after reading their tag.
+     *
+     * @param eventListener - listener to add
+     * @param tags - tags of the responses to pass on to the listener
+     * @return this instance
+     */
+    public HydraWSClient addHydraQueryEventListener(HydraQueryEventListener eventListener, Set<Tag> tags) {
+        if (eventListener == null) {
+            throw new IllegalArgumentException("HydraQueryEventListener instance cannot be null!");
+        }
+        if (tags == null) {
+            throw new IllegalArgumentException("tags cannot be null!");
+        }
+
+        hydraQueryEventListeners.add(new TagFilteredQueryEventListener(dispatchTo(eventListener), tags));
+        updateWantedTags();
+
+        return this;
+    }
+
+    private HydraQueryEventListener dispatchTo(HydraQueryEventListener eventListener) {
+        if (hydraClientOptions.isAsyncListenerDispatch()) {
+            return new QueryEventDispatchLane(eventListener,
+                    hydraClientOptions.getListenerQueueSize(),
+                    hydraClientOptions.getListenerOverflowPolicy(),
+                    readBackpressure);
+        }
+
+        return eventListener;
+    }
+
     /**
      * Add a HydraStateEventListener instance to the list of listeners.
      *
@@ -123,7 +245,14 @@ public class HydraWSClient {
             throw new IllegalArgumentException("HydraQueryEventListener instance cannot be null!");
         }
 
-        hydraQueryEventListeners.remove(eventListener);
+        for (val listener : hydraQueryEventListeners) {
+            if (unwrap(listener) == eventListener) {
+                hydraQueryEventListeners.remove(listener);
+                laneOf(listener).ifPresent(QueryEventDispatchLane::close);
+                break;
+            }
+        }
+        updateWantedTags();
 
         return this;
     }
@@ -148,7 +277,64 @@ public class HydraWSClient {
      * Remove all HydraQueryEventListener instances from the list of listeners.
      */
     public void clearAllHydraQueryEventListeners() {
+        val listeners = List.copyOf(hydraQueryEventListeners);
         hydraQueryEventListeners.clear();
+        updateWantedTags();
+        listeners.forEach(listener -> laneOf(listener).ifPresent(QueryEventDispatchLane::close));
+    }
+
+    /**
+     * Returns the dispatch lanes of the query event listeners, only present when listeners are dispatched to asynchronously.
+     *
+     * @return lanes exposing how far each listener lags behind
+     */
+    public List<QueryEventDispatchLane> getQueryEventDispatchLanes() {
+        return hydraQueryEventListeners.stream()
+                .map(HydraWSClient::laneOf)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    // registered listeners are wrapped in a tag filter and / or a dispatch lane
+    private static HydraQueryEventListener unwrap(HydraQueryEventListener listener) {
+        if (listener instanceof TagFilteredQueryEventListener filtered) {
+            return unwrap(filtered.getListener());
+        }
+        if (listener instanceof QueryEventDispatchLane lane) {
+            return lane.getListener();
+        }
+
+        return listener;
+    }
+
+    private static Optional<QueryEventDispatchLane> laneOf(HydraQueryEventListener listener) {
+        if (listener instanceof TagFilteredQueryEventListener filtered) {
+            return laneOf(filtered.getListener());
+        }
+        if (listener instanceof QueryEventDispatchLane lane) {
+            return Optional.of(lane);
+        }
+
+        return Optional.empty();
+    }
+
+    private synchronized void updateWantedTags() {
+        val tags = EnumSet.copyOf(INTERNAL_TAGS);
+        if (!(utxoStore instanceof EmptyUTxOStore)) {
+            tags.addAll(UTXO_STORE_TAGS);
+        }
+        // ring subscribers read every response
+        if (responseRing != null) {
+            tags.addAll(ALL_TAGS);
+        }
+        for (val listener : hydraQueryEventListeners) {
+            if (listener instanceof TagFilteredQueryEventListener filtered) {
+                tags.addAll(filtered.getTags());
+            } else {
+                tags.addAll(ALL_TAGS);
+            }
+        }
+        wantedTags = tags;
     }
 
     /**
@@ -158,11 +344,30 @@ public class HydraWSClient {
         hydraStateEventListeners.clear();
     }
 
+    /**
+     * Subscribes to the responses published into the response ring buffer, from the next response on.
+     *
+     * Responses are published after the UTxO store and the state were updated and before query event listeners are called.
+     * A subscriber which stops polling eventually holds up reading of the websocket, and is detached once the ring stayed
+     * full for 10 seconds, close it when done.
+     *
+     * @return subscriber reading the ring in batches at its own pace
+     * @throws IllegalStateException when the response ring buffer is not enabled in the options
+     */
+    public ResponseRingBuffer.Subscriber subscribeResponses() {
+        if (responseRing == null) {
+            throw new IllegalStateException("Response ring buffer is not enabled, see HydraClientOptions.responseRingSize");
+        }
+
+        return responseRing.subscribe();
+    }
+
     /**
      * Connect to the hydra server.
      */
     public void connect() {
-        hydraWebSocketHandler.connect();
+        closeRequested = false;
+        hydraWebSocketHandler.transport.connect();
     }
 
     /**
@@ -170,7 +375,8 @@ public class HydraWSClient {
      * @throws InterruptedException
      */
     public void connectBlocking() throws InterruptedException {
-        hydraWebSocketHandler.connectBlocking();
+        closeRequested = false;
+        hydraWebSocketHandler.transport.connectBlocking(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -180,14 +386,16 @@ public class HydraWSClient {
      * @throws InterruptedException
      */
     public void connectBlocking(int time, TimeUnit timeUnit) throws InterruptedException {
-        hydraWebSocketHandler.connectBlocking(time, timeUnit);
+        closeRequested = false;
+        hydraWebSocketHandler.transport.connectBlocking(time, timeUnit);
     }
 
     /**
      * Close the websocket connection.
      */
     public void close() {
-        hydraWebSocketHandler.close();
+        closeRequested = true;
+        hydraWebSocketHandler.transport.close(HydraTransport.NORMAL_CLOSURE, "");
     }
 
     /**
@@ -197,17 +405,92 @@ public class HydraWSClient {
      * @param message - message to pass on the websocket connection closing
      */
     public void close(int code, String message) {
-        hydraWebSocketHandler.close(code, message);
+        closeRequested = true;
+        hydraWebSocketHandler.transport.close(code, message);
     }
 
     /**
      * Close the websocket connection and block until the connection is closed.
      */
     public void closeBlocking() throws InterruptedException {
-        hydraWebSocketHandler.closeBlocking();
+        closeRequested = true;
+        hydraWebSocketHandler.transport.closeBlocking();
+    }
+
+    /**
+     * Close the websocket connection unless it is already closing and block until the connection is closed or the
+     * timeout elapsed.
+     *
+     * @param time - maximum time to wait
+     * @param timeUnit - unit of the time
+     * @return true if the connection is closed
+     */
+    public boolean closeBlocking(long time, TimeUnit timeUnit) throws InterruptedException {
+        closeRequested = true;
+        return hydraWebSocketHandler.transport.closeBlocking(time, timeUnit);
+    }
+
+    private synchronized void scheduleReconnect() {
+        if (reconnectScheduler == null) {
+            val scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                val thread = new Thread(runnable, "hydra-reconnect");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setKeepAliveTime(1, TimeUnit.MINUTES);
+            scheduler.allowCoreThreadTimeOut(true);
+            reconnectScheduler = scheduler;
+        }
+        val attempt = reconnectAttempts.getAndIncrement();
+        val delay = reconnectDelay(hydraClientOptions, attempt);
+        log.info("Reconnecting in {} ms, attempt: {}", delay.toMillis(), attempt + 1);
+
+        reconnectScheduler.schedule(this::reconnect, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void reconnect() {
+        if (closeRequested) {
+            return;
+        }
+        // a websocket client cannot be connected twice, every attempt gets a new one which replays history when resuming
+        val history = hydraClientOptions.isHistory() || replayFilter.isResuming();
+        // a resumed connection passes on every message after the last processed one, it is never fast-forwarded
+        val fastForward = history && !replayFilter.isResuming();
+        val hydraServerUri = createHydraServerUri(hydraClientOptions, history);
+        replayFilter.onReconnect();
+        val handler = new HydraWebSocketHandler(hydraServerUri, fastForward);
+        hydraWebSocketHandler = handler;
+        readBackpressure.applyTo(handler.transport);
+        handler.transport.connect();
+    }
+
+    static Duration reconnectDelay(HydraClientOptions hydraClientOptions, int attempt) {
+        val initialMillis = hydraClientOptions.getReconnectInitialDelay().toMillis();
+        val maxMillis = hydraClientOptions.getReconnectMaxDelay().toMillis();
+        // doubles per attempt, capped well before the shift overflows
+        val delayMillis = initialMillis << Math.min(attempt, 20);
+
+        return Duration.ofMillis(Math.min(maxMillis, delayMillis));
+    }
+
+    private static UTxOStoreWriter createUTxOStoreWriter(HydraClientOptions hydraClientOptions) {
+        if (hydraClientOptions.isAsyncUtxoStoreWrites()) {
+            return new AsyncUTxOStoreWriter(hydraClientOptions.getUtxoStore(), hydraClientOptions.getUtxoStoreWriteQueueSize());
+        }
+
+        return new UTxOStoreWriter(hydraClientOptions.getUtxoStore());
+    }
+
+    private static ResponseDecoder createResponseDecoder(HydraClientOptions hydraClientOptions,
+                                                         ResponseTagHandlers responseTagHandlers) {
+        if (hydraClientOptions.isTagFirstDecoding()) {
+            return new TagFirstResponseDecoder(responseTagHandlers);
+        }
+
+        return new TreeResponseDecoder(responseTagHandlers);
     }
 
-    private static URI createHydraServerUri(HydraClientOptions hydraClientOptions) {
+    private static URI createHydraServerUri(HydraClientOptions hydraClientOptions, boolean history) {
         String serverURI = hydraClientOptions.getServerURI();
         if (!serverURI.startsWith("ws://") && !serverURI.startsWith("wss://")) {
             throw new IllegalArgumentException("Invalid web socket urlPath:" + serverURI);
@@ -220,7 +503,7 @@ public class HydraWSClient {
         var delim = "&";
 
         var urlPath = new StringJoiner(delim)
-                .add(format("history=%s", (hydraClientOptions.isHistory() ? "yes" : "no")))
+                .add(format("history=%s", (history ? "yes" : "no")))
                 .add(format("snapshot-utxo=%s", (hydraClientOptions.isSnapshotUtxo() ? "yes" : "no")))
                 .add(format("tx-output=%s", hydraClientOptions.getTransactionFormat().name().toLowerCase()))
                 .toString();
@@ -234,7 +517,18 @@ public class HydraWSClient {
      */
     public void init() {
         val request = new InitRequest();
-        hydraWebSocketHandler.send(request.getRequestBody());
+        send(request);
+    }
+
+    /**
+     * Same as {@link #init()}, reporting when the request has been sent.
+     *
+     * @return future completed once the request has been sent to the hydra-node, or exceptionally when encoding,
+     * writing or sending it failed
+     */
+    public CompletableFuture<Void> initAsync() {
+        val request = new InitRequest();
+        return send(request);
     }
 
     /**
@@ -245,7 +539,18 @@ public class HydraWSClient {
      */
     public void abort() {
         val request = new AbortHeadRequest();
-        hydraWebSocketHandler.send(request.getRequestBody());
+        send(request);
+    }
+
+    /**
+     * Same as {@link #abort()}, reporting when the request has been sent.
+     *
+     * @return future completed once the request has been sent to the hydra-node, or exceptionally when encoding,
+     * writing or sending it failed
+     */
+    public CompletableFuture<Void> abortAsync() {
+        val request = new AbortHeadRequest();
+        return send(request);
     }
 
     /**
@@ -256,7 +561,42 @@ public class HydraWSClient {
      */
     public void submitTx(String transaction) {
         val request = new NewTxRequest(transaction);
-        hydraWebSocketHandler.send(request.getRequestBody());
+        send(request);
+    }
+
+    /**
+     * Same as {@link #submitTx(String)}, reporting when the request has been sent.
+     *
+     * @param transaction - hex encoded transaction cbor
+     * @return future completed once the request has been sent to the hydra-node, or exceptionally when encoding,
+     * writing or sending it failed
+     */
+    public CompletableFuture<Void> submitTxAsync(String transaction) {
+        val request = new NewTxRequest(transaction);
+        return send(request);
+    }
+
+    /**
+     * Submit a transaction through the head, the transaction bytes are hex encoded straight into the outgoing frame.
+     *
+     * @see #submitTx(String)
+     * @param cbor - transaction cbor bytes
+     */
+    public void submitTx(byte[] cbor) {
+        ensureOpen();
+        requestWriter.writeNewTx(cbor);
+    }
+
+    /**
+     * Same as {@link #submitTx(byte[])}, reporting when the request has been sent.
+     *
+     * @param cbor - transaction cbor bytes
+     * @return future completed once the request has been sent to the hydra-node, or exceptionally when encoding,
+     * writing or sending it failed
+     */
+    public CompletableFuture<Void> submitTxAsync(byte[] cbor) {
+        ensureOpen();
+        return requestWriter.writeNewTx(cbor);
     }
 
     /**
@@ -267,7 +607,18 @@ public class HydraWSClient {
      */
     public void closeHead() {
         val request = new CloseHeadRequest();
-        hydraWebSocketHandler.send(request.getRequestBody());
+        send(request);
+    }
+
+    /**
+     * Same as {@link #closeHead()}, reporting when the request has been sent.
+     *
+     * @return future completed once the request has been sent to the hydra-node, or exceptionally when encoding,
+     * writing or sending it failed
+     */
+    public CompletableFuture<Void> closeHeadAsync() {
+        val request = new CloseHeadRequest();
+        return send(request);
     }
 
     /**
@@ -278,7 +629,18 @@ public class HydraWSClient {
      */
     public void contest() {
         val request = new ContestHeadRequest();
-        hydraWebSocketHandler.send(request.getRequestBody());
+        send(request);
+    }
+
+    /**
+     * Same as {@link #contest()}, reporting when the request has been sent.
+     *
+     * @return future completed once the request has been sent to the hydra-node, or exceptionally when encoding,
+     * writing or sending it failed
+     */
+    public CompletableFuture<Void> contestAsync() {
+        val request = new ContestHeadRequest();
+        return send(request);
     }
 
     /**
@@ -288,7 +650,18 @@ public class HydraWSClient {
      */
     public void fanOut() {
         val request = new FanoutRequest();
-        hydraWebSocketHandler.send(request.getRequestBody());
+        send(request);
+    }
+
+    /**
+     * Same as {@link #fanOut()}, reporting when the request has been sent.
+     *
+     * @return future completed once the request has been sent to the hydra-node, or exceptionally when encoding,
+     * writing or sending it failed
+     */
+    public CompletableFuture<Void> fanOutAsync() {
+        val request = new FanoutRequest();
+        return send(request);
     }
 
     /**
@@ -298,53 +671,132 @@ public class HydraWSClient {
      */
     public void getUTXO() {
         val request = new GetUTxORequest();
-        hydraWebSocketHandler.send(request.getRequestBody());
+        send(request);
+    }
+
+    /**
+     * Same as {@link #getUTXO()}, reporting when the request has been sent.
+     *
+     * @return future completed once the request has been sent to the hydra-node, or exceptionally when encoding,
+     * writing or sending it failed
+     */
+    public CompletableFuture<Void> getUTXOAsync() {
+        val request = new GetUTxORequest();
+        return send(request);
     }
 
-    private class HydraWebSocketHandler extends WebSocketClient {
+    /**
+     * @return current state of the head
+     */
+    public HydraState getHydraState() {
+        return hydraState.get();
+    }
+
+    /**
+     * @return number of requests written to the hydra-node connection
+     */
+    public long getWrittenRequests() {
+        return requestWriter.getWrittenRequests();
+    }
+
+    /**
+     * @return number of requests which failed to be encoded, written or flushed
+     */
+    public long getFailedRequests() {
+        return requestWriter.getFailedRequests();
+    }
+
+    /**
+     * @return number of flushes of written requests, requests per flush tell how well bursts are coalesced
+     */
+    public long getRequestFlushes() {
+        return requestWriter.getFlushes();
+    }
+
+    private CompletableFuture<Void> send(Request request) {
+        ensureOpen();
+        return requestWriter.write(request);
+    }
+
+    private void ensureOpen() {
+        if (!isOpen()) {
+            throw new HydraException("Not connected to the hydra-node, cannot send request");
+        }
+    }
+
+    private class HydraWebSocketHandler implements HydraTransport.Handler {
+
+        private final HydraTransport transport;
+
+        // true when the history the node replays on this connection may be fast-forwarded
+        private final boolean fastForward;
 
-        public HydraWebSocketHandler(URI serverUri) {
-            super(serverUri);
+        private final GreetingsStreamReader greetingsStreamReader;
+
+        public HydraWebSocketHandler(URI serverUri, boolean fastForward) {
+            this.fastForward = fastForward;
+            this.greetingsStreamReader = new GreetingsStreamReader(hydraClientOptions.getSnapshotUtxoStreamingThreshold(),
+                    this::onMessage,
+                    this::onGreetings);
+            this.transport = transportFactory.create(serverUri, this);
         }
 
         @Override
-        public void onOpen(ServerHandshake serverHandshake) {
+        public void onOpen() {
             log.info("Connection Established!");
-            log.debug("onOpen -> ServerHandshake: {}", serverHandshake);
-            HydraWSClient.this.hydraState = HydraState.Unknown;
+            reconnectAttempts.set(0);
+            historyFastForward.onConnect(fastForward);
+            // a resumed connection continues from the state reached before the connection dropped
+            if (!replayFilter.isResuming()) {
+                hydraState.set(HydraState.Unknown);
+            }
         }
 
         @Override
         public void onMessage(String message) {
             log.debug("Received: {}", message);
 
-            val raw = MoreJson.read(message);
-            val tagString = raw.get("tag").asText();
-
-            val maybeTag = Tag.find(tagString);
-
-            if (maybeTag.isEmpty()) {
-                log.warn("We don't support tag:{} yet, json:{}", tagString, message);
+            if (replayFilter.skip(message)) {
                 return;
             }
 
-            val tag = maybeTag.orElseThrow();
+            historyFastForward.onMessage(message, this::process);
+        }
 
-            val maybeResponseHandler = responseTagHandlers.responseHandlerFor(tag);
-            if (maybeResponseHandler.isEmpty()) {
-                log.error("We don't have response handler for the following tag:{}", tag);
-            }
-            val responseHandler = maybeResponseHandler.orElseThrow();
-            val queryResponse = responseHandler.apply(raw);
+        // only a Greetings message carrying the snapshot UTxO set can be large enough to be worth streaming
+        @Override
+        public boolean acceptsMessageParts() {
+            return hydraClientOptions.isSnapshotUtxo();
+        }
+
+        @Override
+        public void onMessagePart(ByteBuffer part, boolean last) {
+            greetingsStreamReader.onPart(part, last);
+        }
+
+        // Greetings are never skipped as replayed, streamed ones are processed like any other greeting
+        private void onGreetings(GreetingsResponse greetings) {
+            historyFastForward.onGreetings(this::process);
+            process(greetings);
+        }
+
+        private void process(String message) {
+            responseDecoder.decode(message, wantedTags).ifPresent(this::process);
+        }
+
+        private void process(Response queryResponse) {
+            val tag = queryResponse.getTag();
+
+            replayFilter.onProcessed(queryResponse);
+
+            utxoStoreUpdater.onResponse(queryResponse);
 
             // if we don't have history this means we need to use Greetings message to get hydra state data
             if (!hydraClientOptions.isHistory() && tag == Tag.Greetings) {
                 val greetingsResponse = (GreetingsResponse) queryResponse;
-                fireHydraStateChanged(HydraWSClient.this.hydraState, greetingsResponse.getHeadStatus());
+                fireHydraStateChanged(greetingsResponse.getHeadStatus());
             } else {
-                RESPONSE_TAG_STATE_MAPPER.stateForTag(tag).ifPresent(newHydraState -> {
-                    fireHydraStateChanged(HydraWSClient.this.hydraState, newHydraState);
-                });
+                RESPONSE_TAG_STATE_MAPPER.stateForTag(tag).ifPresent(HydraWSClient.this::fireHydraStateChanged);
             }
 
             if (queryResponse instanceof FailureResponse failureResponse) {
@@ -354,12 +806,24 @@ public class HydraWSClient {
                 }
             }
 
-            var listeners = List.copyOf(hydraQueryEventListeners);
-            listeners.forEach(hydraQueryEventListener -> hydraQueryEventListener.onResponse(queryResponse));
+            if (responseRing != null) {
+                responseRing.publish(queryResponse);
+            }
+
+            // every listener sees onResponse before any sees onSuccess / onFailure, both passes run over one snapshot of
+            // the listeners, lanes deliver both calls from their own thread and ignore the second pass
+            val listeners = hydraQueryEventListeners.toArray(new HydraQueryEventListener[0]);
+            for (val listener : listeners) {
+                listener.onResponse(queryResponse);
+            }
             if (queryResponse.isFailure()) {
-                listeners.forEach(hydraQueryEventListener -> hydraQueryEventListener.onFailure(queryResponse));
+                for (val listener : listeners) {
+                    listener.onFailure(queryResponse);
+                }
             } else {
-                listeners.forEach(hydraQueryEventListener -> hydraQueryEventListener.onSuccess(queryResponse));
+                for (val listener : listeners) {
+                    listener.onSuccess(queryResponse);
+                }
             }
         }
 
@@ -369,6 +833,11 @@ public class HydraWSClient {
             String formattedReason = (reason == null || reason.isEmpty()) ? reason : ", Reason: " + reason;
 
             log.info("Connection closed by {}, Code: {}{}", formattedActor, code, formattedReason);
+
+            // handlers replaced by a reconnect are not to reconnect again
+            if (hydraClientOptions.isAutoReconnect() && !closeRequested && this == hydraWebSocketHandler) {
+                scheduleReconnect();
+            }
         }
 
         @Override
@@ -381,11 +850,11 @@ public class HydraWSClient {
         }
     }
 
-    private void fireHydraStateChanged(HydraState currentState, HydraState newState) {
+    private void fireHydraStateChanged(HydraState newState) {
+        val currentState = hydraState.getAndSet(newState);
         if (currentState == newState) {
             return;
         }
-        HydraWSClient.this.hydraState = newState;
 
         List.copyOf(hydraStateEventListeners).forEach(l -> l.onStateChanged(currentState, newState));
     }
@@ -0,0 +1,148 @@
+package org.cardanofoundation.hydra.client;
+
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.framing.TextFrame;
+import org.java_websocket.handshake.ServerHandshake;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport on top of Java-WebSocket, every connection runs its own reading and writing thread.
+ *
+ * Paused reading holds up the reading thread once the current message is handled. Pongs are not read meanwhile
+ * either, a connection paused for longer than the connection lost timeout (60 seconds) is closed as lost.
+ */
+public class JavaWebSocketTransport implements HydraTransport {
+
+    private final HandlerWebSocketClient webSocketClient;
+
+    private final TextFrame frame = new TextFrame();
+
+    public JavaWebSocketTransport(URI serverUri, Handler handler) {
+        this.webSocketClient = new HandlerWebSocketClient(serverUri, handler);
+    }
+
+    @Override
+    public void connect() {
+        webSocketClient.connect();
+    }
+
+    @Override
+    public boolean connectBlocking(long time, TimeUnit timeUnit) throws InterruptedException {
+        return webSocketClient.connectBlocking(time, timeUnit);
+    }
+
+    @Override
+    public void close(int code, String reason) {
+        // the close handshake is read by the reading thread
+        webSocketClient.stopPausing();
+        webSocketClient.close(code, reason);
+    }
+
+    @Override
+    public void closeBlocking() throws InterruptedException {
+        webSocketClient.stopPausing();
+        webSocketClient.closeBlocking();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return webSocketClient.isOpen();
+    }
+
+    @Override
+    public boolean isClosing() {
+        return webSocketClient.isClosing();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return webSocketClient.isClosed();
+    }
+
+    // the websocket copies the payload into its own frame before returning
+    @Override
+    public void send(ByteBuffer payload) {
+        frame.setPayload(payload);
+        webSocketClient.sendFrame(frame);
+    }
+
+    @Override
+    public void pauseReading() {
+        webSocketClient.pause(true);
+    }
+
+    @Override
+    public void resumeReading() {
+        webSocketClient.pause(false);
+    }
+
+    private static class HandlerWebSocketClient extends WebSocketClient {
+
+        private final Handler handler;
+
+        // guards pausing, the websocket client synchronizes on itself
+        private final Object pauseLock = new Object();
+
+        private boolean paused;
+
+        private boolean closing;
+
+        HandlerWebSocketClient(URI serverUri, Handler handler) {
+            super(serverUri);
+            this.handler = handler;
+        }
+
+        @Override
+        public void onOpen(ServerHandshake serverHandshake) {
+            handler.onOpen();
+        }
+
+        @Override
+        public void onMessage(String message) {
+            handler.onMessage(message);
+            awaitResumed();
+        }
+
+        void pause(boolean paused) {
+            synchronized (pauseLock) {
+                this.paused = paused;
+                pauseLock.notifyAll();
+            }
+        }
+
+        void stopPausing() {
+            synchronized (pauseLock) {
+                closing = true;
+                pauseLock.notifyAll();
+            }
+        }
+
+        private void awaitResumed() {
+            synchronized (pauseLock) {
+                while (paused && !closing) {
+                    try {
+                        pauseLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onClose(int code, String reason, boolean remote) {
+            handler.onClose(code, reason, remote);
+        }
+
+        @Override
+        public void onError(Exception e) {
+            handler.onError(e);
+        }
+
+    }
+
+}
@@ -0,0 +1,385 @@
+package org.cardanofoundation.hydra.client;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transport on top of the JDK's java.net.http websocket, connections share the executor of their HttpClient
+ * instead of running threads of their own.
+ *
+ * The JDK sends one text frame at a time, frames are chained and sent in the order written. At most
+ * maxPendingFrames frames wait for a slow peer, a caller writing more blocks until one was sent and fails once
+ * none was sent within the send timeout. Sending is safe from any number of threads.
+ */
+@Slf4j
+public class JdkWebSocketTransport implements HydraTransport {
+
+    /**
+     * Frames written but not sent yet from which on writing blocks
+     */
+    public static final int DEFAULT_MAX_PENDING_FRAMES = 1024;
+
+    private final URI serverUri;
+
+    private final Handler handler;
+
+    private final HttpClient httpClient;
+
+    private final CountDownLatch openLatch = new CountDownLatch(1);
+
+    private final CountDownLatch closeLatch = new CountDownLatch(1);
+
+    private final AtomicBoolean connectStarted = new AtomicBoolean();
+
+    private final AtomicBoolean closeFired = new AtomicBoolean();
+
+    private volatile CompletableFuture<WebSocket> webSocketFuture;
+
+    private volatile WebSocket webSocket;
+
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+
+    private final Object sendLock = new Object();
+
+    // a text frame is only sent once the previous one was sent
+    private CompletableFuture<?> lastSend = CompletableFuture.completedFuture(null);
+
+    // sends written but not flushed yet
+    private List<CompletableFuture<?>> unflushedSends = new ArrayList<>();
+
+    // one permit per frame that may wait for being sent
+    private final Semaphore pendingFrames;
+
+    private final int maxPendingFrames;
+
+    private volatile boolean closing;
+
+    // the jdk hands over messages on the thread requesting them, a resume never requests on the caller's thread
+    private final ReadDemand readDemand;
+
+    /**
+     * @param serverUri - websocket uri of the hydra-node
+     * @param handler - receives the events of the connection
+     * @param httpClient - client to connect with, its executor runs the handler callbacks
+     */
+    public JdkWebSocketTransport(URI serverUri, Handler handler, HttpClient httpClient) {
+        this(serverUri, handler, httpClient, DEFAULT_MAX_PENDING_FRAMES);
+    }
+
+    /**
+     * @param serverUri - websocket uri of the hydra-node
+     * @param handler - receives the events of the connection
+     * @param httpClient - client to connect with, its executor runs the handler callbacks
+     * @param maxPendingFrames - frames written but not sent yet from which on writing blocks
+     */
+    public JdkWebSocketTransport(URI serverUri, Handler handler, HttpClient httpClient, int maxPendingFrames) {
+        if (maxPendingFrames < 1) {
+            throw new IllegalArgumentException("maxPendingFrames must be positive!");
+        }
+        this.pendingFrames = new Semaphore(maxPendingFrames);
+        this.maxPendingFrames = maxPendingFrames;
+        this.serverUri = serverUri;
+        this.handler = handler;
+        this.httpClient = httpClient;
+        this.readDemand = new ReadDemand(() -> webSocket.request(1), httpClient.executor().orElseGet(ForkJoinPool::commonPool));
+    }
+
+    /**
+     * Creates transports sharing one HttpClient with its default executor.
+     *
+     * @return transport factory
+     */
+    public static Factory factory() {
+        return factory(HttpClient.newHttpClient());
+    }
+
+    /**
+     * Creates transports sharing the given executor, e.g. a virtual thread per task executor where available.
+     *
+     * @param executor - executor running the handler callbacks of all connections
+     * @return transport factory
+     */
+    public static Factory factory(Executor executor) {
+        return factory(HttpClient.newBuilder().executor(executor).build());
+    }
+
+    /**
+     * Creates transports sharing the given HttpClient.
+     *
+     * @param httpClient - client all connections are made with
+     * @return transport factory
+     */
+    public static Factory factory(HttpClient httpClient) {
+        return (serverUri, handler) -> new JdkWebSocketTransport(serverUri, handler, httpClient);
+    }
+
+    @Override
+    public void connect() {
+        if (!connectStarted.compareAndSet(false, true)) {
+            throw new IllegalStateException("Transport connects only once, create a new one to reconnect");
+        }
+        val future = httpClient.newWebSocketBuilder().buildAsync(serverUri, new Listener());
+        webSocketFuture = future;
+        future.whenComplete((ws, e) -> {
+            if (e != null) {
+                val cause = e.getCause() != null ? e.getCause() : e;
+                handler.onError(cause instanceof Exception exception ? exception : new RuntimeException(cause));
+                fireClose(NEVER_CONNECTED, String.valueOf(cause.getMessage()), false);
+            }
+        });
+    }
+
+    @Override
+    public boolean connectBlocking(long time, TimeUnit timeUnit) throws InterruptedException {
+        connect();
+        openLatch.await(time, timeUnit);
+
+        return isOpen();
+    }
+
+    @Override
+    public void close(int code, String reason) {
+        closing = true;
+        val webSocket = this.webSocket;
+        if (webSocket == null) {
+            // not connected (yet), stop connecting
+            val future = this.webSocketFuture;
+            if (future != null) {
+                future.cancel(true);
+            }
+            fireClose(NEVER_CONNECTED, reason, false);
+            return;
+        }
+        webSocket.sendClose(code, reason).whenComplete((ws, e) -> {
+            if (e != null) {
+                log.debug("Sending close frame failed: {}", e.getMessage());
+                webSocket.abort();
+                fireClose(code, reason, false);
+            }
+        });
+    }
+
+    @Override
+    public void closeBlocking() throws InterruptedException {
+        close(NORMAL_CLOSURE, "");
+        closeLatch.await();
+    }
+
+    @Override
+    public boolean closeBlocking(long time, TimeUnit timeUnit) throws InterruptedException {
+        if (!closing) {
+            close(NORMAL_CLOSURE, "");
+        }
+
+        return closeLatch.await(time, timeUnit);
+    }
+
+    @Override
+    public boolean isOpen() {
+        val webSocket = this.webSocket;
+
+        return webSocket != null && !webSocket.isOutputClosed() && !closing && closeLatch.getCount() > 0;
+    }
+
+    @Override
+    public boolean isClosing() {
+        return closing && closeLatch.getCount() > 0;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closeLatch.getCount() == 0;
+    }
+
+    @Override
+    public void send(ByteBuffer payload) {
+        sendText(payload);
+    }
+
+    // frames are sent as they are written, a flush reports the sends written since the previous one
+    @Override
+    public void write(ByteBuffer payload) {
+        val send = sendText(payload);
+        synchronized (sendLock) {
+            unflushedSends.add(send);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        final List<CompletableFuture<?>> sends;
+        synchronized (sendLock) {
+            sends = unflushedSends;
+            unflushedSends = new ArrayList<>();
+        }
+
+        return CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * @return number of frames written but not sent yet
+     */
+    public int getPendingFrames() {
+        return maxPendingFrames - pendingFrames.availablePermits();
+    }
+
+    private CompletableFuture<?> sendText(ByteBuffer payload) {
+        val webSocket = this.webSocket;
+        if (webSocket == null || webSocket.isOutputClosed()) {
+            throw new IllegalStateException("Transport is not connected to: " + serverUri);
+        }
+        // the jdk websocket sends text only, decoding copies the payload
+        val text = StandardCharsets.UTF_8.decode(payload.duplicate());
+        awaitPendingFrame();
+        synchronized (sendLock) {
+            // a failed send is reported once, the next frame is still sent after it
+            lastSend = lastSend.handle((previous, e) -> null)
+                    .thenCompose(previous -> webSocket.sendText(text, true))
+                    .whenComplete((ws, e) -> {
+                        pendingFrames.release();
+                        if (e != null) {
+                            handler.onError(new IllegalStateException("Sending frame failed", e));
+                        }
+                    });
+
+            return lastSend;
+        }
+    }
+
+    private void awaitPendingFrame() {
+        try {
+            if (!pendingFrames.tryAcquire(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("No frame sent to: " + serverUri + " within " + SEND_TIMEOUT_SECONDS + " seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for frames to be sent to: " + serverUri, e);
+        }
+    }
+
+    @Override
+    public void pauseReading() {
+        readDemand.pause();
+    }
+
+    @Override
+    public void resumeReading() {
+        readDemand.resume();
+    }
+
+    private void fireClose(int code, String reason, boolean remote) {
+        if (!closeFired.compareAndSet(false, true)) {
+            return;
+        }
+        handler.onClose(code, reason, remote);
+        openLatch.countDown();
+        closeLatch.countDown();
+    }
+
+    // the jdk calls a listener one method at a time, fragments of a message arrive until the last one
+    private class Listener implements WebSocket.Listener {
+
+        private final StringBuilder fragments = new StringBuilder();
+
+        // true while the parts of a message arrive, for handlers accepting message parts
+        private boolean partial;
+
+        // a surrogate pair split between two parts is encoded with the later part
+        private char pendingHighSurrogate;
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            JdkWebSocketTransport.this.webSocket = webSocket;
+            handler.onOpen();
+            openLatch.countDown();
+            readDemand.requestNext();
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            if (handler.acceptsMessageParts() && (partial || !last)) {
+                partial = !last;
+                // a failing message must not tear down the connection
+                try {
+                    handler.onMessagePart(encode(data, last), last);
+                } catch (RuntimeException e) {
+                    handler.onError(e);
+                }
+                readDemand.requestNext();
+                return null;
+            }
+            if (!last) {
+                fragments.append(data);
+                webSocket.request(1);
+                return null;
+            }
+            String message;
+            if (fragments.isEmpty()) {
+                message = data.toString();
+            } else {
+                message = fragments.append(data).toString();
+                fragments.setLength(0);
+            }
+            // a failing message must not tear down the connection
+            try {
+                handler.onMessage(message);
+            } catch (RuntimeException e) {
+                handler.onError(e);
+            }
+            readDemand.requestNext();
+
+            return null;
+        }
+
+        private ByteBuffer encode(CharSequence data, boolean last) {
+            CharSequence chars = data;
+            if (pendingHighSurrogate != 0) {
+                chars = new StringBuilder(data.length() + 1).append(pendingHighSurrogate).append(data);
+                pendingHighSurrogate = 0;
+            }
+            int end = chars.length();
+            if (!last && end > 0 && Character.isHighSurrogate(chars.charAt(end - 1))) {
+                pendingHighSurrogate = chars.charAt(--end);
+            }
+
+            return StandardCharsets.UTF_8.encode(CharBuffer.wrap(chars, 0, end));
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            val remote = !closing;
+            if (remote) {
+                // answer the close handshake of the node
+                webSocket.sendClose(statusCode, "");
+            }
+            fireClose(statusCode, reason, remote);
+
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            handler.onError(error instanceof Exception exception ? exception : new RuntimeException(error));
+            fireClose(JdkWebSocketTransport.this.webSocket == null ? NEVER_CONNECTED : ABNORMAL_CLOSURE, String.valueOf(error.getMessage()), !closing);
+        }
+
+    }
+
+}
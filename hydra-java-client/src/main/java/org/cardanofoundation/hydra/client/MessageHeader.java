@@ -0,0 +1,55 @@
+package org.cardanofoundation.hydra.client;
+
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.val;
+import org.cardanofoundation.hydra.core.model.Tag;
+import org.cardanofoundation.hydra.core.utils.MoreJson;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Top level tag and seq of a message, read without decoding the rest of it: nested values are skipped by the parser
+ * and reading stops as soon as both fields were seen.
+ *
+ * @param tag - tag of the message, null when the message has no (known) tag
+ * @param seq - seq of the message, -1 when the message has no seq
+ */
+record MessageHeader(Tag tag, int seq) {
+
+    static final int NO_SEQ = -1;
+
+    private static final String SEQ_FIELD = "seq";
+
+    private static final String TAG_FIELD = "tag";
+
+    /**
+     * @param message - raw message
+     * @return header of the message, empty when the message is no json object, the decoder then reports it
+     */
+    static Optional<MessageHeader> peek(String message) {
+        int seq = NO_SEQ;
+        String tag = null;
+        try (val parser = MoreJson.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Optional.empty();
+            }
+            while ((seq == NO_SEQ || tag == null) && parser.nextToken() == JsonToken.FIELD_NAME) {
+                val fieldName = parser.currentName();
+                val token = parser.nextToken();
+                if (SEQ_FIELD.equals(fieldName) && token == JsonToken.VALUE_NUMBER_INT) {
+                    seq = parser.getIntValue();
+                } else if (TAG_FIELD.equals(fieldName)) {
+                    tag = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new MessageHeader(tag == null ? null : Tag.find(tag).orElse(null), seq));
+    }
+
+}
@@ -0,0 +1,312 @@
+package org.cardanofoundation.hydra.client;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.client.HydraClientOptions.OverflowPolicy;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers responses to a single query event listener on its own thread through a bounded queue, so that a slow
+ * listener holds up neither reading of the websocket nor the other listeners.
+ *
+ * Responses are delivered in the order they were received. A full queue is handled according to the overflow policy:
+ * the websocket thread waits (BLOCK), the oldest queued response is dropped (DROP_OLDEST) or the lane fails and
+ * stops delivering to its listener (FAIL).
+ *
+ * A BLOCK lane given the client's read backpressure pauses reading of the websocket once its queue is full and
+ * resumes it when the queue drained to half, waiting is then only left for transports which keep reading.
+ *
+ * The lane receives a response once through {@link #onResponse(Response)} and calls onResponse followed by
+ * onSuccess or onFailure of its listener, onSuccess and onFailure of the lane itself are ignored.
+ */
+@Slf4j
+public class QueryEventDispatchLane implements HydraQueryEventListener {
+
+    public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    private static final long IDLE_TIMEOUT_SECONDS = 60;
+
+    private static final AtomicInteger LANE_IDS = new AtomicInteger();
+
+    @Getter
+    private final HydraQueryEventListener listener;
+
+    @Getter
+    private final OverflowPolicy overflowPolicy;
+
+    private final BlockingQueue<Event> queue;
+
+    private final ThreadPoolExecutor executor;
+
+    // null unless the lane pauses reading when full
+    private final ReadBackpressure readBackpressure;
+
+    private final int resumeSize;
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+
+    private final LongAdder deliveredEvents = new LongAdder();
+
+    private final LongAdder droppedEvents = new LongAdder();
+
+    private volatile Event inFlight;
+
+    private volatile int lastEnqueuedSeq = -1;
+
+    private volatile int lastDeliveredSeq = -1;
+
+    private volatile boolean failed = false;
+
+    private volatile boolean closed = false;
+
+    // guarded by this, volatile for the lane thread to check without locking
+    private volatile boolean holdingReads = false;
+
+    public QueryEventDispatchLane(HydraQueryEventListener listener) {
+        this(listener, DEFAULT_QUEUE_SIZE, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * @param listener - listener to deliver to
+     * @param queueSize - maximum number of queued responses
+     * @param overflowPolicy - what to do with a response arriving when the queue is full
+     */
+    public QueryEventDispatchLane(HydraQueryEventListener listener, int queueSize, OverflowPolicy overflowPolicy) {
+        this(listener, queueSize, overflowPolicy, null);
+    }
+
+    /**
+     * @param listener - listener to deliver to
+     * @param queueSize - maximum number of queued responses
+     * @param overflowPolicy - what to do with a response arriving when the queue is full
+     * @param readBackpressure - paused while the queue is full under the BLOCK policy, null to never pause reading
+     */
+    public QueryEventDispatchLane(HydraQueryEventListener listener,
+                                  int queueSize,
+                                  OverflowPolicy overflowPolicy,
+                                  ReadBackpressure readBackpressure) {
+        if (listener == null) {
+            throw new IllegalArgumentException("HydraQueryEventListener instance cannot be null!");
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("queueSize must be positive!");
+        }
+        this.listener = listener;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.readBackpressure = overflowPolicy == OverflowPolicy.BLOCK ? readBackpressure : null;
+        this.resumeSize = queueSize / 2;
+        val threadName = "hydra-listener-lane-" + LANE_IDS.incrementAndGet();
+        this.executor = new ThreadPoolExecutor(1, 1, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            val thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void onResponse(Response response) {
+        if (failed || closed) {
+            droppedEvents.increment();
+            return;
+        }
+        val event = new Event(response, System.nanoTime());
+        pendingEvents.incrementAndGet();
+        if (!queue.offer(event) && !overflow(event)) {
+            pendingEvents.decrementAndGet();
+            droppedEvents.increment();
+            return;
+        }
+        lastEnqueuedSeq = response.getSeq();
+        if (readBackpressure != null && queue.remainingCapacity() == 0) {
+            holdReads();
+        }
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    @Override
+    public void onSuccess(Response response) {
+        // delivered together with onResponse
+    }
+
+    @Override
+    public void onFailure(Response response) {
+        // delivered together with onResponse
+    }
+
+    /**
+     * Stops delivering, responses still queued are discarded.
+     */
+    public void close() {
+        closed = true;
+        discardQueued();
+        releaseReads();
+        executor.shutdown();
+    }
+
+    /**
+     * @return number of responses waiting to be delivered to the listener
+     */
+    public int getPendingEvents() {
+        return pendingEvents.get();
+    }
+
+    public long getDeliveredEvents() {
+        return deliveredEvents.sum();
+    }
+
+    /**
+     * @return number of responses never delivered to the listener because of the overflow policy, a failed or closed lane
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * @return seq of the last response delivered to the listener, -1 when nothing has been delivered yet
+     */
+    public int getLastDeliveredSeq() {
+        return lastDeliveredSeq;
+    }
+
+    /**
+     * @return number of seqs the listener is behind the websocket
+     */
+    public int getSeqLag() {
+        return lastDeliveredSeq < 0 ? pendingEvents.get() : Math.max(0, lastEnqueuedSeq - lastDeliveredSeq);
+    }
+
+    /**
+     * @return time in milliseconds the oldest response not yet delivered has been waiting, 0 when the listener is up to date
+     */
+    public long getLagMillis() {
+        val current = inFlight;
+        val oldest = current != null ? current : queue.peek();
+        if (oldest == null) {
+            return 0;
+        }
+
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedAt);
+    }
+
+    /**
+     * @return true while the lane's full queue holds up reading of the websocket
+     */
+    public boolean isHoldingReads() {
+        return holdingReads;
+    }
+
+    /**
+     * @return true when the queue overflowed under the FAIL policy, a failed lane no longer delivers
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    // only called by the websocket thread, the single producer of the lane
+    private boolean overflow(Event event) {
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    queue.put(event);
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            case DROP_OLDEST -> {
+                // the lane thread may take the oldest in between, the offer then finds room anyway
+                if (queue.poll() != null) {
+                    pendingEvents.decrementAndGet();
+                    droppedEvents.increment();
+                }
+                return queue.offer(event);
+            }
+            default -> {
+                log.error("Listener queue overflow, {} queued responses, failing lane of listener: {}", queue.size(), listener);
+                failed = true;
+                discardQueued();
+                return false;
+            }
+        }
+    }
+
+    // the queue is checked again under the lock, the lane thread may have drained it in between
+    private synchronized void holdReads() {
+        if (!holdingReads && queue.remainingCapacity() == 0) {
+            holdingReads = true;
+            readBackpressure.hold(this);
+        }
+    }
+
+    // a hold set after the last check within the loop is released here, holding and this check exclude each other
+    private synchronized void releaseIfDrained() {
+        if (holdingReads && queue.size() <= resumeSize) {
+            releaseReads();
+        }
+    }
+
+    private synchronized void releaseReads() {
+        if (holdingReads) {
+            holdingReads = false;
+            readBackpressure.release(this);
+        }
+    }
+
+    private void discardQueued() {
+        while (queue.poll() != null) {
+            pendingEvents.decrementAndGet();
+            droppedEvents.increment();
+        }
+    }
+
+    private void drain() {
+        do {
+            Event event;
+            while ((event = queue.poll()) != null) {
+                if (holdingReads && queue.size() <= resumeSize) {
+                    releaseReads();
+                }
+                inFlight = event;
+                deliver(event.response);
+                inFlight = null;
+            }
+            releaseIfDrained();
+            draining.set(false);
+            // a response enqueued after the last poll may have found the flag still set
+        } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    private void deliver(Response response) {
+        try {
+            listener.onResponse(response);
+            if (response.isFailure()) {
+                listener.onFailure(response);
+            } else {
+                listener.onSuccess(response);
+            }
+        } catch (RuntimeException e) {
+            log.error("Listener failed to handle response: {}", response, e);
+        } finally {
+            lastDeliveredSeq = response.getSeq();
+            deliveredEvents.increment();
+            pendingEvents.decrementAndGet();
+        }
+    }
+
+    private record Event(Response response, long enqueuedAt) {
+    }
+
+}
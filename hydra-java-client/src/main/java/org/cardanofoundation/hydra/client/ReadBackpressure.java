@@ -0,0 +1,73 @@
+package org.cardanofoundation.hydra.client;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Pauses reading of the websocket while any consumer falls behind, so that responses are not buffered without limit
+ * and TCP flow control holds up the hydra-node. Reading resumes once the last consumer holding it up caught up.
+ *
+ * Consumers are e.g. listener queues running full or reactive subscribers running out of demand.
+ */
+public class ReadBackpressure {
+
+    private final Supplier<HydraTransport> transport;
+
+    private final Set<Object> holders = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private long pauses;
+
+    /**
+     * @param transport - supplies the transport of the current connection
+     */
+    public ReadBackpressure(Supplier<HydraTransport> transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Pauses reading until the consumer releases it, holding it more than once has no further effect.
+     *
+     * @param consumer - consumer falling behind
+     */
+    public synchronized void hold(Object consumer) {
+        if (holders.add(consumer) && holders.size() == 1) {
+            pauses++;
+            transport.get().pauseReading();
+        }
+    }
+
+    /**
+     * Resumes reading unless other consumers still hold it up.
+     *
+     * @param consumer - consumer which caught up
+     */
+    public synchronized void release(Object consumer) {
+        if (holders.remove(consumer) && holders.isEmpty()) {
+            transport.get().resumeReading();
+        }
+    }
+
+    /**
+     * @return true while reading is held up by a consumer
+     */
+    public synchronized boolean isPaused() {
+        return !holders.isEmpty();
+    }
+
+    /**
+     * @return number of times reading was paused
+     */
+    public synchronized long getPauses() {
+        return pauses;
+    }
+
+    // a new connection starts out paused while consumers are still behind
+    synchronized void applyTo(HydraTransport newTransport) {
+        if (!holders.isEmpty()) {
+            newTransport.pauseReading();
+        }
+    }
+
+}
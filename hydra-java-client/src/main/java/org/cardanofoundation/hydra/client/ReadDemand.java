@@ -0,0 +1,71 @@
+package org.cardanofoundation.hydra.client;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Demand of a transport reading one message at a time: the next message is requested once the current one is
+ * handled, unless reading is paused, then it is requested when reading resumes.
+ *
+ * Pausing and resuming may happen on any thread, requesting the next message on the reading thread only.
+ * A request issued on resume may slip one message past a pause following right after.
+ */
+public class ReadDemand {
+
+    private final Runnable requestOne;
+
+    private final Executor resumeExecutor;
+
+    private volatile boolean paused;
+
+    // true when the next message is to be requested on resume
+    private final AtomicBoolean deferred = new AtomicBoolean();
+
+    /**
+     * @param requestOne - requests one more message from the socket without handing it over on the calling thread
+     */
+    public ReadDemand(Runnable requestOne) {
+        this(requestOne, Runnable::run);
+    }
+
+    /**
+     * @param requestOne - requests one more message from the socket
+     * @param resumeExecutor - runs the request issued on resume, for sockets handing over messages on the
+     *                       thread requesting them
+     */
+    public ReadDemand(Runnable requestOne, Executor resumeExecutor) {
+        this.requestOne = requestOne;
+        this.resumeExecutor = resumeExecutor;
+    }
+
+    /**
+     * Requests the next message, deferred until reading resumes while paused.
+     */
+    public void requestNext() {
+        if (!paused) {
+            requestOne.run();
+            return;
+        }
+        deferred.set(true);
+        // resumed in between, whoever clears the flag requests
+        if (!paused && deferred.compareAndSet(true, false)) {
+            requestOne.run();
+        }
+    }
+
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+        if (deferred.compareAndSet(true, false)) {
+            resumeExecutor.execute(requestOne);
+        }
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+}
@@ -0,0 +1,84 @@
+package org.cardanofoundation.hydra.client;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.core.model.Tag;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+
+/**
+ * Skips messages replayed by the hydra node after a reconnect which were already processed before the connection dropped.
+ *
+ * While replaying, only the header (top level seq and tag) of a message is read, the rest is not decoded.
+ * The first message past the last processed seq ends the replay and every later message is decoded as usual.
+ * Greetings are sent on every connection and are never skipped.
+ *
+ * Messages of one connection are handled sequentially, the filter is not meant to be shared between threads.
+ */
+@Slf4j
+class ReplayFilter {
+
+    private volatile int lastSeq = MessageHeader.NO_SEQ;
+
+    private boolean replaying = false;
+
+    private long skippedMessages = 0;
+
+    /**
+     * Remembers the seq of a processed response.
+     */
+    void onProcessed(Response response) {
+        if (response.getTag() != Tag.Greetings && response.getSeq() > lastSeq) {
+            lastSeq = response.getSeq();
+        }
+    }
+
+    /**
+     * Starts skipping already processed messages, to be called before a new connection receives its first message.
+     */
+    void onReconnect() {
+        replaying = isResuming();
+    }
+
+    /**
+     * @param message - raw message
+     * @return true when the message was already processed and must not be decoded
+     */
+    boolean skip(String message) {
+        if (!replaying) {
+            return false;
+        }
+        val maybeHeader = MessageHeader.peek(message);
+        if (maybeHeader.isEmpty()) {
+            return false;
+        }
+        val header = maybeHeader.orElseThrow();
+        if (header.seq() == MessageHeader.NO_SEQ || header.tag() == Tag.Greetings) {
+            return false;
+        }
+        if (header.seq() <= lastSeq) {
+            skippedMessages++;
+            return true;
+        }
+        log.info("Resumed after seq: {}, skipped {} replayed messages", lastSeq, skippedMessages);
+        replaying = false;
+        skippedMessages = 0;
+
+        return false;
+    }
+
+    /**
+     * @return true when a response was processed before, a new connection then resumes after it
+     */
+    boolean isResuming() {
+        return lastSeq != MessageHeader.NO_SEQ;
+    }
+
+    int getLastSeq() {
+        return lastSeq;
+    }
+
+    boolean isReplaying() {
+        return replaying;
+    }
+
+}
@@ -0,0 +1,210 @@
+package org.cardanofoundation.hydra.client;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.core.model.Request;
+import org.cardanofoundation.hydra.core.model.RequestEncoder;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Writes the requests of any number of producer threads to the transport one at a time without locking.
+ *
+ * Producers put their requests into a lock-free queue. The producer which finds no writer active becomes the
+ * writer and drains the queue, including requests other producers put meanwhile, before it returns. Requests of
+ * one producer are written in the order submitted, the encoder and the transport are only ever used by the one
+ * active writer.
+ *
+ * Frames of a burst are coalesced: the writer flushes once the queue is drained, once the written frames reach
+ * the flush threshold, or, with a linger, once the oldest unflushed frame waited that long for more requests.
+ *
+ * Every request returns a future, completed once the transport sent its frame or exceptionally when encoding,
+ * writing or sending it failed, whichever producer happened to be the writer. Dependent actions which are not async
+ * run on the writing thread or on the transport's thread. Under sustained load the producer which became the writer may be held in
+ * drain indefinitely, as long as other producers keep queueing requests faster than they are written.
+ */
+@Slf4j
+class RequestWriter {
+
+    /**
+     * Bytes of written frames after which the writer flushes even though more requests are queued
+     */
+    static final int DEFAULT_FLUSH_THRESHOLD = 64 * 1024;
+
+    private final Queue<QueuedRequest> queue = new ConcurrentLinkedQueue<>();
+
+    // number of requests queued but not yet picked up by the writer, non zero while a writer is active
+    private final AtomicInteger wip = new AtomicInteger();
+
+    // used by the active writer only
+    private final RequestEncoder requestEncoder = new RequestEncoder();
+
+    private final Supplier<HydraTransport> transport;
+
+    private final int flushThreshold;
+
+    private final long lingerNanos;
+
+    private final AtomicLong writtenRequests = new AtomicLong();
+
+    private final AtomicLong failedRequests = new AtomicLong();
+
+    private final AtomicLong flushes = new AtomicLong();
+
+    // state of the frames written but not flushed yet, used by the active writer only
+    private HydraTransport pendingTransport;
+
+    private List<QueuedRequest> pendingRequests = new ArrayList<>();
+
+    private int pendingBytes;
+
+    private long pendingSince;
+
+    /**
+     * @param transport - transport of the current connection
+     * @param flushThreshold - bytes of written frames after which the writer flushes
+     * @param linger - how long the writer waits for more requests before flushing, zero flushes as soon as the queue is drained
+     */
+    RequestWriter(Supplier<HydraTransport> transport, int flushThreshold, Duration linger) {
+        this.transport = transport;
+        this.flushThreshold = flushThreshold;
+        this.lingerNanos = linger.toNanos();
+    }
+
+    CompletableFuture<Void> write(Request request) {
+        return enqueue(encoder -> encoder.encode(request));
+    }
+
+    CompletableFuture<Void> writeNewTx(byte[] cbor) {
+        return enqueue(encoder -> encoder.encodeNewTx(cbor));
+    }
+
+    long getWrittenRequests() {
+        return writtenRequests.get();
+    }
+
+    long getFailedRequests() {
+        return failedRequests.get();
+    }
+
+    long getFlushes() {
+        return flushes.get();
+    }
+
+    private CompletableFuture<Void> enqueue(Function<RequestEncoder, ByteBuffer> encode) {
+        val request = new QueuedRequest(encode);
+        queue.offer(request);
+        if (wip.getAndIncrement() != 0) {
+            // the active writer picks it up
+            return request;
+        }
+        drain();
+
+        return request;
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            for (int i = 0; i < missed; i++) {
+                writeFrame(queue.poll());
+            }
+            if (pendingTransport != null && !awaitMoreRequests(missed)) {
+                flush();
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void writeFrame(QueuedRequest request) {
+        try {
+            val currentTransport = transport.get();
+            if (pendingTransport != null && pendingTransport != currentTransport) {
+                // reconnected meanwhile, frames of the old connection go out (or fail) on their own
+                flush();
+            }
+            val payload = request.encode.apply(requestEncoder);
+            val size = payload.remaining();
+            currentTransport.write(payload);
+            if (pendingTransport == null) {
+                pendingTransport = currentTransport;
+                pendingSince = System.nanoTime();
+            }
+            pendingBytes += size;
+            pendingRequests.add(request);
+            writtenRequests.incrementAndGet();
+        } catch (RuntimeException e) {
+            failedRequests.incrementAndGet();
+            log.error("Writing request failed: {}", e.getMessage());
+            request.completeExceptionally(e);
+        }
+        if (pendingBytes >= flushThreshold) {
+            flush();
+        }
+    }
+
+    // spins for the rest of the linger, true when more requests were queued meanwhile
+    private boolean awaitMoreRequests(int missed) {
+        if (lingerNanos <= 0) {
+            return false;
+        }
+        val deadline = pendingSince + lingerNanos;
+        while (wip.get() == missed) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+
+        return true;
+    }
+
+    private void flush() {
+        val flushed = pendingTransport;
+        pendingTransport = null;
+        pendingBytes = 0;
+        if (flushed == null) {
+            return;
+        }
+        val requests = pendingRequests;
+        pendingRequests = new ArrayList<>();
+        CompletableFuture<Void> sent;
+        try {
+            sent = flushed.flush();
+            flushes.incrementAndGet();
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((result, e) -> {
+            if (e == null) {
+                requests.forEach(request -> request.complete(null));
+                return;
+            }
+            failedRequests.addAndGet(requests.size());
+            log.error("Sending requests failed: {}", e.getMessage());
+            requests.forEach(request -> request.completeExceptionally(e));
+        });
+    }
+
+    // the future returned to the producer, carrying the encoding of its request
+    private static final class QueuedRequest extends CompletableFuture<Void> {
+
+        private final Function<RequestEncoder, ByteBuffer> encode;
+
+        private QueuedRequest(Function<RequestEncoder, ByteBuffer> encode) {
+            this.encode = encode;
+        }
+
+    }
+
+}
@@ -0,0 +1,31 @@
+package org.cardanofoundation.hydra.client;
+
+import org.cardanofoundation.hydra.core.HydraException;
+import org.cardanofoundation.hydra.core.model.Tag;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+
+import java.util.Optional;
+import java.util.Set;
+
+public interface ResponseDecoder {
+
+    /**
+     * Decodes a raw hydra-node message into a response.
+     *
+     * @param message - raw json message as received from the hydra-node
+     * @return decoded response or empty if the message tag is not supported
+     */
+    Optional<Response> decode(String message) throws HydraException;
+
+    /**
+     * Decodes a raw hydra-node message into a response only when its tag is one of the given tags.
+     *
+     * @param message - raw json message as received from the hydra-node
+     * @param tags - tags of the messages to decode, other messages are skipped after reading their tag
+     * @return decoded response or empty if the message tag is not wanted or not supported
+     */
+    default Optional<Response> decode(String message, Set<Tag> tags) throws HydraException {
+        return decode(message).filter(response -> tags.contains(response.getTag()));
+    }
+
+}
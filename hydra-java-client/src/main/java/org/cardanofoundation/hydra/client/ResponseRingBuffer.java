@@ -0,0 +1,331 @@
+package org.cardanofoundation.hydra.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Preallocated single producer / multi consumer ring of decoded responses.
+ *
+ * The websocket thread publishes every response into the next slot and advances the cursor, each subscriber
+ * follows with its own sequence and reads all responses published since its last poll in one batch. The producer
+ * never overwrites a slot a subscriber has not read yet. Once the ring is three quarters full it holds up reading of
+ * the websocket through the ReadBackpressure, until the slowest subscriber drained it to half, so the producer
+ * itself only waits for responses still in flight. A producer waiting longer than 10 seconds for a full ring
+ * detaches the subscribers holding it back, their next poll fails. Close unused subscribers.
+ *
+ * Slots are cleared whenever the producer catches up with the slowest subscriber, up to capacity responses which
+ * have been read already may stay reachable meanwhile.
+ *
+ * Publishing is not thread safe, a ring has exactly one producer.
+ */
+@Slf4j
+public class ResponseRingBuffer {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final int SPIN_TRIES = 100;
+
+    private static final long PARK_NANOS = 1_000;
+
+    private static final long MAX_PUBLISH_WAIT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
+    private final Response[] entries;
+
+    private final int mask;
+
+    // number of unread responses from which on reading is held up, and released again
+    private final int holdSize;
+
+    private final int resumeSize;
+
+    @Nullable
+    private final ReadBackpressure readBackpressure;
+
+    // only changed under the ring's lock, read by subscribers after releasing slots
+    private volatile boolean holdingReads = false;
+
+    // sequence of the last published response, -1 when nothing has been published yet
+    private final AtomicLong cursor = new AtomicLong(-1);
+
+    // lower bound of the slowest subscriber's sequence, only used by the producer
+    private long cachedGatingSequence = -1;
+
+    // sequence up to which slots have been cleared, only used by the producer
+    private long clearedSequence = -1;
+
+    private volatile Subscriber[] subscribers = NO_SUBSCRIBERS;
+
+    /**
+     * @param capacity - number of slots, rounded up to a power of two
+     */
+    public ResponseRingBuffer(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * @param capacity - number of slots, rounded up to a power of two
+     * @param readBackpressure - held while the ring is three quarters full, null to only wait for subscribers
+     */
+    public ResponseRingBuffer(int capacity, @Nullable ReadBackpressure readBackpressure) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive!");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.entries = new Response[size];
+        this.mask = size - 1;
+        this.holdSize = size - size / 4;
+        this.resumeSize = size / 2;
+        this.readBackpressure = readBackpressure;
+    }
+
+    /**
+     * Publishes the response into the next slot, waits while the slot still holds a response a subscriber has not read.
+     *
+     * @param response - response to publish
+     * @return sequence of the published response
+     */
+    public long publish(Response response) {
+        long next = cursor.get() + 1;
+        if (next - cachedGatingSequence > holdSize) {
+            cachedGatingSequence = awaitCapacity(next);
+        }
+        entries[(int) next & mask] = response;
+        // volatile write, publishes the slot to subscribers
+        cursor.set(next);
+
+        return next;
+    }
+
+    // refreshes the slowest subscriber's sequence, holds up reading when the ring fills up and waits while it is full
+    private long awaitCapacity(long next) {
+        long gatingSequence = minimumSequence(next - 1);
+        if (readBackpressure != null && next - gatingSequence > holdSize) {
+            gatingSequence = holdReads(next);
+        }
+        long wrapPoint = next - entries.length;
+        if (wrapPoint > gatingSequence) {
+            long deadline = System.nanoTime() + MAX_PUBLISH_WAIT_NANOS;
+            int spins = 0;
+            while (wrapPoint > (gatingSequence = minimumSequence(next - 1))) {
+                if (spins++ < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (System.nanoTime() - deadline >= 0) {
+                    detachLagging(wrapPoint);
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        }
+        clearReadSlots(gatingSequence);
+
+        return gatingSequence;
+    }
+
+    // the flag is set before the sequences are read, a subscriber releasing slots meanwhile sees it and re-checks
+    private synchronized long holdReads(long next) {
+        boolean holding = holdingReads;
+        holdingReads = true;
+        long gatingSequence = minimumSequence(next - 1);
+        if (next - gatingSequence > holdSize) {
+            readBackpressure.hold(this);
+        } else if (!holding) {
+            holdingReads = false;
+        }
+
+        return gatingSequence;
+    }
+
+    private synchronized void releaseIfDrained() {
+        long available = cursor.get();
+        if (holdingReads && available - minimumSequence(available) <= resumeSize) {
+            holdingReads = false;
+            readBackpressure.release(this);
+        }
+    }
+
+    private synchronized void detachLagging(long wrapPoint) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sequence.get() < wrapPoint) {
+                log.error("Detaching response ring subscriber, it has not polled for {} ms.", TimeUnit.NANOSECONDS.toMillis(MAX_PUBLISH_WAIT_NANOS));
+                subscriber.detached = true;
+                unsubscribe(subscriber);
+            }
+        }
+    }
+
+    // drops the references to responses all subscribers have read, slots up to the gating sequence are not published to
+    private void clearReadSlots(long gatingSequence) {
+        long from = Math.max(clearedSequence + 1, gatingSequence - mask);
+        for (long sequence = from; sequence <= gatingSequence; sequence++) {
+            entries[(int) sequence & mask] = null;
+        }
+        clearedSequence = Math.max(clearedSequence, gatingSequence);
+    }
+
+    /**
+     * Subscribes from the next published response on.
+     *
+     * @return subscriber reading the ring at its own pace
+     */
+    public synchronized Subscriber subscribe() {
+        Subscriber subscriber = new Subscriber(cursor.get());
+        Subscriber[] current = subscribers;
+        Subscriber[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscriber;
+        subscribers = updated;
+        // the producer may have moved on while registering, it cannot have passed the new sequence by more than the ring
+        subscriber.sequence.set(cursor.get());
+
+        return subscriber;
+    }
+
+    /**
+     * @return sequence of the last published response, -1 when nothing has been published yet
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    private synchronized void unsubscribe(Subscriber subscriber) {
+        subscribers = Arrays.stream(subscribers)
+                .filter(s -> s != subscriber)
+                .toArray(Subscriber[]::new);
+    }
+
+    private long minimumSequence(long minimum) {
+        for (Subscriber subscriber : subscribers) {
+            minimum = Math.min(minimum, subscriber.sequence.get());
+        }
+
+        return minimum;
+    }
+
+    @FunctionalInterface
+    public interface ResponseHandler {
+
+        /**
+         * @param response - published response
+         * @param sequence - sequence of the response in the ring
+         * @param endOfBatch - true for the last response available at the time of the poll
+         */
+        void onResponse(Response response, long sequence, boolean endOfBatch);
+
+    }
+
+    /**
+     * Reads the ring from its own sequence, a subscriber is meant to be polled by a single thread.
+     */
+    public class Subscriber implements AutoCloseable {
+
+        // sequence of the last response handled
+        private final AtomicLong sequence;
+
+        // set by the producer once it gave up waiting for this subscriber
+        private volatile boolean detached = false;
+
+        private Subscriber(long sequence) {
+            this.sequence = new AtomicLong(sequence);
+        }
+
+        /**
+         * Handles all responses published since the last poll without waiting.
+         *
+         * @param handler - handler called for every response, in sequence order
+         * @return number of responses handled
+         * @throws IllegalStateException when the subscriber has been detached for not polling
+         */
+        public int poll(ResponseHandler handler) {
+            if (detached) {
+                throw new IllegalStateException("Response ring subscriber has been detached for not polling in time!");
+            }
+            long current = sequence.get();
+            long available = cursor.get();
+            if (available <= current) {
+                return 0;
+            }
+            for (long next = current + 1; next <= available; next++) {
+                try {
+                    handler.onResponse(entries[(int) next & mask], next, next == available);
+                } catch (RuntimeException e) {
+                    log.error("Response handler failed, sequence: {}", next, e);
+                }
+            }
+            // releases the slots to the producer
+            sequence.set(available);
+            if (holdingReads) {
+                releaseIfDrained();
+            }
+
+            return (int) (available - current);
+        }
+
+        /**
+         * Waits up to the given time for at least one response, then handles all responses published since the last poll.
+         *
+         * @param handler - handler called for every response, in sequence order
+         * @return number of responses handled, 0 when the time elapsed
+         * @throws IllegalStateException when the subscriber has been detached for not polling
+         */
+        public int poll(ResponseHandler handler, long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            int spins = 0;
+            while (cursor.get() <= sequence.get()) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                if (spins++ < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    return 0;
+                }
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+
+            return poll(handler);
+        }
+
+        /**
+         * @return sequence of the last response handled
+         */
+        public long getSequence() {
+            return sequence.get();
+        }
+
+        /**
+         * @return number of published responses not handled yet
+         */
+        public long getLag() {
+            return cursor.get() - sequence.get();
+        }
+
+        /**
+         * Stops holding the producer back, the subscriber must not be polled afterwards.
+         */
+        @Override
+        public void close() {
+            unsubscribe(this);
+            if (holdingReads) {
+                releaseIfDrained();
+            }
+        }
+
+    }
+
+}
@@ -1,9 +1,9 @@
 package org.cardanofoundation.hydra.client;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.cardanofoundation.hydra.core.model.Tag;
 import org.cardanofoundation.hydra.core.model.query.response.*;
-import org.cardanofoundation.hydra.core.store.UTxOStore;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -14,13 +14,15 @@ public class ResponseTagHandlers {
 
     private final Map<Tag, Function<JsonNode, Response>> handlers = new HashMap<>();
 
-    public ResponseTagHandlers(UTxOStore uTxOStore) {
-        handlers.put(Tag.Greetings, raw -> GreetingsResponse.create(uTxOStore, raw));
+    private final Map<Tag, Function<JsonParser, Response>> streamingHandlers = new HashMap<>();
+
+    public ResponseTagHandlers() {
+        handlers.put(Tag.Greetings, GreetingsResponse::create);
         handlers.put(Tag.PeerConnected, PeerConnectedResponse::create);
         handlers.put(Tag.PeerDisconnected, PeerDisconnectedResponse::create);
         handlers.put(Tag.HeadIsInitializing, HeadIsInitializingResponse::create);
         handlers.put(Tag.Committed, CommittedResponse::create);
-        handlers.put(Tag.HeadIsOpen, raw -> HeadIsOpenResponse.create(uTxOStore, raw));
+        handlers.put(Tag.HeadIsOpen, HeadIsOpenResponse::create);
         handlers.put(Tag.HeadIsClosed, HeadIsClosedResponse::create);
         handlers.put(Tag.HeadIsContested, HeadIsContestedResponse::create);
         handlers.put(Tag.ReadyToFanout, ReadyToFanoutResponse::create);
@@ -33,11 +35,35 @@ public class ResponseTagHandlers {
         handlers.put(Tag.PostTxOnChainFailed, PostTxOnChainFailedResponse::create);
         handlers.put(Tag.RolledBack, RolledbackResponse::create);
         handlers.put(Tag.CommandFailed, CommandFailedResponse::create);
-        handlers.put(Tag.SnapshotConfirmed, raw -> SnapshotConfirmed.create(uTxOStore, raw));
+        handlers.put(Tag.SnapshotConfirmed, SnapshotConfirmed::create);
+
+        streamingHandlers.put(Tag.Greetings, GreetingsResponse::create);
+        streamingHandlers.put(Tag.PeerConnected, PeerConnectedResponse::create);
+        streamingHandlers.put(Tag.PeerDisconnected, PeerDisconnectedResponse::create);
+        streamingHandlers.put(Tag.HeadIsInitializing, HeadIsInitializingResponse::create);
+        streamingHandlers.put(Tag.Committed, CommittedResponse::create);
+        streamingHandlers.put(Tag.HeadIsOpen, HeadIsOpenResponse::create);
+        streamingHandlers.put(Tag.HeadIsClosed, HeadIsClosedResponse::create);
+        streamingHandlers.put(Tag.HeadIsContested, HeadIsContestedResponse::create);
+        streamingHandlers.put(Tag.ReadyToFanout, ReadyToFanoutResponse::create);
+        streamingHandlers.put(Tag.HeadIsAborted, HeadIsAbortedResponse::create);
+        streamingHandlers.put(Tag.HeadIsFinalized, HeadIsFinalizedResponse::create);
+        streamingHandlers.put(Tag.TxValid, TxValidResponse::create);
+        streamingHandlers.put(Tag.TxInvalid, TxInvalidResponse::create);
+        streamingHandlers.put(Tag.GetUTxOResponse, GetUTxOResponse::create);
+        streamingHandlers.put(Tag.InvalidInput, InvalidInputResponse::create);
+        streamingHandlers.put(Tag.PostTxOnChainFailed, PostTxOnChainFailedResponse::create);
+        streamingHandlers.put(Tag.RolledBack, RolledbackResponse::create);
+        streamingHandlers.put(Tag.CommandFailed, CommandFailedResponse::create);
+        streamingHandlers.put(Tag.SnapshotConfirmed, SnapshotConfirmed::create);
     }
 
     public Optional<Function<JsonNode, Response>> responseHandlerFor(Tag tag) {
         return Optional.ofNullable(handlers.get(tag));
     }
 
+    public Optional<Function<JsonParser, Response>> streamingResponseHandlerFor(Tag tag) {
+        return Optional.ofNullable(streamingHandlers.get(tag));
+    }
+
 }
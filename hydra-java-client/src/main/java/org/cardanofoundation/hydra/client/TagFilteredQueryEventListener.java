@@ -0,0 +1,51 @@
+package org.cardanofoundation.hydra.client;
+
+import lombok.Getter;
+import lombok.val;
+import org.cardanofoundation.hydra.core.model.Tag;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Passes on only responses with one of the tags the listener registered interest in.
+ */
+class TagFilteredQueryEventListener implements HydraQueryEventListener {
+
+    @Getter
+    private final HydraQueryEventListener listener;
+
+    @Getter
+    private final Set<Tag> tags;
+
+    TagFilteredQueryEventListener(HydraQueryEventListener listener, Set<Tag> tags) {
+        this.listener = listener;
+        val copy = EnumSet.noneOf(Tag.class);
+        copy.addAll(tags);
+        this.tags = Collections.unmodifiableSet(copy);
+    }
+
+    @Override
+    public void onResponse(Response response) {
+        if (tags.contains(response.getTag())) {
+            listener.onResponse(response);
+        }
+    }
+
+    @Override
+    public void onSuccess(Response response) {
+        if (tags.contains(response.getTag())) {
+            listener.onSuccess(response);
+        }
+    }
+
+    @Override
+    public void onFailure(Response response) {
+        if (tags.contains(response.getTag())) {
+            listener.onFailure(response);
+        }
+    }
+
+}
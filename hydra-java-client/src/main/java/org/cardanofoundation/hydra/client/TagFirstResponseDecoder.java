@@ -0,0 +1,128 @@
+package org.cardanofoundation.hydra.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.core.HydraException;
+import org.cardanofoundation.hydra.core.model.LazyUTxOMap;
+import org.cardanofoundation.hydra.core.model.Snapshot;
+import org.cardanofoundation.hydra.core.model.Tag;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.cardanofoundation.hydra.core.utils.MoreJson;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Decodes a message with a streaming parser, reading the tag first and then binding the remaining fields
+ * straight into the response type, without building an intermediate json tree.
+ *
+ * hydra-node does not guarantee that the tag is the first field (keys are typically sorted alphabetically),
+ * fields preceding the tag are therefore buffered as tokens and replayed in front of the rest of the message.
+ * The UTxO carrying fields known to precede the tag (snapshot of SnapshotConfirmed, snapshotUtxo of Greetings) are
+ * not buffered as a whole but decoded right away, their UTxO entries go straight into a LazyUTxOMap and only the
+ * decoded value is replayed.
+ */
+@Slf4j
+public class TagFirstResponseDecoder implements ResponseDecoder {
+
+    private static final Set<Tag> ALL_TAGS = EnumSet.allOf(Tag.class);
+
+    private static final String TAG_FIELD = "tag";
+
+    // fields preceding the tag which are decoded as they are read, keyed by field name
+    private static final Map<String, Class<?>> DECODED_PRECEDING_FIELDS = Map.of(
+            "snapshot", Snapshot.class,
+            "snapshotUtxo", LazyUTxOMap.class);
+
+    private final ResponseTagHandlers responseTagHandlers;
+
+    public TagFirstResponseDecoder(ResponseTagHandlers responseTagHandlers) {
+        this.responseTagHandlers = responseTagHandlers;
+    }
+
+    @Override
+    public Optional<Response> decode(String message) throws HydraException {
+        return decode(message, ALL_TAGS);
+    }
+
+    @Override
+    public Optional<Response> decode(String message, Set<Tag> tags) throws HydraException {
+        try (val parser = MoreJson.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new HydraException("Unable to deserialise json, object expected, json:" + message);
+            }
+
+            TokenBuffer precedingFields = null;
+            String tagString = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                val fieldName = parser.currentName();
+                parser.nextToken();
+
+                if (TAG_FIELD.equals(fieldName)) {
+                    tagString = parser.getText();
+                    break;
+                }
+
+                if (precedingFields == null) {
+                    precedingFields = createBuffer(parser);
+                    precedingFields.writeStartObject();
+                }
+                precedingFields.writeFieldName(fieldName);
+                val decodedType = DECODED_PRECEDING_FIELDS.get(fieldName);
+                if (decodedType != null && parser.currentToken() == JsonToken.START_OBJECT) {
+                    precedingFields.writeEmbeddedObject(MoreJson.readValue(parser, decodedType));
+                } else {
+                    precedingFields.copyCurrentStructure(parser);
+                }
+            }
+
+            if (tagString == null) {
+                throw new HydraException("Unable to deserialise json, missing tag, json:" + message);
+            }
+
+            val maybeTag = Tag.find(tagString);
+
+            if (maybeTag.isEmpty()) {
+                log.warn("We don't support tag:{} yet, json:{}", tagString, message);
+                return Optional.empty();
+            }
+
+            val tag = maybeTag.orElseThrow();
+
+            if (!tags.contains(tag)) {
+                return Optional.empty();
+            }
+
+            val maybeResponseHandler = responseTagHandlers.streamingResponseHandlerFor(tag);
+            if (maybeResponseHandler.isEmpty()) {
+                log.error("We don't have response handler for the following tag:{}", tag);
+            }
+            val responseHandler = maybeResponseHandler.orElseThrow();
+
+            // move past the tag value, handlers start binding from the next field (or the end of the object)
+            parser.nextToken();
+
+            if (precedingFields == null) {
+                return Optional.of(responseHandler.apply(parser));
+            }
+
+            return Optional.of(responseHandler.apply(JsonParserSequence.createFlattened(true, precedingFields.asParser(), parser)));
+        } catch (IOException e) {
+            throw new HydraException("Unable to deserialise json", e);
+        }
+    }
+
+    // buffers the fields preceding the tag of a message
+    TokenBuffer createBuffer(JsonParser parser) {
+        return new TokenBuffer(parser);
+    }
+
+}
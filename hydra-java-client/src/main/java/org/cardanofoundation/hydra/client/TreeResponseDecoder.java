@@ -0,0 +1,60 @@
+package org.cardanofoundation.hydra.client;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.core.HydraException;
+import org.cardanofoundation.hydra.core.model.Tag;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.cardanofoundation.hydra.core.utils.MoreJson;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Decodes a message by reading it into a json tree first and then converting the tree into the response.
+ */
+@Slf4j
+public class TreeResponseDecoder implements ResponseDecoder {
+
+    private static final Set<Tag> ALL_TAGS = EnumSet.allOf(Tag.class);
+
+    private final ResponseTagHandlers responseTagHandlers;
+
+    public TreeResponseDecoder(ResponseTagHandlers responseTagHandlers) {
+        this.responseTagHandlers = responseTagHandlers;
+    }
+
+    @Override
+    public Optional<Response> decode(String message) throws HydraException {
+        return decode(message, ALL_TAGS);
+    }
+
+    @Override
+    public Optional<Response> decode(String message, Set<Tag> tags) throws HydraException {
+        val raw = MoreJson.read(message);
+        val tagString = raw.get("tag").asText();
+
+        val maybeTag = Tag.find(tagString);
+
+        if (maybeTag.isEmpty()) {
+            log.warn("We don't support tag:{} yet, json:{}", tagString, message);
+            return Optional.empty();
+        }
+
+        val tag = maybeTag.orElseThrow();
+
+        if (!tags.contains(tag)) {
+            return Optional.empty();
+        }
+
+        val maybeResponseHandler = responseTagHandlers.responseHandlerFor(tag);
+        if (maybeResponseHandler.isEmpty()) {
+            log.error("We don't have response handler for the following tag:{}", tag);
+        }
+        val responseHandler = maybeResponseHandler.orElseThrow();
+
+        return Optional.of(responseHandler.apply(raw));
+    }
+
+}
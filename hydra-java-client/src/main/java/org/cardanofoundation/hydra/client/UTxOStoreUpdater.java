@@ -0,0 +1,70 @@
+package org.cardanofoundation.hydra.client;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.core.model.query.response.*;
+import org.cardanofoundation.hydra.core.store.UTxOStore;
+
+/**
+ * The single stage writing UTxO carrying responses to the UTxO store, every snapshot is applied exactly once.
+ *
+ * Snapshot numbers only move forward: a confirmed snapshot not newer than the last applied one (e.g. a replayed
+ * or out of order message) is skipped. An opened head starts over at snapshot 0. A rollback of the layer 1 chain
+ * is passed on to the store but does not lower the last applied snapshot number.
+ *
+ * Responses of one connection are handled sequentially, the updater is not meant to be shared between threads.
+ */
+@Slf4j
+class UTxOStoreUpdater {
+
+    private static final int NO_SNAPSHOT = -1;
+
+    private final UTxOStoreWriter utxoStoreWriter;
+
+    private int lastSnapshotNumber = NO_SNAPSHOT;
+
+    UTxOStoreUpdater(UTxOStore utxoStore) {
+        this(new UTxOStoreWriter(utxoStore));
+    }
+
+    UTxOStoreUpdater(UTxOStoreWriter utxoStoreWriter) {
+        this.utxoStoreWriter = utxoStoreWriter;
+    }
+
+    void onResponse(Response response) {
+        if (response instanceof GreetingsResponse greetings) {
+            // current UTxO set of the node, carries no snapshot number
+            if (greetings.isSnapshotUtxoPresent()) {
+                utxoStoreWriter.storeLatestUtxO(greetings.getSnapshotUtxo());
+            }
+            return;
+        }
+
+        if (response instanceof HeadIsOpenResponse headIsOpen) {
+            // an opened head starts with the initial snapshot
+            utxoStoreWriter.applySnapshot(0, headIsOpen.getUtxo());
+            lastSnapshotNumber = 0;
+            return;
+        }
+
+        if (response instanceof SnapshotConfirmed snapshotConfirmed && snapshotConfirmed.getSnapshot() != null) {
+            val snapshot = snapshotConfirmed.getSnapshot();
+            if (snapshot.getSnapshotNumber() <= lastSnapshotNumber) {
+                log.debug("Skipping snapshot: {}, already applied snapshot: {}", snapshot.getSnapshotNumber(), lastSnapshotNumber);
+                return;
+            }
+            utxoStoreWriter.applySnapshot(snapshot.getSnapshotNumber(), snapshot.getUtxo());
+            lastSnapshotNumber = snapshot.getSnapshotNumber();
+            return;
+        }
+
+        if (response instanceof RolledbackResponse) {
+            utxoStoreWriter.rollback();
+        }
+    }
+
+    int getLastSnapshotNumber() {
+        return lastSnapshotNumber;
+    }
+
+}
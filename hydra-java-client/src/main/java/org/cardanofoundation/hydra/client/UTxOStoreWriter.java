@@ -0,0 +1,55 @@
+package org.cardanofoundation.hydra.client;
+
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.cardanofoundation.hydra.core.store.UTxOStore;
+
+import java.util.Map;
+
+/**
+ * Applies the writes decided by the UTxO store updater to the UTxO store.
+ *
+ * This writer applies them synchronously on the thread reading the websocket, see {@link AsyncUTxOStoreWriter}
+ * for a writer which takes slow stores off that thread.
+ */
+public class UTxOStoreWriter {
+
+    protected final UTxOStore utxoStore;
+
+    public UTxOStoreWriter(UTxOStore utxoStore) {
+        this.utxoStore = utxoStore;
+    }
+
+    public void storeLatestUtxO(Map<String, UTXO> utxo) {
+        utxoStore.storeLatestUtxO(utxo);
+    }
+
+    public void applySnapshot(int snapshotNumber, Map<String, UTXO> utxo) {
+        utxoStore.applySnapshot(snapshotNumber, utxo);
+    }
+
+    public void rollback() {
+        utxoStore.rollback();
+    }
+
+    /**
+     * @return number of writes waiting to be applied to the store
+     */
+    public int getPendingWrites() {
+        return 0;
+    }
+
+    /**
+     * @return number of writes folded into a newer write and therefore never applied on their own
+     */
+    public long getCoalescedWrites() {
+        return 0;
+    }
+
+    /**
+     * @return time in milliseconds the oldest write not yet applied has been waiting, 0 when the store is up to date
+     */
+    public long getLagMillis() {
+        return 0;
+    }
+
+}
@@ -0,0 +1,125 @@
+package org.cardanofoundation.hydra.client;
+
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.cardanofoundation.hydra.core.store.UTxODelta;
+import org.cardanofoundation.hydra.core.store.UTxOStore;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncUTxOStoreWriterTest {
+
+    private static final int ROLLBACK = Integer.MIN_VALUE;
+
+    private static Map<String, UTXO> utxo(String txIn) {
+        return Map.of(txIn, UTXO.builder().address("addr1").value(Map.of("lovelace", BigInteger.ONE)).build());
+    }
+
+    @Test
+    public void coalescesSnapshotsWhileStoreIsBehind() throws Exception {
+        var store = new GatedUTxOStore();
+        var writer = new AsyncUTxOStoreWriter(store, 2);
+
+        writer.applySnapshot(1, utxo("a#0"));
+        assertTrue(store.entered.await(5, TimeUnit.SECONDS));
+
+        // queue holds 2 writes, the following snapshots are folded into the newest pending one without blocking
+        writer.applySnapshot(2, utxo("b#0"));
+        writer.applySnapshot(3, utxo("c#0"));
+        writer.applySnapshot(4, utxo("d#0"));
+        writer.applySnapshot(5, utxo("e#0"));
+
+        assertEquals(3, writer.getPendingWrites());
+        Thread.sleep(20);
+        assertTrue(writer.getLagMillis() >= 20);
+
+        store.gate.countDown();
+        awaitApplied(writer);
+
+        assertEquals(List.of(1, 5), store.applied);
+        assertEquals(utxo("e#0").keySet(), store.getLatestUTxO().keySet());
+        assertEquals(3, writer.getCoalescedWrites());
+        assertEquals(2, writer.getAppliedWrites());
+        assertEquals(0, writer.getLagMillis());
+    }
+
+    @Test
+    public void neverCoalescesAcrossRollback() throws Exception {
+        var store = new GatedUTxOStore();
+        var writer = new AsyncUTxOStoreWriter(store, 8);
+
+        writer.applySnapshot(1, utxo("a#0"));
+        assertTrue(store.entered.await(5, TimeUnit.SECONDS));
+
+        writer.applySnapshot(2, utxo("b#0"));
+        writer.applySnapshot(3, utxo("c#0"));
+        writer.rollback();
+        writer.applySnapshot(2, utxo("d#0"));
+        writer.storeLatestUtxO(utxo("e#0"));
+
+        store.gate.countDown();
+        awaitApplied(writer);
+
+        assertEquals(List.of(1, 3, ROLLBACK, 2), store.applied);
+        assertEquals(utxo("e#0").keySet(), store.getLatestUTxO().keySet());
+        assertEquals(2, writer.getCoalescedWrites());
+    }
+
+    private static void awaitApplied(AsyncUTxOStoreWriter writer) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.getPendingWrites() > 0) {
+            assertTrue(System.nanoTime() < deadline, "store writes not applied in time");
+            Thread.sleep(1);
+        }
+    }
+
+    // holds the first write until the gate opens
+    private static class GatedUTxOStore implements UTxOStore {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        private final List<Integer> applied = new CopyOnWriteArrayList<>();
+
+        private volatile Map<String, UTXO> latest = Map.of();
+
+        @Override
+        public Map<String, UTXO> getLatestUTxO() {
+            return latest;
+        }
+
+        @Override
+        public void storeLatestUtxO(Map<String, UTXO> utxo) {
+            latest = utxo;
+        }
+
+        @Override
+        public UTxODelta applySnapshot(int snapshotNumber, Map<String, UTXO> utxo) {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            applied.add(snapshotNumber);
+            latest = utxo;
+
+            return UTxODelta.empty(snapshotNumber);
+        }
+
+        @Override
+        public void rollback() {
+            applied.add(ROLLBACK);
+        }
+
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.cardanofoundation.hydra.client;
+
+import org.cardanofoundation.hydra.core.model.HydraState;
+import org.cardanofoundation.hydra.core.model.query.response.GreetingsResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GreetingsStreamReaderTest {
+
+    private final static int ENTRIES = 1_000;
+
+    // hydra-node sorts the keys alphabetically, the snapshot UTxO set comes before the tag
+    private static String greetings(int entries) {
+        var json = new StringBuilder("{\"headStatus\":\"Open\",\"hydraNodeVersion\":\"0.13.0-d8a8f1a9\",\"me\":{\"vkey\":\"b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb\"},\"seq\":0,\"snapshotUtxo\":{");
+        for (int i = 0; i < entries; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\"8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7#").append(i)
+                    .append("\":{\"address\":\"addr_test1vp0yug22dtwaxdcjdvaxr74dthlpunc57cm639578gz7algset3fh\",\"datum\":null,\"datumhash\":null,\"inlineDatum\":{\"bytes\":\"€uro\"},\"referenceScript\":null,\"value\":{\"lovelace\":")
+                    .append(1_000_000 + i).append("}}");
+        }
+
+        return json.append("},\"tag\":\"Greetings\",\"timestamp\":\"2023-10-18T09:35:40.426712549Z\"}").toString();
+    }
+
+    private final static String SNAPSHOT_CONFIRMED = "{\"headId\":\"84e657e3dd5241caac75b749195f78684023583736cc08b2896290ab\",\"seq\":7,\"snapshot\":{\"confirmedTransactions\":[],\"snapshotNumber\":3,\"utxo\":{}},\"tag\":\"SnapshotConfirmed\",\"timestamp\":\"2023-10-18T09:35:50.126712549Z\"}";
+
+    private final List<String> messages = new ArrayList<>();
+
+    private final List<GreetingsResponse> streamed = new ArrayList<>();
+
+    private final GreetingsStreamReader reader = new GreetingsStreamReader(GreetingsStreamReader.DEFAULT_STREAMING_THRESHOLD, messages::add, streamed::add);
+
+    @Test
+    public void streamsSnapshotUtxoOfGreetingsArrivingInParts() {
+        // 7 byte parts split multi byte characters too
+        feedInParts(greetings(ENTRIES), 7);
+
+        assertTrue(messages.isEmpty());
+        assertEquals(1, streamed.size());
+        var greetings = streamed.get(0);
+        assertEquals(HydraState.Open, greetings.getHeadStatus());
+        assertEquals("0.13.0-d8a8f1a9", greetings.getHydraNodeVersion());
+        assertEquals("b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb", greetings.getMe().getVkey());
+        assertTrue(greetings.isSnapshotUtxoPresent());
+        assertEquals(ENTRIES, greetings.getSnapshotUtxo().size());
+        assertEquals(ENTRIES, reader.getStreamedEntries());
+
+        var utxo = greetings.getSnapshotUtxo().get("8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7#42");
+        assertEquals("addr_test1vp0yug22dtwaxdcjdvaxr74dthlpunc57cm639578gz7algset3fh", utxo.getAddress());
+        assertEquals(BigInteger.valueOf(1_000_042), utxo.getValue().get("lovelace"));
+    }
+
+    @Test
+    public void streamsGreetingsArrivingInOnePartAboveThreshold() {
+        var reader = new GreetingsStreamReader(1, messages::add, streamed::add);
+
+        reader.onPart(ByteBuffer.wrap(greetings(3).getBytes(StandardCharsets.UTF_8)), true);
+
+        assertTrue(messages.isEmpty());
+        assertEquals(3, streamed.get(0).getSnapshotUtxo().size());
+    }
+
+    @Test
+    public void passesOnOtherMessagesAsString() {
+        var greetingsWithoutUtxo = "{\"headStatus\":\"Idle\",\"hydraNodeVersion\":\"0.13.0-d8a8f1a9\",\"me\":{\"vkey\":\"b37a\"},\"seq\":0,\"tag\":\"Greetings\",\"timestamp\":\"2023-10-18T09:35:40.426712549Z\"}";
+
+        feedInParts(SNAPSHOT_CONFIRMED, 5);
+        feedInParts(greetingsWithoutUtxo, 3);
+        reader.onPart(ByteBuffer.wrap(greetings(2).getBytes(StandardCharsets.UTF_8)), true);
+
+        assertEquals(List.of(SNAPSHOT_CONFIRMED, greetingsWithoutUtxo, greetings(2)), messages);
+        assertTrue(streamed.isEmpty());
+    }
+
+    @Test
+    public void passesOnMalformedMessageToBeReportedByTheDecoder() {
+        feedInParts("{\"seq\":1,\"tag\":", 4);
+        feedInParts("not json", 4);
+
+        assertEquals(List.of("{\"seq\":1,\"tag\":", "not json"), messages);
+    }
+
+    private void feedInParts(String message, int partSize) {
+        var bytes = message.getBytes(StandardCharsets.UTF_8);
+        for (int offset = 0; offset < bytes.length; offset += partSize) {
+            var length = Math.min(partSize, bytes.length - offset);
+            // direct buffers like the ones netty hands over
+            var part = ByteBuffer.allocateDirect(length).put(bytes, offset, length).flip();
+            reader.onPart(part, offset + length == bytes.length);
+        }
+    }
+
+}
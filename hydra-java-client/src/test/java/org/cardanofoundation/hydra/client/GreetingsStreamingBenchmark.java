@@ -0,0 +1,100 @@
+package org.cardanofoundation.hydra.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.hydra.core.model.query.response.GreetingsResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares reading a Greetings message carrying a large snapshot UTxO set as one string with streaming it out of
+ * 64K parts: allocated bytes, peak heap while reading, heap retained by the decoded response and time.
+ *
+ * Tagged benchmark, not part of the regular test run, execute with:
+ * mvn -Pbenchmarks -pl hydra-java-client -am test -Dtest=GreetingsStreamingBenchmark
+ */
+@Slf4j
+@Tag("benchmark")
+class GreetingsStreamingBenchmark {
+
+    private static final int ENTRIES = 200_000;
+
+    private static final int PART_SIZE = 64 * 1024;
+
+    private static final int ROUNDS = 3;
+
+    @Test
+    public void compareStringAndStreaming() {
+        var json = new StringBuilder("{\"headStatus\":\"Open\",\"hydraNodeVersion\":\"0.13.0-d8a8f1a9\",\"me\":{\"vkey\":\"b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb\"},\"seq\":0,\"snapshotUtxo\":{");
+        for (int i = 0; i < ENTRIES; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(String.format("\"%064x#0\":{\"address\":\"addr_test1vp0yug22dtwaxdcjdvaxr74dthlpunc57cm639578gz7algset3fh\",\"datum\":null,\"datumhash\":null,\"inlineDatum\":null,\"referenceScript\":null,\"value\":{\"lovelace\":%d}}", i, 1_000_000 + i));
+        }
+        var bytes = json.append("},\"tag\":\"Greetings\",\"timestamp\":\"2023-10-18T09:35:40.426712549Z\"}").toString().getBytes(StandardCharsets.UTF_8);
+        json = null;
+        log.info("Greetings of {} entries, {} MB", ENTRIES, bytes.length / 1024 / 1024);
+
+        var decoder = new TagFirstResponseDecoder(new ResponseTagHandlers());
+        for (int round = 0; round < ROUNDS; round++) {
+            measure("string", () -> {
+                var greetings = (GreetingsResponse) decoder.decode(new String(bytes, StandardCharsets.UTF_8)).orElseThrow();
+                // the store keeps the entries, decoded ones once they are read
+                greetings.getSnapshotUtxo().values().forEach(utxo -> {});
+                return greetings;
+            });
+            measure("streamed", () -> {
+                var streamed = new AtomicReference<GreetingsResponse>();
+                var reader = new GreetingsStreamReader(GreetingsStreamReader.DEFAULT_STREAMING_THRESHOLD, message -> {}, streamed::set);
+                for (int offset = 0; offset < bytes.length; offset += PART_SIZE) {
+                    var length = Math.min(PART_SIZE, bytes.length - offset);
+                    reader.onPart(ByteBuffer.wrap(bytes, offset, length), offset + length == bytes.length);
+                }
+                return streamed.get();
+            });
+        }
+    }
+
+    private void measure(String name, Supplier<GreetingsResponse> read) {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var threadId = Thread.currentThread().getId();
+        var before = usedHeap();
+        var heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        var allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        var start = System.nanoTime();
+
+        var greetings = read.get();
+
+        var millis = (System.nanoTime() - start) / 1_000_000;
+        var allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        // sum of the peaks of the pools, an upper bound of the peak heap
+        var peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum() - before;
+        var retained = usedHeap() - before;
+        assertEquals(ENTRIES, greetings.getSnapshotUtxo().size());
+
+        log.info("{}: {} ms, allocated {} MB, peak {} MB, retained {} MB", name, millis, allocated / 1024 / 1024, peak / 1024 / 1024, retained / 1024 / 1024);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        var runtime = Runtime.getRuntime();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,67 @@
+package org.cardanofoundation.hydra.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryFastForwardTest {
+
+    private static String message(String tag, int seq) {
+        // nested values in front of the tag are skipped by the header peek
+        return "{\"headId\":\"head\",\"nested\":{\"tag\":\"TxValid\",\"seq\":0},\"seq\":" + seq + ",\"tag\":\"" + tag + "\"}";
+    }
+
+    @Test
+    public void passesOnlyLifecycleMessagesAndLatestSnapshots() {
+        var fastForward = new HistoryFastForward(true);
+        fastForward.onConnect(true);
+        var processed = new ArrayList<String>();
+
+        var history = List.of(
+                message("HeadIsInitializing", 1),
+                message("Committed", 2),
+                message("HeadIsOpen", 3),
+                message("TxValid", 4),
+                message("SnapshotConfirmed", 5),
+                message("TxValid", 6),
+                message("SnapshotConfirmed", 7),
+                message("RolledBack", 8),
+                message("SnapshotConfirmed", 9),
+                message("SnapshotConfirmed", 10),
+                message("Greetings", 0),
+                message("TxValid", 11),
+                message("SnapshotConfirmed", 12));
+        history.forEach(message -> fastForward.onMessage(message, processed::add));
+
+        assertEquals(List.of(
+                message("HeadIsInitializing", 1),
+                message("HeadIsOpen", 3),
+                message("SnapshotConfirmed", 7),
+                message("RolledBack", 8),
+                message("SnapshotConfirmed", 10),
+                message("Greetings", 0),
+                message("TxValid", 11),
+                message("SnapshotConfirmed", 12)), processed);
+        assertFalse(fastForward.isActive());
+    }
+
+    @Test
+    public void passesEverythingWithoutHistory() {
+        var fastForward = new HistoryFastForward(true);
+        fastForward.onConnect(false);
+        var processed = new ArrayList<String>();
+
+        fastForward.onMessage(message("TxValid", 1), processed::add);
+        fastForward.onMessage(message("SnapshotConfirmed", 2), processed::add);
+
+        assertEquals(2, processed.size());
+
+        var disabled = new HistoryFastForward(false);
+        disabled.onConnect(true);
+        assertFalse(disabled.isActive());
+    }
+
+}
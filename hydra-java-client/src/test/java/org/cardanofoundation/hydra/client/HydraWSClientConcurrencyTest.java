@@ -0,0 +1,223 @@
+package org.cardanofoundation.hydra.client;
+
+import org.cardanofoundation.hydra.core.model.HydraState;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.cardanofoundation.hydra.core.utils.HexUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests hammering the client from many threads at once.
+ */
+class HydraWSClientConcurrencyTest {
+
+    private static final int PRODUCERS = 8;
+
+    private static final int TXS_PER_PRODUCER = 10_000;
+
+    private final static String GREETINGS_OPEN = "{\"headStatus\":\"Open\",\"hydraNodeVersion\":\"0.13.0-d8a8f1a9\",\"me\":{\"vkey\":\"b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb\"},\"seq\":0,\"tag\":\"Greetings\",\"timestamp\":\"2023-10-18T09:35:40.426712549Z\"}";
+
+    @Test
+    public void concurrentSubmissionsAreWrittenOneAtATimeInProducerOrder() throws Exception {
+        var transport = new RecordingTransport();
+        var client = new HydraWSClient(HydraClientOptions.createDefault("ws://localhost"), (uri, handler) -> transport);
+        client.connect();
+
+        var barrier = new CyclicBarrier(PRODUCERS);
+        var threads = new ArrayList<Thread>();
+        for (int producer = 0; producer < PRODUCERS; producer++) {
+            var id = producer;
+            var thread = new Thread(() -> {
+                try {
+                    barrier.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                for (int i = 0; i < TXS_PER_PRODUCER; i++) {
+                    // producer id and sequence number as the transaction bytes
+                    client.submitTx(ByteBuffer.allocate(8).putInt(id).putInt(i).array());
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (var thread : threads) {
+            thread.join(TimeUnit.MINUTES.toMillis(1));
+        }
+
+        assertFalse(transport.overlapped.get(), "transport was written to concurrently");
+        assertEquals(PRODUCERS * TXS_PER_PRODUCER, transport.sent.size());
+
+        var next = new int[PRODUCERS];
+        for (var message : transport.sent) {
+            var hex = message.substring(message.indexOf("\"transaction\":\"") + 15, message.lastIndexOf('"'));
+            var tx = ByteBuffer.wrap(HexUtils.decodeHexString(hex));
+            var producer = tx.getInt();
+            assertEquals(next[producer]++, tx.getInt(), "requests of producer " + producer + " out of order");
+        }
+    }
+
+    @Test
+    public void stateIsPublishedToReadingThreads() throws Exception {
+        var transport = new RecordingTransport();
+        var client = new HydraWSClient(HydraClientOptions.createDefault("ws://localhost"), (uri, handler) -> {
+            transport.handler = handler;
+            return transport;
+        });
+        client.connect();
+
+        var readers = 4;
+        var observed = new CountDownLatch(readers);
+        var started = new CountDownLatch(readers);
+        for (int i = 0; i < readers; i++) {
+            var thread = new Thread(() -> {
+                started.countDown();
+                // spins on the getter only, sees the new state without any other synchronization
+                while (client.getHydraState() != HydraState.Open) {
+                    Thread.onSpinWait();
+                }
+                observed.countDown();
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        transport.handler.onMessage(GREETINGS_OPEN);
+
+        assertTrue(observed.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void notifiesAllListenersOfResponseBeforeSuccess() {
+        var transport = new RecordingTransport();
+        var client = new HydraWSClient(HydraClientOptions.createDefault("ws://localhost"), (uri, handler) -> {
+            transport.handler = handler;
+            return transport;
+        });
+        var calls = new ArrayList<String>();
+        for (var name : List.of("a", "b")) {
+            client.addHydraQueryEventListener(new HydraQueryEventListener.Stub() {
+                @Override
+                public void onResponse(Response response) {
+                    calls.add(name + ".onResponse");
+                }
+
+                @Override
+                public void onSuccess(Response response) {
+                    calls.add(name + ".onSuccess");
+                }
+            });
+        }
+        client.connect();
+
+        transport.handler.onMessage(GREETINGS_OPEN);
+
+        assertEquals(List.of("a.onResponse", "b.onResponse", "a.onSuccess", "b.onSuccess"), calls);
+    }
+
+    @Test
+    public void listenersAddedDuringDispatchWaitForTheNextResponse() {
+        var transport = new RecordingTransport();
+        var client = new HydraWSClient(HydraClientOptions.createDefault("ws://localhost"), (uri, handler) -> {
+            transport.handler = handler;
+            return transport;
+        });
+        var calls = new ArrayList<String>();
+        var late = new HydraQueryEventListener.Stub() {
+            @Override
+            public void onResponse(Response response) {
+                calls.add("late.onResponse");
+            }
+
+            @Override
+            public void onSuccess(Response response) {
+                calls.add("late.onSuccess");
+            }
+        };
+        client.addHydraQueryEventListener(new HydraQueryEventListener.Stub() {
+            @Override
+            public void onResponse(Response response) {
+                calls.add("a.onResponse");
+                client.addHydraQueryEventListener(late);
+            }
+        });
+        client.connect();
+
+        transport.handler.onMessage(GREETINGS_OPEN);
+        assertEquals(List.of("a.onResponse"), calls);
+
+        transport.handler.onMessage(GREETINGS_OPEN);
+        assertEquals(List.of("a.onResponse", "a.onResponse", "late.onResponse", "late.onSuccess"), calls);
+    }
+
+    // always open, records what is sent and whether two threads ever sent at the same time
+    private static class RecordingTransport implements HydraTransport {
+
+        private final List<String> sent = new ArrayList<>();
+
+        private final AtomicInteger sending = new AtomicInteger();
+
+        private final AtomicBoolean overlapped = new AtomicBoolean();
+
+        private volatile Handler handler;
+
+        @Override
+        public void connect() {
+            if (handler != null) {
+                handler.onOpen();
+            }
+        }
+
+        @Override
+        public boolean connectBlocking(long time, TimeUnit timeUnit) {
+            connect();
+            return true;
+        }
+
+        @Override
+        public void close(int code, String reason) {
+        }
+
+        @Override
+        public void closeBlocking() {
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public boolean isClosing() {
+            return false;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return false;
+        }
+
+        @Override
+        public void send(ByteBuffer payload) {
+            if (sending.incrementAndGet() != 1) {
+                overlapped.set(true);
+            }
+            sent.add(StandardCharsets.UTF_8.decode(payload.duplicate()).toString());
+            sending.decrementAndGet();
+        }
+
+    }
+
+}
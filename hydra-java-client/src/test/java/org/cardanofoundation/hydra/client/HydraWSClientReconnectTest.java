@@ -0,0 +1,224 @@
+package org.cardanofoundation.hydra.client;
+
+import org.cardanofoundation.hydra.core.model.Tag;
+import org.cardanofoundation.hydra.core.model.query.response.PeerConnectedResponse;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HydraWSClientReconnectTest {
+
+    private final static String GREETINGS = "{\"headStatus\":\"Idle\",\"hydraNodeVersion\":\"0.13.0-d8a8f1a9\",\"me\":{\"vkey\":\"b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb\"},\"seq\":0,\"tag\":\"Greetings\",\"timestamp\":\"2023-10-18T09:35:40.426712549Z\"}";
+
+    private static String peerConnected(int seq) {
+        return "{\"peer\":\"bob\",\"seq\":" + seq + ",\"tag\":\"PeerConnected\",\"timestamp\":\"2023-10-18T09:35:41.426712549Z\"}";
+    }
+
+    @Test
+    public void resumesAfterLastProcessedSeq() throws Exception {
+        var server = new HistoryServer();
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS));
+
+        var client = new HydraWSClient(HydraClientOptions.builder("ws://localhost:" + server.getPort())
+                .autoReconnect(true)
+                .reconnectInitialDelay(Duration.ofMillis(50))
+                .build());
+        var seqs = new CopyOnWriteArrayList<Integer>();
+        var greetings = new CopyOnWriteArrayList<Integer>();
+        var delivered = new CountDownLatch(5);
+        client.addHydraQueryEventListener(new HydraQueryEventListener.Stub() {
+            @Override
+            public void onResponse(Response response) {
+                if (response.getTag() == Tag.Greetings) {
+                    greetings.add(response.getSeq());
+                    return;
+                }
+                seqs.add(response.getSeq());
+                delivered.countDown();
+            }
+        });
+
+        try {
+            client.connectBlocking(5, TimeUnit.SECONDS);
+            assertTrue(delivered.await(10, TimeUnit.SECONDS));
+
+            assertEquals(List.of(1, 2, 3, 4, 5), seqs);
+            assertEquals(2, greetings.size());
+            assertEquals(List.of("/?history=no&snapshot-utxo=no&tx-output=cbor", "/?history=yes&snapshot-utxo=no&tx-output=cbor"), server.resources);
+        } finally {
+            client.closeBlocking();
+            server.stop(1000);
+        }
+    }
+
+    @Test
+    public void doesNotFastForwardResumedConnection() throws Exception {
+        var server = new FastForwardServer();
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS));
+
+        var client = new HydraWSClient(HydraClientOptions.builder("ws://localhost:" + server.getPort())
+                .history(true)
+                .fastForwardHistory(true)
+                .autoReconnect(true)
+                .reconnectInitialDelay(Duration.ofMillis(50))
+                .build());
+        var seqs = new CopyOnWriteArrayList<Integer>();
+        var delivered = new CountDownLatch(4);
+        client.addHydraQueryEventListener(new HydraQueryEventListener.Stub() {
+            @Override
+            public void onResponse(Response response) {
+                if (response.getTag() != Tag.Greetings) {
+                    seqs.add(response.getSeq());
+                    delivered.countDown();
+                }
+            }
+        });
+
+        try {
+            client.connectBlocking(5, TimeUnit.SECONDS);
+            assertTrue(delivered.await(10, TimeUnit.SECONDS));
+
+            // history of the initial connection is fast-forwarded, every message missed while disconnected is delivered
+            assertEquals(List.of(3, 4, 5, 6), seqs);
+            assertEquals(2, server.connections.get());
+        } finally {
+            client.closeBlocking();
+            server.stop(1000);
+        }
+    }
+
+    @Test
+    public void backsOffExponentially() {
+        var options = HydraClientOptions.builder("ws://localhost")
+                .reconnectInitialDelay(Duration.ofMillis(100))
+                .reconnectMaxDelay(Duration.ofSeconds(1))
+                .build();
+
+        var delays = IntStream.of(0, 1, 2, 3, 4, 64)
+                .mapToObj(attempt -> HydraWSClient.reconnectDelay(options, attempt).toMillis())
+                .toList();
+
+        assertEquals(List.of(100L, 200L, 400L, 800L, 1000L, 1000L), delays);
+    }
+
+    @Test
+    public void skipsReplayedMessagesWithoutDecoding() {
+        var filter = new ReplayFilter();
+        filter.onReconnect();
+        assertFalse(filter.isReplaying());
+
+        filter.onProcessed(new PeerConnectedResponse("bob", 2, null));
+        filter.onReconnect();
+
+        assertFalse(filter.skip(GREETINGS));
+        // nested values, even a nested seq, are skipped without being decoded
+        assertTrue(filter.skip("{\"utxo\":{\"a#0\":{\"seq\":9}},\"seq\":1,\"tag\":\"SnapshotConfirmed\"}"));
+        assertTrue(filter.skip(peerConnected(2)));
+        assertFalse(filter.skip(peerConnected(3)));
+        assertFalse(filter.isReplaying());
+        assertFalse(filter.skip(peerConnected(1)));
+    }
+
+    // replays history before greeting like the hydra node, first connection: history 1 to 2, live 3 then drops,
+    // later connections: history 1 to 5, live 6
+    private static class FastForwardServer extends WebSocketServer {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        private FastForwardServer() {
+            super(new InetSocketAddress("localhost", 0));
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+            if (connections.incrementAndGet() == 1) {
+                IntStream.rangeClosed(1, 2).forEach(seq -> conn.send(peerConnected(seq)));
+                conn.send(GREETINGS);
+                conn.send(peerConnected(3));
+                conn.close();
+                return;
+            }
+            IntStream.rangeClosed(1, 5).forEach(seq -> conn.send(peerConnected(seq)));
+            conn.send(GREETINGS);
+            conn.send(peerConnected(6));
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+
+    }
+
+    // first connection: events 1 to 3 then drops, later connections: replays events 1 to 5
+    private static class HistoryServer extends WebSocketServer {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final List<String> resources = new CopyOnWriteArrayList<>();
+
+        private HistoryServer() {
+            super(new InetSocketAddress("localhost", 0));
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+            resources.add(handshake.getResourceDescriptor());
+            conn.send(GREETINGS);
+            if (resources.size() == 1) {
+                IntStream.rangeClosed(1, 3).forEach(seq -> conn.send(peerConnected(seq)));
+                conn.close();
+                return;
+            }
+            IntStream.rangeClosed(1, 5).forEach(seq -> conn.send(peerConnected(seq)));
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+
+    }
+
+}
@@ -0,0 +1,285 @@
+package org.cardanofoundation.hydra.client;
+
+import org.cardanofoundation.hydra.core.model.HydraState;
+import org.cardanofoundation.hydra.core.model.Tag;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.cardanofoundation.hydra.core.store.InMemoryUTxOStore;
+import org.java_websocket.WebSocket;
+import org.java_websocket.enums.Opcode;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdkWebSocketTransportTest {
+
+    private final static String GREETINGS = "{\"headStatus\":\"Idle\",\"hydraNodeVersion\":\"0.13.0-d8a8f1a9\",\"me\":{\"vkey\":\"b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb\"},\"seq\":0,\"tag\":\"Greetings\",\"timestamp\":\"2023-10-18T09:35:40.426712549Z\"}";
+
+    private final static String GREETINGS_WITH_UTXO = "{\"headStatus\":\"Open\",\"hydraNodeVersion\":\"0.13.0-d8a8f1a9\",\"me\":{\"vkey\":\"b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb\"},\"seq\":0,\"snapshotUtxo\":{\"8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7#0\":{\"address\":\"addr_test1vp0yug22dtwaxdcjdvaxr74dthlpunc57cm639578gz7algset3fh\",\"datum\":null,\"datumhash\":null,\"inlineDatum\":null,\"referenceScript\":null,\"value\":{\"lovelace\":50000000}}},\"tag\":\"Greetings\",\"timestamp\":\"2023-10-18T09:35:40.426712549Z\"}";
+
+    private final static String PEER_CONNECTED = "{\"peer\":\"bob\",\"seq\":1,\"tag\":\"PeerConnected\",\"timestamp\":\"2023-10-18T09:35:41.426712549Z\"}";
+
+    @Test
+    public void exchangesMessagesThroughJdkWebSocket() throws Exception {
+        var server = new AnsweringServer(GREETINGS);
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS));
+
+        var client = new HydraWSClient(HydraClientOptions.builder("ws://localhost:" + server.getPort())
+                .transportFactory(JdkWebSocketTransport.factory())
+                .build());
+        var tags = new CopyOnWriteArrayList<Tag>();
+        var answered = new CountDownLatch(2);
+        client.addHydraQueryEventListener(new HydraQueryEventListener.Stub() {
+            @Override
+            public void onResponse(Response response) {
+                tags.add(response.getTag());
+                answered.countDown();
+            }
+        });
+
+        try {
+            client.connectBlocking(5, TimeUnit.SECONDS);
+            assertTrue(client.isOpen());
+
+            client.getUTXO();
+            assertTrue(answered.await(5, TimeUnit.SECONDS));
+
+            assertEquals(List.of(Tag.Greetings, Tag.PeerConnected), tags);
+            assertEquals(List.of("{\"tag\":\"GetUTxO\"}"), server.received);
+        } finally {
+            client.closeBlocking();
+            server.stop(1000);
+        }
+
+        assertTrue(client.isClosed());
+    }
+
+    @Test
+    public void streamsSnapshotUtxoOfFragmentedGreetingsIntoStore() throws Exception {
+        var server = new AnsweringServer(GREETINGS_WITH_UTXO);
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS));
+
+        var utxoStore = new InMemoryUTxOStore();
+        var client = new HydraWSClient(HydraClientOptions.builder("ws://localhost:" + server.getPort())
+                .transportFactory(JdkWebSocketTransport.factory())
+                .snapshotUtxo(true)
+                .utxoStore(utxoStore)
+                .build());
+        var greeted = new CountDownLatch(1);
+        client.addHydraQueryEventListener(new HydraQueryEventListener.Stub() {
+            @Override
+            public void onResponse(Response response) {
+                greeted.countDown();
+            }
+        });
+
+        try {
+            client.connectBlocking(5, TimeUnit.SECONDS);
+            assertTrue(greeted.await(5, TimeUnit.SECONDS));
+
+            assertEquals(HydraState.Open, client.getHydraState());
+            var utxo = utxoStore.getLatestUTxO().get("8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7#0");
+            assertEquals("addr_test1vp0yug22dtwaxdcjdvaxr74dthlpunc57cm639578gz7algset3fh", utxo.getAddress());
+        } finally {
+            client.closeBlocking();
+            server.stop(1000);
+        }
+    }
+
+    @Test
+    public void pausesReadingWhileListenerQueueIsFull() throws Exception {
+        var answers = 20_000;
+        var server = new AnsweringServer(GREETINGS, answers, peerConnected("x".repeat(1024)));
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS));
+
+        var client = new HydraWSClient(HydraClientOptions.builder("ws://localhost:" + server.getPort())
+                .transportFactory(JdkWebSocketTransport.factory())
+                .asyncListenerDispatch(true)
+                .listenerQueueSize(8)
+                .build());
+        var gate = new CountDownLatch(1);
+        var delivered = new CountDownLatch(1 + answers);
+        client.addHydraQueryEventListener(new HydraQueryEventListener.Stub() {
+            @Override
+            public void onResponse(Response response) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                delivered.countDown();
+            }
+        });
+
+        try {
+            client.connectBlocking(5, TimeUnit.SECONDS);
+            client.getUTXO();
+
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!client.getReadBackpressure().isPaused()) {
+                assertTrue(System.nanoTime() < deadline, "reading never paused");
+                Thread.sleep(10);
+            }
+            // 20MB of answers do not fit into the socket buffers, they pile up at the server while reading is paused
+            Thread.sleep(500);
+            assertTrue(server.connection.hasBufferedData());
+            assertTrue(client.getReadBackpressure().isPaused());
+            // the full queue and the response held up in the listener, the queue may have filled up before the lane
+            // took its first response, in which case reading paused one response earlier
+            var pending = client.getQueryEventDispatchLanes().get(0).getPendingEvents();
+            assertTrue(pending == 8 || pending == 8 + 1, "pending: " + pending);
+
+            gate.countDown();
+            assertTrue(delivered.await(30, TimeUnit.SECONDS));
+            assertFalse(client.getReadBackpressure().isPaused());
+        } finally {
+            gate.countDown();
+            client.closeBlocking();
+            server.stop(1000);
+        }
+    }
+
+    @Test
+    public void sendsFramesOfConcurrentWritersWithBoundedPendingFrames() throws Exception {
+        var server = new AnsweringServer(GREETINGS, 0, PEER_CONNECTED);
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS));
+
+        var transport = new JdkWebSocketTransport(URI.create("ws://localhost:" + server.getPort()), new HydraTransport.Handler() {
+            @Override
+            public void onOpen() {
+            }
+
+            @Override
+            public void onMessage(String message) {
+            }
+
+            @Override
+            public void onClose(int code, String reason, boolean remote) {
+            }
+
+            @Override
+            public void onError(Exception e) {
+            }
+        }, HttpClient.newHttpClient(), 2);
+
+        try {
+            assertTrue(transport.connectBlocking(5, TimeUnit.SECONDS));
+
+            var writers = new ArrayList<Thread>();
+            var flushes = new CopyOnWriteArrayList<CompletableFuture<Void>>();
+            for (int w = 0; w < 4; w++) {
+                var writer = w;
+                writers.add(new Thread(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        transport.write(ByteBuffer.wrap(("{\"writer\":" + writer + ",\"frame\":" + i + "}").getBytes(StandardCharsets.UTF_8)));
+                        assertTrue(transport.getPendingFrames() <= 2);
+                    }
+                    flushes.add(transport.flush());
+                }));
+            }
+            writers.forEach(Thread::start);
+            for (var writer : writers) {
+                writer.join(10_000);
+            }
+
+            CompletableFuture.allOf(flushes.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+            assertEquals(0, transport.getPendingFrames());
+
+            var deadline = System.currentTimeMillis() + 5000;
+            while (server.received.size() < 200 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(200, server.received.size());
+            // frames of one writer arrive in the order written
+            for (int w = 0; w < 4; w++) {
+                var prefix = "{\"writer\":" + w + ",";
+                var frames = server.received.stream().filter(m -> m.startsWith(prefix)).toList();
+                for (int i = 0; i < 50; i++) {
+                    assertEquals(prefix + "\"frame\":" + i + "}", frames.get(i));
+                }
+            }
+        } finally {
+            transport.closeBlocking();
+            server.stop(1000);
+        }
+    }
+
+    private static String peerConnected(String peer) {
+        return "{\"peer\":\"" + peer + "\",\"seq\":1,\"tag\":\"PeerConnected\",\"timestamp\":\"2023-10-18T09:35:41.426712549Z\"}";
+    }
+
+    // greets every connection and answers every request, the greeting is split into fragments
+    private static class AnsweringServer extends WebSocketServer {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        private final String greetings;
+
+        private final int answers;
+
+        private final String answer;
+
+        private volatile WebSocket connection;
+
+        private AnsweringServer(String greetings) {
+            this(greetings, 1, PEER_CONNECTED);
+        }
+
+        private AnsweringServer(String greetings, int answers, String answer) {
+            super(new InetSocketAddress("localhost", 0));
+            this.greetings = greetings;
+            this.answers = answers;
+            this.answer = answer;
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+            connection = conn;
+            var half = greetings.length() / 2;
+            conn.sendFragmentedFrame(Opcode.TEXT, ByteBuffer.wrap(greetings.substring(0, half).getBytes(StandardCharsets.UTF_8)), false);
+            conn.sendFragmentedFrame(Opcode.TEXT, ByteBuffer.wrap(greetings.substring(half).getBytes(StandardCharsets.UTF_8)), true);
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+            received.add(message);
+            for (int i = 0; i < answers; i++) {
+                conn.send(answer);
+            }
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+
+    }
+
+}
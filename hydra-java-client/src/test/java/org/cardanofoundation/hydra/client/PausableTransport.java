@@ -0,0 +1,57 @@
+package org.cardanofoundation.hydra.client;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+// records whether reading is paused
+class PausableTransport implements HydraTransport {
+
+    volatile boolean paused;
+
+    @Override
+    public void pauseReading() {
+        paused = true;
+    }
+
+    @Override
+    public void resumeReading() {
+        paused = false;
+    }
+
+    @Override
+    public void connect() {
+    }
+
+    @Override
+    public boolean connectBlocking(long time, TimeUnit timeUnit) {
+        return true;
+    }
+
+    @Override
+    public void close(int code, String reason) {
+    }
+
+    @Override
+    public void closeBlocking() {
+    }
+
+    @Override
+    public boolean isOpen() {
+        return true;
+    }
+
+    @Override
+    public boolean isClosing() {
+        return false;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+
+    @Override
+    public void send(ByteBuffer payload) {
+    }
+
+}
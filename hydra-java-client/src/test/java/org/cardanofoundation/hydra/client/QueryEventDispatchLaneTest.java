@@ -0,0 +1,160 @@
+package org.cardanofoundation.hydra.client;
+
+import org.cardanofoundation.hydra.client.HydraClientOptions.OverflowPolicy;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.cardanofoundation.hydra.core.model.query.response.RolledbackResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryEventDispatchLaneTest {
+
+    @Test
+    public void slowListenerDoesNotHoldUpProducer() throws Exception {
+        var listener = new GatedListener();
+        var lane = new QueryEventDispatchLane(listener, 16, OverflowPolicy.BLOCK);
+
+        for (int seq = 1; seq <= 10; seq++) {
+            lane.onResponse(new RolledbackResponse(seq, null));
+        }
+        assertTrue(listener.entered.await(5, TimeUnit.SECONDS));
+        assertEquals(10, lane.getPendingEvents());
+        assertEquals(10, lane.getSeqLag());
+
+        listener.gate.countDown();
+        awaitDelivered(lane);
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), listener.seqs);
+        assertEquals(10, listener.successes.size());
+        assertEquals(10, lane.getDeliveredEvents());
+        assertEquals(10, lane.getLastDeliveredSeq());
+        assertEquals(0, lane.getSeqLag());
+        assertEquals(0, lane.getLagMillis());
+    }
+
+    @Test
+    public void dropsOldestWhenFull() throws Exception {
+        var listener = new GatedListener();
+        var lane = new QueryEventDispatchLane(listener, 2, OverflowPolicy.DROP_OLDEST);
+
+        lane.onResponse(new RolledbackResponse(1, null));
+        assertTrue(listener.entered.await(5, TimeUnit.SECONDS));
+        for (int seq = 2; seq <= 5; seq++) {
+            lane.onResponse(new RolledbackResponse(seq, null));
+        }
+
+        listener.gate.countDown();
+        awaitDelivered(lane);
+
+        assertEquals(List.of(1, 4, 5), listener.seqs);
+        assertEquals(2, lane.getDroppedEvents());
+        assertFalse(lane.isFailed());
+    }
+
+    @Test
+    public void failsLaneWhenFull() throws Exception {
+        var listener = new GatedListener();
+        var lane = new QueryEventDispatchLane(listener, 1, OverflowPolicy.FAIL);
+
+        lane.onResponse(new RolledbackResponse(1, null));
+        assertTrue(listener.entered.await(5, TimeUnit.SECONDS));
+        lane.onResponse(new RolledbackResponse(2, null));
+        lane.onResponse(new RolledbackResponse(3, null));
+        lane.onResponse(new RolledbackResponse(4, null));
+
+        assertTrue(lane.isFailed());
+        listener.gate.countDown();
+        awaitDelivered(lane);
+
+        assertEquals(List.of(1), listener.seqs);
+        assertEquals(3, lane.getDroppedEvents());
+    }
+
+    @Test
+    public void pausesReadingWhileFull() throws Exception {
+        var listener = new GatedListener();
+        var transport = new PausableTransport();
+        var readBackpressure = new ReadBackpressure(() -> transport);
+        var lane = new QueryEventDispatchLane(listener, 4, OverflowPolicy.BLOCK, readBackpressure);
+
+        lane.onResponse(new RolledbackResponse(1, null));
+        assertTrue(listener.entered.await(5, TimeUnit.SECONDS));
+        for (int seq = 2; seq <= 4; seq++) {
+            lane.onResponse(new RolledbackResponse(seq, null));
+        }
+        assertFalse(transport.paused);
+
+        lane.onResponse(new RolledbackResponse(5, null));
+        assertTrue(transport.paused);
+        assertTrue(lane.isHoldingReads());
+        assertTrue(readBackpressure.isPaused());
+
+        listener.gate.countDown();
+        awaitDelivered(lane);
+
+        assertFalse(transport.paused);
+        assertFalse(lane.isHoldingReads());
+        assertEquals(1, readBackpressure.getPauses());
+        assertEquals(List.of(1, 2, 3, 4, 5), listener.seqs);
+    }
+
+    @Test
+    public void neverStaysPausedOnceDrained() throws Exception {
+        var transport = new PausableTransport();
+        var readBackpressure = new ReadBackpressure(() -> transport);
+        // a single slot lane races holding against the lane thread taking the only response
+        var lane = new QueryEventDispatchLane(new HydraQueryEventListener.Stub(), 1, OverflowPolicy.BLOCK, readBackpressure);
+
+        for (int seq = 1; seq <= 20_000; seq++) {
+            lane.onResponse(new RolledbackResponse(seq, null));
+        }
+        awaitDelivered(lane);
+
+        assertFalse(lane.isHoldingReads());
+        assertFalse(readBackpressure.isPaused());
+        assertFalse(transport.paused);
+    }
+
+    private static void awaitDelivered(QueryEventDispatchLane lane) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lane.getPendingEvents() > 0) {
+            assertTrue(System.nanoTime() < deadline, "responses not delivered in time");
+            Thread.sleep(1);
+        }
+    }
+
+    // holds the first response until the gate opens
+    private static class GatedListener extends HydraQueryEventListener.Stub {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        private final List<Integer> seqs = new CopyOnWriteArrayList<>();
+
+        private final List<Integer> successes = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onResponse(Response response) {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            seqs.add(response.getSeq());
+        }
+
+        @Override
+        public void onSuccess(Response response) {
+            successes.add(response.getSeq());
+        }
+
+    }
+
+}
@@ -0,0 +1,163 @@
+package org.cardanofoundation.hydra.client;
+
+import org.cardanofoundation.hydra.core.model.query.request.GetUTxORequest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestWriterTest {
+
+    @Test
+    public void flushesOnceQueueIsDrainedWithoutLinger() {
+        var transport = new CountingTransport();
+        var writer = new RequestWriter(() -> transport, RequestWriter.DEFAULT_FLUSH_THRESHOLD, Duration.ZERO);
+
+        for (int i = 0; i < 3; i++) {
+            writer.write(new GetUTxORequest());
+        }
+
+        assertEquals(3, transport.writes.get());
+        assertEquals(3, transport.flushes.get());
+    }
+
+    @Test
+    public void lingerCoalescesRequestsOfOtherProducersIntoOneFlush() throws Exception {
+        var transport = new CountingTransport();
+        var writer = new RequestWriter(() -> transport, RequestWriter.DEFAULT_FLUSH_THRESHOLD, Duration.ofMillis(500));
+
+        // becomes the writer and lingers after its own request
+        var lingering = new Thread(() -> writer.write(new GetUTxORequest()));
+        lingering.start();
+        while (transport.writes.get() == 0) {
+            Thread.onSpinWait();
+        }
+        for (int i = 0; i < 9; i++) {
+            writer.write(new GetUTxORequest());
+        }
+        lingering.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(10, transport.writes.get());
+        assertEquals(1, transport.flushes.get());
+        assertEquals(1, writer.getFlushes());
+    }
+
+    @Test
+    public void flushThresholdEndsLingering() {
+        var transport = new CountingTransport();
+        var writer = new RequestWriter(() -> transport, 1, Duration.ofSeconds(10));
+
+        var start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            writer.write(new GetUTxORequest());
+        }
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(3, transport.flushes.get());
+    }
+
+    @Test
+    public void completesRequestOnceFlushedOrFailed() {
+        var transport = new CountingTransport();
+        var writer = new RequestWriter(() -> transport, RequestWriter.DEFAULT_FLUSH_THRESHOLD, Duration.ZERO);
+
+        var written = writer.write(new GetUTxORequest());
+        transport.failWrites = true;
+        var failed = writer.write(new GetUTxORequest());
+
+        assertNull(written.getNow(null));
+        var failure = assertThrows(CompletionException.class, () -> failed.getNow(null));
+        assertEquals("write failed", failure.getCause().getMessage());
+        assertEquals(1, writer.getWrittenRequests());
+        assertEquals(1, writer.getFailedRequests());
+    }
+
+    @Test
+    public void completesRequestOnceTransportSentIt() {
+        var transport = new CountingTransport();
+        var writer = new RequestWriter(() -> transport, RequestWriter.DEFAULT_FLUSH_THRESHOLD, Duration.ZERO);
+        transport.sending = new CompletableFuture<>();
+
+        var request = writer.write(new GetUTxORequest());
+        assertFalse(request.isDone());
+
+        transport.sending.completeExceptionally(new IllegalStateException("send failed"));
+
+        var failure = assertThrows(CompletionException.class, () -> request.getNow(null));
+        assertEquals("send failed", failure.getCause().getMessage());
+        assertEquals(1, writer.getFailedRequests());
+    }
+
+    private static class CountingTransport implements HydraTransport {
+
+        private final AtomicInteger writes = new AtomicInteger();
+
+        private final AtomicInteger flushes = new AtomicInteger();
+
+        private volatile boolean failWrites;
+
+        // completes the frames of every flush
+        private volatile CompletableFuture<Void> sending = CompletableFuture.completedFuture(null);
+
+        @Override
+        public void connect() {
+        }
+
+        @Override
+        public boolean connectBlocking(long time, TimeUnit timeUnit) {
+            return true;
+        }
+
+        @Override
+        public void close(int code, String reason) {
+        }
+
+        @Override
+        public void closeBlocking() {
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public boolean isClosing() {
+            return false;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return false;
+        }
+
+        @Override
+        public void send(ByteBuffer payload) {
+            write(payload);
+            flush();
+        }
+
+        @Override
+        public void write(ByteBuffer payload) {
+            if (failWrites) {
+                throw new IllegalStateException("write failed");
+            }
+            writes.incrementAndGet();
+        }
+
+        @Override
+        public CompletableFuture<Void> flush() {
+            flushes.incrementAndGet();
+
+            return sending;
+        }
+
+    }
+
+}
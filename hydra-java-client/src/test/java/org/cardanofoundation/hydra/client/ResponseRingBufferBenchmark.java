@@ -0,0 +1,153 @@
+package org.cardanofoundation.hydra.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.cardanofoundation.hydra.core.model.query.response.RolledbackResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares delivering responses to three consumers through synchronous listeners, asynchronous listener lanes
+ * and the response ring buffer.
+ *
+ * Tagged benchmark, not part of the regular test run, execute with:
+ * mvn -Pbenchmarks -pl hydra-java-client -am test -Dtest=ResponseRingBufferBenchmark
+ */
+@Slf4j
+@Tag("benchmark")
+class ResponseRingBufferBenchmark {
+
+    private static final int CONSUMERS = 3;
+
+    private static final int RESPONSES = 2_000_000;
+
+    private static final int WARMUP_ROUNDS = 3;
+
+    private static final Response[] POOL = new Response[1024];
+
+    static {
+        for (int i = 0; i < POOL.length; i++) {
+            POOL[i] = new RolledbackResponse(i, null);
+        }
+    }
+
+    @Test
+    public void deliverToConsumers() throws Exception {
+        var listeners = measure(ResponseRingBufferBenchmark::listeners);
+        var lanes = measure(ResponseRingBufferBenchmark::lanes);
+        var ring = measure(ResponseRingBufferBenchmark::ring);
+
+        log.info("{} responses to {} consumers, synchronous listeners: {} ns/op, listener lanes: {} ns/op, ring buffer: {} ns/op",
+                RESPONSES, CONSUMERS, listeners, lanes, ring);
+    }
+
+    private static long listeners() {
+        var consumed = new AtomicLong();
+        var listeners = new CopyOnWriteArrayList<HydraQueryEventListener>();
+        for (int i = 0; i < CONSUMERS; i++) {
+            listeners.add(new CountingListener(consumed));
+        }
+
+        for (int i = 0; i < RESPONSES; i++) {
+            var response = POOL[i & (POOL.length - 1)];
+            for (var listener : listeners) {
+                listener.onResponse(response);
+                listener.onSuccess(response);
+            }
+        }
+
+        return consumed.get();
+    }
+
+    private static long lanes() throws InterruptedException {
+        var consumed = new AtomicLong();
+        var lanes = new ArrayList<QueryEventDispatchLane>();
+        for (int i = 0; i < CONSUMERS; i++) {
+            lanes.add(new QueryEventDispatchLane(new CountingListener(consumed)));
+        }
+
+        for (int i = 0; i < RESPONSES; i++) {
+            var response = POOL[i & (POOL.length - 1)];
+            for (var lane : lanes) {
+                lane.onResponse(response);
+                lane.onSuccess(response);
+            }
+        }
+        while (consumed.get() < (long) RESPONSES * CONSUMERS) {
+            Thread.onSpinWait();
+        }
+        lanes.forEach(QueryEventDispatchLane::close);
+
+        return consumed.get();
+    }
+
+    private static long ring() throws InterruptedException {
+        var consumed = new AtomicLong();
+        var ring = new ResponseRingBuffer(ResponseRingBuffer.DEFAULT_CAPACITY);
+        var consumers = new ArrayList<Thread>();
+        for (int i = 0; i < CONSUMERS; i++) {
+            var subscriber = ring.subscribe();
+            var consumer = new Thread(() -> {
+                long handled = 0;
+                try {
+                    while (handled < RESPONSES) {
+                        handled += subscriber.poll((response, sequence, endOfBatch) -> {}, 1, TimeUnit.SECONDS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                consumed.addAndGet(handled);
+            });
+            consumer.start();
+            consumers.add(consumer);
+        }
+
+        for (int i = 0; i < RESPONSES; i++) {
+            ring.publish(POOL[i & (POOL.length - 1)]);
+        }
+        for (var consumer : consumers) {
+            consumer.join();
+        }
+
+        return consumed.get();
+    }
+
+    private static long measure(Run run) throws Exception {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            run.run();
+        }
+        var start = System.nanoTime();
+        assertEquals((long) RESPONSES * CONSUMERS, run.run());
+
+        return (System.nanoTime() - start) / RESPONSES;
+    }
+
+    private interface Run {
+
+        long run() throws Exception;
+
+    }
+
+    private static class CountingListener extends HydraQueryEventListener.Stub {
+
+        private final AtomicLong consumed;
+
+        private CountingListener(AtomicLong consumed) {
+            this.consumed = consumed;
+        }
+
+        @Override
+        public void onResponse(Response response) {
+            consumed.incrementAndGet();
+        }
+
+    }
+
+}
@@ -0,0 +1,130 @@
+package org.cardanofoundation.hydra.client;
+
+import org.cardanofoundation.hydra.core.model.query.response.RolledbackResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseRingBufferTest {
+
+    @Test
+    public void subscribersReadInBatchesAtTheirOwnPace() {
+        var ring = new ResponseRingBuffer(6);
+        assertEquals(8, ring.getCapacity());
+
+        var fast = ring.subscribe();
+        var slow = ring.subscribe();
+
+        var fastSeqs = new ArrayList<Integer>();
+        var batchEnds = new ArrayList<Long>();
+        for (int seq = 1; seq <= 3; seq++) {
+            ring.publish(new RolledbackResponse(seq, null));
+        }
+        assertEquals(3, fast.poll((response, sequence, endOfBatch) -> {
+            fastSeqs.add(response.getSeq());
+            if (endOfBatch) {
+                batchEnds.add(sequence);
+            }
+        }));
+        for (int seq = 4; seq <= 8; seq++) {
+            ring.publish(new RolledbackResponse(seq, null));
+        }
+        assertEquals(5, fast.poll((response, sequence, endOfBatch) -> fastSeqs.add(response.getSeq())));
+        assertEquals(0, fast.poll((response, sequence, endOfBatch) -> fail()));
+
+        var slowSeqs = new ArrayList<Integer>();
+        assertEquals(8, slow.getLag());
+        assertEquals(8, slow.poll((response, sequence, endOfBatch) -> slowSeqs.add(response.getSeq())));
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8), fastSeqs);
+        assertEquals(fastSeqs, slowSeqs);
+        assertEquals(List.of(2L), batchEnds);
+        assertEquals(7, slow.getSequence());
+        assertEquals(0, slow.getLag());
+    }
+
+    @Test
+    public void producerWaitsForSlowestSubscriber() throws Exception {
+        var ring = new ResponseRingBuffer(8);
+        var subscriber = ring.subscribe();
+        var closed = ring.subscribe();
+        closed.close();
+        var count = 100_000;
+
+        var producer = new Thread(() -> {
+            for (int seq = 0; seq < count; seq++) {
+                ring.publish(new RolledbackResponse(seq, null));
+            }
+        });
+        producer.start();
+
+        var seqs = new ArrayList<Integer>(count);
+        while (seqs.size() < count) {
+            subscriber.poll((response, sequence, endOfBatch) -> {
+                assertEquals(sequence, response.getSeq());
+                seqs.add(response.getSeq());
+            }, 5, TimeUnit.SECONDS);
+        }
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+
+        for (int seq = 0; seq < count; seq++) {
+            assertEquals(seq, seqs.get(seq));
+        }
+        assertEquals(0, subscriber.getLag());
+    }
+
+    @Test
+    public void holdsReadingWhileThreeQuartersFull() {
+        var transport = new PausableTransport();
+        var readBackpressure = new ReadBackpressure(() -> transport);
+        var ring = new ResponseRingBuffer(8, readBackpressure);
+        var fast = ring.subscribe();
+        var slow = ring.subscribe();
+
+        for (int seq = 0; seq < 6; seq++) {
+            ring.publish(new RolledbackResponse(seq, null));
+        }
+        fast.poll((response, sequence, endOfBatch) -> {});
+        assertFalse(transport.paused);
+
+        ring.publish(new RolledbackResponse(6, null));
+        assertTrue(transport.paused);
+
+        // a response in flight still fits, reading stays held until the slowest subscriber drained the ring to half
+        ring.publish(new RolledbackResponse(7, null));
+        fast.poll((response, sequence, endOfBatch) -> {});
+        assertTrue(transport.paused);
+        slow.poll((response, sequence, endOfBatch) -> {});
+        assertFalse(transport.paused);
+        assertEquals(1, readBackpressure.getPauses());
+    }
+
+    @Test
+    public void closingSubscriberReleasesReading() {
+        var transport = new PausableTransport();
+        var ring = new ResponseRingBuffer(4, new ReadBackpressure(() -> transport));
+        var subscriber = ring.subscribe();
+
+        for (int seq = 0; seq < 4; seq++) {
+            ring.publish(new RolledbackResponse(seq, null));
+        }
+        assertTrue(transport.paused);
+
+        subscriber.close();
+
+        assertFalse(transport.paused);
+    }
+
+    @Test
+    public void pollTimesOutWithoutResponses() throws Exception {
+        var ring = new ResponseRingBuffer(4);
+        var subscriber = ring.subscribe();
+
+        assertEquals(0, subscriber.poll((response, sequence, endOfBatch) -> fail(), 10, TimeUnit.MILLISECONDS));
+    }
+
+}
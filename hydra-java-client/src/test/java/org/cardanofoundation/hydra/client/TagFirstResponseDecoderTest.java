@@ -0,0 +1,174 @@
+package org.cardanofoundation.hydra.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.cardanofoundation.hydra.core.model.HydraState;
+import org.cardanofoundation.hydra.core.model.LazyUTxOMap;
+import org.cardanofoundation.hydra.core.model.Tag;
+import org.cardanofoundation.hydra.core.model.query.response.GreetingsResponse;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.cardanofoundation.hydra.core.model.query.response.SnapshotConfirmed;
+import org.cardanofoundation.hydra.core.model.query.response.TxValidResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagFirstResponseDecoderTest {
+
+    // hydra-node sorts the keys alphabetically, so the tag is somewhere in the middle of the message
+    private final static String SNAPSHOT_CONFIRMED = "{\"headId\":\"84e657e3dd5241caac75b749195f78684023583736cc08b2896290ab\",\"seq\":7,\"snapshot\":{\"confirmedTransactions\":[\"8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7\"],\"snapshotNumber\":3,\"utxo\":{\"8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7#0\":{\"address\":\"addr_test1vp0yug22dtwaxdcjdvaxr74dthlpunc57cm639578gz7algset3fh\",\"datum\":null,\"datumhash\":null,\"inlineDatum\":null,\"referenceScript\":null,\"value\":{\"lovelace\":50000000}}}},\"tag\":\"SnapshotConfirmed\",\"timestamp\":\"2023-10-18T09:35:50.126712549Z\"}";
+
+    private final static String GREETINGS = "{\"headStatus\":\"Idle\",\"hydraNodeVersion\":\"0.13.0-d8a8f1a9\",\"me\":{\"vkey\":\"b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb\"},\"seq\":0,\"tag\":\"Greetings\",\"timestamp\":\"2023-10-18T09:35:40.426712549Z\"}";
+
+    private final static String TX_VALID_TAG_FIRST = "{\"tag\":\"TxValid\",\"headId\":\"84e657e3dd5241caac75b749195f78684023583736cc08b2896290ab\",\"seq\":6,\"timestamp\":\"2023-10-18T09:35:49.126712549Z\",\"transaction\":{\"id\":\"8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7\",\"isValid\":true}}";
+
+    private final static String UNSUPPORTED = "{\"seq\":8,\"tag\":\"SomethingNew\",\"timestamp\":\"2023-10-18T09:35:50.126712549Z\"}";
+
+    @Test
+    public void decodesMessageWithPrecedingFieldsLikeTreeDecoder() {
+        var streaming = (SnapshotConfirmed) new TagFirstResponseDecoder(new ResponseTagHandlers()).decode(SNAPSHOT_CONFIRMED).orElseThrow();
+        var tree = (SnapshotConfirmed) new TreeResponseDecoder(new ResponseTagHandlers()).decode(SNAPSHOT_CONFIRMED).orElseThrow();
+
+        assertEquals(Tag.SnapshotConfirmed, streaming.getTag());
+        assertEquals(tree.getSeq(), streaming.getSeq());
+        assertEquals(tree.getHeadId(), streaming.getHeadId());
+        assertEquals(tree.getTimestamp(), streaming.getTimestamp());
+        assertEquals(3, streaming.getSnapshot().getSnapshotNumber());
+        assertEquals(tree.getSnapshot().getConfirmedTransactions(), streaming.getSnapshot().getConfirmedTransactions());
+
+        var utxo = streaming.getSnapshot().getUtxo().get("8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7#0");
+        assertNotNull(utxo);
+        assertEquals("addr_test1vp0yug22dtwaxdcjdvaxr74dthlpunc57cm639578gz7algset3fh", utxo.getAddress());
+        assertEquals(BigInteger.valueOf(50000000), utxo.getValue().get("lovelace"));
+        assertEquals(tree.getSnapshot().getUtxo().keySet(), streaming.getSnapshot().getUtxo().keySet());
+    }
+
+    @Test
+    public void snapshotUtxoIsDecodedOnDemand() {
+        var decoder = new TagFirstResponseDecoder(new ResponseTagHandlers());
+
+        var snapshotConfirmed = (SnapshotConfirmed) decoder.decode(SNAPSHOT_CONFIRMED).orElseThrow();
+        var utxo = (LazyUTxOMap) snapshotConfirmed.getSnapshot().getUtxo();
+
+        assertEquals(1, utxo.size());
+        assertTrue(utxo.containsKey("8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7#0"));
+        assertEquals(0, utxo.decodedCount());
+
+        var first = utxo.get("8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7#0");
+
+        assertEquals(1, utxo.decodedCount());
+        assertSame(first, utxo.values().iterator().next());
+    }
+
+    @Test
+    public void doesNotBufferSnapshotPrecedingTag() throws Exception {
+        var utxo = new StringJoiner(",", "{", "}");
+        for (int i = 0; i < 100; i++) {
+            utxo.add("\"8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7#" + i + "\":{\"address\":\"addr1\",\"value\":{\"lovelace\":" + i + "}}");
+        }
+        var message = "{\"headId\":\"84e657e3dd5241caac75b749195f78684023583736cc08b2896290ab\",\"seq\":7,\"snapshot\":{\"confirmedTransactions\":[],\"snapshotNumber\":3,\"utxo\":" + utxo + "},\"tag\":\"SnapshotConfirmed\",\"timestamp\":\"2023-10-18T09:35:50.126712549Z\"}";
+        var buffers = new ArrayList<TokenBuffer>();
+        var decoder = new TagFirstResponseDecoder(new ResponseTagHandlers()) {
+            @Override
+            TokenBuffer createBuffer(JsonParser parser) {
+                var buffer = super.createBuffer(parser);
+                buffers.add(buffer);
+                return buffer;
+            }
+        };
+
+        var snapshotConfirmed = (SnapshotConfirmed) decoder.decode(message).orElseThrow();
+
+        // headId, seq and the decoded snapshot, none of the UTxO entries
+        assertEquals(1, buffers.size());
+        var tokens = 0;
+        try (var parser = buffers.get(0).asParser()) {
+            while (parser.nextToken() != null) {
+                tokens++;
+            }
+        }
+        assertTrue(tokens <= 8, "buffered tokens: " + tokens);
+        var snapshotUtxo = (LazyUTxOMap) snapshotConfirmed.getSnapshot().getUtxo();
+        assertEquals(100, snapshotUtxo.size());
+        assertEquals(0, snapshotUtxo.decodedCount());
+        assertEquals(BigInteger.valueOf(42), snapshotUtxo.get("8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7#42").getValue().get("lovelace"));
+        assertEquals(3, snapshotConfirmed.getSnapshot().getSnapshotNumber());
+        assertEquals(7, snapshotConfirmed.getSeq());
+    }
+
+    @Test
+    public void decodesGreetingsWithSnapshotUtxoPrecedingTag() {
+        var decoder = new TagFirstResponseDecoder(new ResponseTagHandlers());
+        var message = GREETINGS.replace("\"seq\":0,", "\"seq\":0,\"snapshotUtxo\":{\"8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7#0\":{\"address\":\"addr1\",\"value\":{\"lovelace\":1}}},");
+
+        var greetings = (GreetingsResponse) decoder.decode(message).orElseThrow();
+
+        assertTrue(greetings.isSnapshotUtxoPresent());
+        assertInstanceOf(LazyUTxOMap.class, greetings.getSnapshotUtxo());
+        assertEquals("addr1", greetings.getSnapshotUtxo().get("8b9d1ad2d8b6cb7a2a2cbc2a8c8d5d1b8a3c6b84b2d9e0a4d0b3e2c1f0a9b8c7#0").getAddress());
+    }
+
+    @Test
+    public void decodesMessageWithTagFirst() {
+        var decoder = new TagFirstResponseDecoder(new ResponseTagHandlers());
+
+        var txValid = (TxValidResponse) decoder.decode(TX_VALID_TAG_FIRST).orElseThrow();
+
+        assertEquals(6, txValid.getSeq());
+        assertTrue(txValid.getTransaction().get("isValid").asBoolean());
+    }
+
+    @Test
+    public void decodesGreetingsWithoutSnapshotUtxo() {
+        var decoder = new TagFirstResponseDecoder(new ResponseTagHandlers());
+
+        var greetings = (GreetingsResponse) decoder.decode(GREETINGS).orElseThrow();
+
+        assertEquals(HydraState.Idle, greetings.getHeadStatus());
+        assertEquals("b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb", greetings.getMe().getVkey());
+        assertTrue(greetings.getSnapshotUtxo().isEmpty());
+        assertFalse(greetings.isSnapshotUtxoPresent());
+    }
+
+    @Test
+    public void unsupportedTagIsSkipped() {
+        var decoder = new TagFirstResponseDecoder(new ResponseTagHandlers());
+
+        assertTrue(decoder.decode(UNSUPPORTED).isEmpty());
+    }
+
+    @Test
+    public void unwantedTagIsSkippedAfterReadingTheTag() {
+        var decoder = new TagFirstResponseDecoder(new ResponseTagHandlers());
+        // the rest of the message is never read, so it does not even need to be valid json
+        var truncated = TX_VALID_TAG_FIRST.substring(0, TX_VALID_TAG_FIRST.indexOf("\"transaction\"") + 20);
+
+        assertTrue(decoder.decode(truncated, EnumSet.of(Tag.SnapshotConfirmed)).isEmpty());
+        assertTrue(decoder.decode(SNAPSHOT_CONFIRMED, EnumSet.of(Tag.Greetings)).isEmpty());
+        assertTrue(decoder.decode(SNAPSHOT_CONFIRMED, EnumSet.of(Tag.SnapshotConfirmed)).isPresent());
+    }
+
+    @Test
+    public void filteredListenerReceivesOnlyWantedTags() {
+        var decoder = new TagFirstResponseDecoder(new ResponseTagHandlers());
+        var received = new ArrayList<Tag>();
+        var listener = new TagFilteredQueryEventListener(new HydraQueryEventListener.Stub() {
+            @Override
+            public void onResponse(Response response) {
+                received.add(response.getTag());
+            }
+        }, EnumSet.of(Tag.TxValid));
+
+        listener.onResponse(decoder.decode(SNAPSHOT_CONFIRMED).orElseThrow());
+        listener.onResponse(decoder.decode(TX_VALID_TAG_FIRST).orElseThrow());
+
+        assertEquals(List.of(Tag.TxValid), received);
+    }
+
+}
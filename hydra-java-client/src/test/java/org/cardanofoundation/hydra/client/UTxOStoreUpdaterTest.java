@@ -0,0 +1,138 @@
+package org.cardanofoundation.hydra.client;
+
+import org.cardanofoundation.hydra.core.model.Snapshot;
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.cardanofoundation.hydra.core.model.query.response.GreetingsResponse;
+import org.cardanofoundation.hydra.core.model.query.response.HeadIsOpenResponse;
+import org.cardanofoundation.hydra.core.model.query.response.RolledbackResponse;
+import org.cardanofoundation.hydra.core.model.query.response.SnapshotConfirmed;
+import org.cardanofoundation.hydra.core.store.UTxODelta;
+import org.cardanofoundation.hydra.core.store.UTxOStore;
+import org.cardanofoundation.hydra.core.store.VersionedUTxOStore;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UTxOStoreUpdaterTest {
+
+    private static Map<String, UTXO> utxo(String txIn) {
+        return Map.of(txIn, UTXO.builder().address("addr1").value(Map.of("lovelace", BigInteger.ONE)).build());
+    }
+
+    private static SnapshotConfirmed snapshotConfirmed(int seq, int snapshotNumber, Map<String, UTXO> utxo) {
+        var snapshot = new Snapshot();
+        snapshot.setSnapshotNumber(snapshotNumber);
+        snapshot.setUtxo(utxo);
+        snapshot.setConfirmedTransactions(List.of());
+
+        return new SnapshotConfirmed("head", seq, null, snapshot);
+    }
+
+    @Test
+    public void appliesEverySnapshotOnceAndInOrder() {
+        var store = new RecordingUTxOStore();
+        var updater = new UTxOStoreUpdater(store);
+
+        updater.onResponse(new HeadIsOpenResponse("head", utxo("a#0"), 1, null));
+        updater.onResponse(snapshotConfirmed(2, 1, utxo("b#0")));
+        updater.onResponse(snapshotConfirmed(3, 1, utxo("b#0")));
+        updater.onResponse(snapshotConfirmed(4, 3, utxo("d#0")));
+        updater.onResponse(snapshotConfirmed(5, 2, utxo("c#0")));
+
+        assertEquals(List.of(0, 1, 3), store.applied);
+        assertEquals(utxo("d#0").keySet(), store.getLatestUTxO().keySet());
+        assertEquals(3, updater.getLastSnapshotNumber());
+    }
+
+    @Test
+    public void keepsSkippingOlderSnapshotsAfterRollback() {
+        var store = new RecordingUTxOStore();
+        var updater = new UTxOStoreUpdater(store);
+
+        updater.onResponse(snapshotConfirmed(1, 5, utxo("a#0")));
+        updater.onResponse(new RolledbackResponse(2, null));
+        updater.onResponse(snapshotConfirmed(3, 4, utxo("b#0")));
+        updater.onResponse(snapshotConfirmed(4, 6, utxo("c#0")));
+
+        assertEquals(1, store.rollbacks);
+        assertEquals(List.of(5, 6), store.applied);
+        assertEquals(6, updater.getLastSnapshotNumber());
+    }
+
+    @Test
+    public void keepsVersionsOfSnapshotsAppliedThroughUpdater() {
+        var store = new VersionedUTxOStore();
+        var updater = new UTxOStoreUpdater(store);
+
+        updater.onResponse(new HeadIsOpenResponse("head", utxo("a#0"), 1, null));
+        updater.onResponse(snapshotConfirmed(2, 1, utxo("b#0")));
+        updater.onResponse(snapshotConfirmed(3, 2, utxo("c#0")));
+        assertEquals(Set.of(0, 1, 2), store.getSnapshotNumbers());
+
+        // a rollback does not tell the snapshot to go back to, the store only goes stale
+        updater.onResponse(new RolledbackResponse(4, null));
+        assertTrue(store.isStale());
+        assertEquals(Set.of(0, 1, 2), store.getSnapshotNumbers());
+
+        updater.onResponse(snapshotConfirmed(5, 3, utxo("d#0")));
+        assertFalse(store.isStale());
+        assertEquals(utxo("d#0").keySet(), store.getLatestUTxO().keySet());
+
+        // a newly opened head starts over at snapshot 0, versions of the previous head are dropped
+        updater.onResponse(new HeadIsOpenResponse("head2", utxo("e#0"), 6, null));
+        assertEquals(Set.of(0), store.getSnapshotNumbers());
+        assertEquals(utxo("e#0").keySet(), store.getLatestUTxO().keySet());
+    }
+
+    @Test
+    public void storesGreetingsSnapshotOnlyWhenPresent() {
+        var store = new RecordingUTxOStore();
+        var updater = new UTxOStoreUpdater(store);
+
+        updater.onResponse(new GreetingsResponse(null, 0, null, null, null, "0.13.0"));
+        assertTrue(store.applied.isEmpty());
+
+        updater.onResponse(new GreetingsResponse(null, 0, null, null, utxo("a#0"), "0.13.0"));
+        assertEquals(utxo("a#0").keySet(), store.getLatestUTxO().keySet());
+    }
+
+    private static class RecordingUTxOStore implements UTxOStore {
+
+        private final List<Integer> applied = new ArrayList<>();
+
+        private Map<String, UTXO> latest = Map.of();
+
+        private int rollbacks = 0;
+
+        @Override
+        public Map<String, UTXO> getLatestUTxO() {
+            return latest;
+        }
+
+        @Override
+        public void storeLatestUtxO(Map<String, UTXO> utxo) {
+            applySnapshot(-1, utxo);
+        }
+
+        @Override
+        public UTxODelta applySnapshot(int snapshotNumber, Map<String, UTXO> utxo) {
+            applied.add(snapshotNumber);
+            latest = utxo;
+
+            return UTxODelta.empty(snapshotNumber);
+        }
+
+        @Override
+        public void rollback() {
+            rollbacks++;
+        }
+
+    }
+
+}
@@ -0,0 +1,159 @@
+package org.cardanofoundation.hydra.core.model;
+
+import lombok.val;
+import org.cardanofoundation.hydra.core.utils.StringInterner;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Read-only value (unit -> quantity) of an output, stored compactly: lovelace as a primitive long,
+ * other units as interned strings next to a packed array of unsigned 64-bit quantities.
+ *
+ * Quantities are only boxed into BigInteger when they are read.
+ */
+public final class CompactValue extends AbstractMap<String, BigInteger> {
+
+    public static final String LOVELACE = "lovelace";
+
+    // outputs never hold negative lovelace
+    private static final long NO_LOVELACE = -1;
+
+    private static final String[] NO_UNITS = new String[0];
+
+    private static final long[] NO_QUANTITIES = new long[0];
+
+    private final long lovelace;
+
+    private final String[] units;
+
+    private final long[] quantities;
+
+    private CompactValue(long lovelace, String[] units, long[] quantities) {
+        this.lovelace = lovelace;
+        this.units = units;
+        this.quantities = quantities;
+    }
+
+    /**
+     * Compacts the given value, values with quantities out of the unsigned 64-bit range are returned as they are.
+     *
+     * @param value - unit -> quantity
+     * @return compacted value
+     */
+    public static Map<String, BigInteger> of(Map<String, BigInteger> value) {
+        if (value == null || value instanceof CompactValue) {
+            return value;
+        }
+
+        long lovelace = NO_LOVELACE;
+        val otherUnits = value.size() - (value.containsKey(LOVELACE) ? 1 : 0);
+        val units = otherUnits == 0 ? NO_UNITS : new String[otherUnits];
+        val quantities = otherUnits == 0 ? NO_QUANTITIES : new long[otherUnits];
+
+        int i = 0;
+        for (val entry : value.entrySet()) {
+            val quantity = entry.getValue();
+            if (quantity == null || quantity.signum() < 0 || quantity.bitLength() > Long.SIZE) {
+                return value;
+            }
+            if (LOVELACE.equals(entry.getKey())) {
+                if (quantity.bitLength() == Long.SIZE) {
+                    return value;
+                }
+                lovelace = quantity.longValue();
+                continue;
+            }
+            units[i] = StringInterner.shared().intern(entry.getKey());
+            quantities[i] = quantity.longValue();
+            i++;
+        }
+
+        return new CompactValue(lovelace, units, quantities);
+    }
+
+    /**
+     * @return lovelace amount without boxing, 0 if the value holds no lovelace
+     */
+    public long lovelace() {
+        return lovelace == NO_LOVELACE ? 0 : lovelace;
+    }
+
+    @Override
+    public int size() {
+        return units.length + (lovelace == NO_LOVELACE ? 0 : 1);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (LOVELACE.equals(key)) {
+            return lovelace != NO_LOVELACE;
+        }
+
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public BigInteger get(Object key) {
+        if (LOVELACE.equals(key)) {
+            return lovelace == NO_LOVELACE ? null : BigInteger.valueOf(lovelace);
+        }
+        val index = indexOf(key);
+
+        return index < 0 ? null : unsigned(quantities[index]);
+    }
+
+    @Override
+    public Set<Entry<String, BigInteger>> entrySet() {
+        return new AbstractSet<>() {
+
+            @Override
+            public Iterator<Entry<String, BigInteger>> iterator() {
+                return new Iterator<>() {
+
+                    // -1 stands for lovelace
+                    private int position = lovelace == NO_LOVELACE ? 0 : -1;
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < units.length;
+                    }
+
+                    @Override
+                    public Entry<String, BigInteger> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        val current = position++;
+                        if (current < 0) {
+                            return new SimpleImmutableEntry<>(LOVELACE, BigInteger.valueOf(lovelace));
+                        }
+
+                        return new SimpleImmutableEntry<>(units[current], unsigned(quantities[current]));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactValue.this.size();
+            }
+
+        };
+    }
+
+    private int indexOf(Object unit) {
+        for (int i = 0; i < units.length; i++) {
+            if (units[i].equals(unit)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static BigInteger unsigned(long quantity) {
+        return quantity >= 0 ? BigInteger.valueOf(quantity) : BigInteger.valueOf(quantity & Long.MAX_VALUE).setBit(Long.SIZE - 1);
+    }
+
+}
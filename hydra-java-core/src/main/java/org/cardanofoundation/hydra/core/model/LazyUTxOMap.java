@@ -0,0 +1,161 @@
+package org.cardanofoundation.hydra.core.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.val;
+import org.cardanofoundation.hydra.core.utils.MoreJson;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Read-only UTxO map which keeps every entry in its buffered (token) form and decodes it into UTXO
+ * only when it is accessed for the first time, decoded entries are cached.
+ *
+ * Keys, size and containment checks never trigger decoding.
+ */
+@JsonDeserialize(using = LazyUTxOMap.Deserializer.class)
+public class LazyUTxOMap extends AbstractMap<String, UTXO> {
+
+    private final Map<String, Integer> positions;
+
+    private final String[] keys;
+
+    // holds TokenBuffer until the entry is decoded and UTXO afterwards
+    private final AtomicReferenceArray<Object> values;
+
+    public LazyUTxOMap(List<String> keys, List<TokenBuffer> rawValues) {
+        this.positions = new LinkedHashMap<>();
+        this.values = new AtomicReferenceArray<>(keys.size());
+
+        for (int i = 0; i < keys.size(); i++) {
+            val key = keys.get(i);
+            val position = positions.computeIfAbsent(key, k -> positions.size());
+            values.set(position, rawValues.get(i));
+        }
+        this.keys = positions.keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return positions.containsKey(key);
+    }
+
+    @Override
+    public UTXO get(Object key) {
+        val position = positions.get(key);
+
+        return position == null ? null : valueAt(position);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(positions.keySet());
+    }
+
+    @Override
+    public Set<Entry<String, UTXO>> entrySet() {
+        return new AbstractSet<>() {
+
+            @Override
+            public Iterator<Entry<String, UTXO>> iterator() {
+                return new Iterator<>() {
+
+                    private int position = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < keys.length;
+                    }
+
+                    @Override
+                    public Entry<String, UTXO> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        val current = position++;
+
+                        return new SimpleImmutableEntry<>(keys[current], valueAt(current));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+
+        };
+    }
+
+    /**
+     * @return number of entries which have been decoded so far
+     */
+    public int decodedCount() {
+        int decoded = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (values.get(i) instanceof UTXO) {
+                decoded++;
+            }
+        }
+
+        return decoded;
+    }
+
+    private UTXO valueAt(int position) {
+        val value = values.get(position);
+        if (value instanceof UTXO utxo) {
+            return utxo;
+        }
+
+        val utxo = MoreJson.readValue(((TokenBuffer) value).asParser(), UTXO.class);
+        if (values.compareAndSet(position, value, utxo)) {
+            return utxo;
+        }
+
+        return (UTXO) values.get(position);
+    }
+
+    @Override
+    public String toString() {
+        // printing all entries would defeat the purpose of lazy decoding
+        return String.format("LazyUTxOMap{size:%d, decoded:%d}", size(), decodedCount());
+    }
+
+    public static class Deserializer extends JsonDeserializer<LazyUTxOMap> {
+
+        @Override
+        public LazyUTxOMap deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            // already decoded while the surrounding message was buffered
+            if (p.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT && p.getEmbeddedObject() instanceof LazyUTxOMap utxo) {
+                return utxo;
+            }
+            if (!p.isExpectedStartObjectToken()) {
+                return (LazyUTxOMap) ctxt.handleUnexpectedToken(LazyUTxOMap.class, p);
+            }
+
+            val keys = new ArrayList<String>();
+            val rawValues = new ArrayList<TokenBuffer>();
+
+            for (var fieldName = p.nextFieldName(); fieldName != null; fieldName = p.nextFieldName()) {
+                p.nextToken();
+                keys.add(fieldName);
+                rawValues.add(ctxt.bufferAsCopyOfValue(p));
+            }
+
+            return new LazyUTxOMap(keys, rawValues);
+        }
+
+    }
+
+}
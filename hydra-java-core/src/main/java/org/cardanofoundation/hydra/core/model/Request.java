@@ -1,7 +1,12 @@
 package org.cardanofoundation.hydra.core.model;
 
+import java.nio.charset.StandardCharsets;
+
 public abstract class Request {
 
+    // grows to the largest request body rendered on the thread
+    private static final ThreadLocal<RequestEncoder> BODY_ENCODER = ThreadLocal.withInitial(() -> new RequestEncoder(256));
+
     protected Tag tag;
 
     protected Request(Tag tag) {
@@ -15,4 +20,21 @@ public abstract class Request {
 
     protected abstract String getRequestBody();
 
+    /**
+     * Writes the json of the request. The default writes the json rendered by getRequestBody, requests override it
+     * to write their fields straight into the encoder.
+     *
+     * @param encoder - encoder to write to
+     */
+    protected void writeRequestBody(RequestEncoder encoder) {
+        encoder.writeJson(getRequestBody());
+    }
+
+    /**
+     * @return json written by writeRequestBody, for requests rendering getRequestBody through the encoder
+     */
+    protected final String encodeRequestBody() {
+        return StandardCharsets.UTF_8.decode(BODY_ENCODER.get().encode(this)).toString();
+    }
+
 }
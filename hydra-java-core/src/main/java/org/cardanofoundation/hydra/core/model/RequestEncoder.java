@@ -0,0 +1,187 @@
+package org.cardanofoundation.hydra.core.model;
+
+import org.cardanofoundation.hydra.core.utils.HexUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes requests as json straight into a reusable buffer, without templates or intermediate strings.
+ *
+ * The encoder is not thread safe and the returned buffer is only valid until the next encode call,
+ * it is meant to be owned by a single connection which sends the buffer before encoding the next request.
+ */
+public final class RequestEncoder {
+
+    public static final int DEFAULT_CAPACITY = 16 * 1024;
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private ByteBuffer buffer;
+
+    public RequestEncoder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity - initial capacity of the buffer, the buffer grows when a request does not fit
+     */
+    public RequestEncoder(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive!");
+        }
+        this.buffer = ByteBuffer.allocate(capacity);
+    }
+
+    /**
+     * @param request - request to encode
+     * @return buffer holding the json of the request, ready to be read
+     */
+    public ByteBuffer encode(Request request) {
+        buffer.clear();
+        request.writeRequestBody(this);
+        buffer.flip();
+
+        return buffer;
+    }
+
+    /**
+     * Encodes a NewTx request hex encoding the given transaction into the buffer.
+     *
+     * @param cbor - transaction cbor bytes
+     * @return buffer holding the json of the request, ready to be read
+     */
+    public ByteBuffer encodeNewTx(byte[] cbor) {
+        buffer.clear();
+        beginObject(Tag.NewTx);
+        writeHexField("transaction", cbor);
+        endObject();
+        buffer.flip();
+
+        return buffer;
+    }
+
+    /**
+     * Starts a request object with its tag field.
+     */
+    public RequestEncoder beginObject(Tag tag) {
+        put((byte) '{');
+        writeName("tag");
+        writeString(tag.name());
+
+        return this;
+    }
+
+    public RequestEncoder writeField(String name, String value) {
+        put((byte) ',');
+        writeName(name);
+        if (value == null) {
+            writeAscii("null");
+        } else {
+            writeString(value);
+        }
+
+        return this;
+    }
+
+    public RequestEncoder writeHexField(String name, byte[] value) {
+        put((byte) ',');
+        writeName(name);
+        if (value == null) {
+            writeAscii("null");
+            return this;
+        }
+        ensureCapacity(value.length * 2 + 2);
+        buffer.put((byte) '"');
+        HexUtils.encodeHex(value, buffer);
+        buffer.put((byte) '"');
+
+        return this;
+    }
+
+    public RequestEncoder endObject() {
+        put((byte) '}');
+
+        return this;
+    }
+
+    /**
+     * Writes json as it is, e.g. the body of a request which only renders its json as a String.
+     */
+    public RequestEncoder writeJson(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(bytes.length);
+        buffer.put(bytes);
+
+        return this;
+    }
+
+    private void writeName(String name) {
+        writeString(name);
+        put((byte) ':');
+    }
+
+    private void writeAscii(String s) {
+        ensureCapacity(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            buffer.put((byte) s.charAt(i));
+        }
+    }
+
+    // json string, utf-8 encoded, escaping quotes, backslashes and control characters
+    private void writeString(String s) {
+        // worst case: 6 bytes per escaped control character
+        ensureCapacity(s.length() * 6 + 2);
+        buffer.put((byte) '"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.put((byte) '\\');
+                buffer.put((byte) c);
+            } else if (c < 0x20) {
+                buffer.put((byte) '\\');
+                buffer.put((byte) 'u');
+                buffer.put((byte) '0');
+                buffer.put((byte) '0');
+                buffer.put(HEX_DIGITS[c >> 4]);
+                buffer.put(HEX_DIGITS[c & 0xF]);
+            } else if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        buffer.put((byte) '"');
+    }
+
+    private void put(byte b) {
+        ensureCapacity(1);
+        buffer.put(b);
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        int capacity = buffer.capacity();
+        while (capacity - buffer.position() < bytes) {
+            capacity = Math.multiplyExact(capacity, 2);
+        }
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+    }
+
+}
@@ -1,6 +1,7 @@
 package org.cardanofoundation.hydra.core.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.*;
 import org.jetbrains.annotations.Nullable;
 
@@ -18,6 +19,8 @@ public class Snapshot {
 
     private int snapshotNumber;
 
+    // decoded on demand, most snapshots are never fully looked at
+    @JsonDeserialize(as = LazyUTxOMap.class)
     @Nullable private Map<String, UTXO> utxo;
 
     private List<String> confirmedTransactions;
@@ -3,6 +3,7 @@ package org.cardanofoundation.hydra.core.model;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.*;
+import org.cardanofoundation.hydra.core.utils.StringInterner;
 
 import java.math.BigInteger;
 import java.util.Map;
@@ -12,11 +13,14 @@ import java.util.StringJoiner;
 @Setter
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Builder
-@AllArgsConstructor
 @NoArgsConstructor
 public class UTXO {
 
+    // the same addresses and datum hashes show up in every snapshot
+    private static final StringInterner INTERNER = StringInterner.shared();
+
     String address;
+    // held as CompactValue where possible, see setValue
     Map<String, BigInteger> value;
     String datum;
     String datumhash;
@@ -24,6 +28,41 @@ public class UTXO {
     String inlineDatumhash;
     String referenceScript;
 
+    public UTXO(String address,
+                Map<String, BigInteger> value,
+                String datum,
+                String datumhash,
+                JsonNode inlineDatum,
+                String inlineDatumhash,
+                String referenceScript) {
+        this.address = INTERNER.intern(address);
+        this.value = CompactValue.of(value);
+        this.datum = datum;
+        this.datumhash = INTERNER.intern(datumhash);
+        this.inlineDatum = inlineDatum;
+        this.inlineDatumhash = INTERNER.intern(inlineDatumhash);
+        this.referenceScript = referenceScript;
+    }
+
+    public void setAddress(String address) {
+        this.address = INTERNER.intern(address);
+    }
+
+    public void setDatumhash(String datumhash) {
+        this.datumhash = INTERNER.intern(datumhash);
+    }
+
+    public void setInlineDatumhash(String inlineDatumhash) {
+        this.inlineDatumhash = INTERNER.intern(inlineDatumhash);
+    }
+
+    /**
+     * @param value - unit -> quantity, stored in compact read-only form
+     */
+    public void setValue(Map<String, BigInteger> value) {
+        this.value = CompactValue.of(value);
+    }
+
 
     @Override
     public String toString() {
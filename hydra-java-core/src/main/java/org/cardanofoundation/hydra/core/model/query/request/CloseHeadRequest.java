@@ -1,10 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.request;
 
 import lombok.ToString;
-import lombok.val;
 import org.cardanofoundation.hydra.core.model.Request;
+import org.cardanofoundation.hydra.core.model.RequestEncoder;
 import org.cardanofoundation.hydra.core.model.Tag;
-import org.stringtemplate.v4.ST;
 
 @ToString
 public class CloseHeadRequest extends Request {
@@ -15,10 +14,12 @@ public class CloseHeadRequest extends Request {
 
     @Override
     public String getRequestBody() {
-        val template = new ST("{ \"tag\": \"<tag>\" }");
-        template.add("tag", tag);
+        return encodeRequestBody();
+    }
 
-        return template.render();
+    @Override
+    protected void writeRequestBody(RequestEncoder encoder) {
+        encoder.beginObject(tag).endObject();
     }
 
 }
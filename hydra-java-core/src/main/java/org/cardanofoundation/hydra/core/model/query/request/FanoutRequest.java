@@ -2,10 +2,9 @@ package org.cardanofoundation.hydra.core.model.query.request;
 
 import lombok.Getter;
 import lombok.ToString;
-import lombok.val;
 import org.cardanofoundation.hydra.core.model.Request;
+import org.cardanofoundation.hydra.core.model.RequestEncoder;
 import org.cardanofoundation.hydra.core.model.Tag;
-import org.stringtemplate.v4.ST;
 
 @Getter
 @ToString(callSuper = true)
@@ -17,10 +16,12 @@ public class FanoutRequest extends Request {
 
     @Override
     public String getRequestBody() {
-        val template = new ST("{ \"tag\": \"<tag>\" }");
-        template.add("tag", tag);
+        return encodeRequestBody();
+    }
 
-        return template.render();
+    @Override
+    protected void writeRequestBody(RequestEncoder encoder) {
+        encoder.beginObject(tag).endObject();
     }
 
 }
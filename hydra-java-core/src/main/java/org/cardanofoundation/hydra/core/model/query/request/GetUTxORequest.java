@@ -1,9 +1,8 @@
 package org.cardanofoundation.hydra.core.model.query.request;
 
-import lombok.val;
 import org.cardanofoundation.hydra.core.model.Request;
+import org.cardanofoundation.hydra.core.model.RequestEncoder;
 import org.cardanofoundation.hydra.core.model.Tag;
-import org.stringtemplate.v4.ST;
 
 public class GetUTxORequest extends Request {
 
@@ -14,17 +13,14 @@ public class GetUTxORequest extends Request {
         super(Tag.GetUTxO);
     }
 
-    /**
-     * The tag of the request.
-     *
-     * @return
-     */
     @Override
     public String getRequestBody() {
-        val template = new ST("{ \"tag\": \"<tag>\" }");
-        template.add("tag", tag);
+        return encodeRequestBody();
+    }
 
-        return template.render();
+    @Override
+    protected void writeRequestBody(RequestEncoder encoder) {
+        encoder.beginObject(tag).endObject();
     }
 
     @Override
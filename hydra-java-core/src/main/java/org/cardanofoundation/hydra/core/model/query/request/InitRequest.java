@@ -1,9 +1,8 @@
 package org.cardanofoundation.hydra.core.model.query.request;
 
-import lombok.val;
 import org.cardanofoundation.hydra.core.model.Request;
+import org.cardanofoundation.hydra.core.model.RequestEncoder;
 import org.cardanofoundation.hydra.core.model.Tag;
-import org.stringtemplate.v4.ST;
 
 public class InitRequest extends Request {
 
@@ -13,11 +12,14 @@ public class InitRequest extends Request {
         super(QUERY_TYPE);
     }
 
+    @Override
     public String getRequestBody() {
-        val template = new ST("{ \"tag\": \"<tag>\" }");
-        template.add("tag", tag);
+        return encodeRequestBody();
+    }
 
-        return template.render();
+    @Override
+    protected void writeRequestBody(RequestEncoder encoder) {
+        encoder.beginObject(tag).endObject();
     }
 
     @Override
@@ -1,9 +1,8 @@
 package org.cardanofoundation.hydra.core.model.query.request;
 
-import lombok.val;
 import org.cardanofoundation.hydra.core.model.Request;
+import org.cardanofoundation.hydra.core.model.RequestEncoder;
 import org.cardanofoundation.hydra.core.model.Tag;
-import org.stringtemplate.v4.ST;
 
 public class NewTxRequest extends Request {
 
@@ -16,11 +15,14 @@ public class NewTxRequest extends Request {
 
     @Override
     public String getRequestBody() {
-        val template = new ST("{ \"tag\": \"<tag>\", \"transaction\": \"<transaction>\"}");
-        template.add("tag", tag);
-        template.add("transaction", transaction);
+        return encodeRequestBody();
+    }
 
-        return template.render();
+    @Override
+    protected void writeRequestBody(RequestEncoder encoder) {
+        encoder.beginObject(tag)
+                .writeField("transaction", transaction)
+                .endObject();
     }
 
     @Override
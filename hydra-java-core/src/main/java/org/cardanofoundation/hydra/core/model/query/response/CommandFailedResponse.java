@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -12,6 +16,7 @@ import java.time.LocalDateTime;
 // Emitted by the server when a well-formed client input was not processable. For example, if trying to close a non opened head or, when trying to commit after having already committed.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class CommandFailedResponse extends Response implements FailureResponse {
 
     private final int seq;
@@ -20,9 +25,10 @@ public class CommandFailedResponse extends Response implements FailureResponse {
 
     private final JsonNode clientInput;
 
-    public CommandFailedResponse(int seq,
-                                 LocalDateTime timestamp,
-                                 JsonNode clientInput) {
+    @JsonCreator
+    public CommandFailedResponse(@JsonProperty("seq") int seq,
+                                 @JsonProperty("timestamp") LocalDateTime timestamp,
+                                 @JsonProperty("clientInput") JsonNode clientInput) {
         super(Tag.CommandFailed, seq, true);
         this.seq = seq;
         this.timestamp = timestamp;
@@ -37,4 +43,8 @@ public class CommandFailedResponse extends Response implements FailureResponse {
         return new CommandFailedResponse(seq, timestamp, clientInputNode);
     }
 
+    public static CommandFailedResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, CommandFailedResponse.class);
+    }
+
 }
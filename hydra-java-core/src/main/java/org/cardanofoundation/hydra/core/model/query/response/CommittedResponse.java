@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -15,6 +19,7 @@ import java.util.Map;
 // A `Commit` from a head participant has been observed on-chain.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class CommittedResponse extends Response {
 
     private final Party party;
@@ -22,7 +27,11 @@ public class CommittedResponse extends Response {
 
     private final LocalDateTime timestamp;
 
-    public CommittedResponse(Party party, Map<String, UTXO> utxo, int seq, LocalDateTime timestamp) {
+    @JsonCreator
+    public CommittedResponse(@JsonProperty("party") Party party,
+                             @JsonProperty("utxo") Map<String, UTXO> utxo,
+                             @JsonProperty("seq") int seq,
+                             @JsonProperty("timestamp") LocalDateTime timestamp) {
         super(Tag.Committed, seq);
         this.party = party;
         this.utxo = utxo;
@@ -38,4 +47,8 @@ public class CommittedResponse extends Response {
         return new CommittedResponse(party, utxo, seq, timestamp);
     }
 
+    public static CommittedResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, CommittedResponse.class);
+    }
+
 }
@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -14,6 +18,7 @@ import java.util.Map;
 // Emitted as a result of a `GetUTxO` to reflect the current UTxO of the underlying node.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class GetUTxOResponse extends Response {
 
     private final String headId;
@@ -22,7 +27,11 @@ public class GetUTxOResponse extends Response {
 
     private final Map<String, UTXO> utxo;
 
-    public GetUTxOResponse(String headId, int seq, LocalDateTime timestamp, Map<String, UTXO> utxo) {
+    @JsonCreator
+    public GetUTxOResponse(@JsonProperty("headId") String headId,
+                           @JsonProperty("seq") int seq,
+                           @JsonProperty("timestamp") LocalDateTime timestamp,
+                           @JsonProperty("utxo") Map<String, UTXO> utxo) {
         super(Tag.GetUTxOResponse, seq);
         this.headId = headId;
         this.timestamp = timestamp;
@@ -39,4 +48,8 @@ public class GetUTxOResponse extends Response {
         return new GetUTxOResponse(headId, seq, timestamp, utxo);
     }
 
+    public static GetUTxOResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, GetUTxOResponse.class);
+    }
+
 }
@@ -1,14 +1,19 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.val;
 import org.cardanofoundation.hydra.core.model.HydraState;
+import org.cardanofoundation.hydra.core.model.LazyUTxOMap;
 import org.cardanofoundation.hydra.core.model.Party;
 import org.cardanofoundation.hydra.core.model.Tag;
 import org.cardanofoundation.hydra.core.model.UTXO;
-import org.cardanofoundation.hydra.core.store.UTxOStore;
 import org.cardanofoundation.hydra.core.utils.MoreJson;
 
 import java.time.LocalDateTime;
@@ -17,6 +22,7 @@ import java.util.Map;
 // A friendly welcome message which tells a client something about the node. Currently used for knowing what Party the server embodies. This message produced whenever the hydra-node starts and clients should take consequence of seeing this. For example, we can assume no peers connected when we see 'Greetings'.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class GreetingsResponse extends Response {
 
     private final Party me;
@@ -27,38 +33,40 @@ public class GreetingsResponse extends Response {
 
     private final Map<String, UTXO> snapshotUtxo;
 
+    // distinguishes an empty snapshot from a message without one (e.g. snapshot-utxo=no)
+    private final boolean snapshotUtxoPresent;
+
     private final String hydraNodeVersion;
 
-    public GreetingsResponse(Party party,
-                             int seq,
-                             LocalDateTime timestamp,
-                             HydraState headStatus,
-                             Map<String, UTXO> snapshotUtxo,
-                             String hydraNodeVersion) {
+    @JsonCreator
+    public GreetingsResponse(@JsonProperty("me") Party party,
+                             @JsonProperty("seq") int seq,
+                             @JsonProperty("timestamp") LocalDateTime timestamp,
+                             @JsonProperty("headStatus") HydraState headStatus,
+                             @JsonProperty("snapshotUtxo") @JsonDeserialize(as = LazyUTxOMap.class) Map<String, UTXO> snapshotUtxo,
+                             @JsonProperty("hydraNodeVersion") String hydraNodeVersion) {
         super(Tag.Greetings, seq);
         this.me = party;
         this.timestamp = timestamp;
         this.headStatus = headStatus;
-        this.snapshotUtxo = snapshotUtxo;
+        this.snapshotUtxo = snapshotUtxo == null ? Map.of() : snapshotUtxo;
+        this.snapshotUtxoPresent = snapshotUtxo != null;
         this.hydraNodeVersion = hydraNodeVersion;
     }
 
-    public static GreetingsResponse create(UTxOStore uTxOStore, JsonNode raw) {
+    public static GreetingsResponse create(JsonNode raw) {
         val party = MoreJson.convert(raw.get("me"), Party.class);
         val seq = raw.get("seq").asInt();
         val timestamp = MoreJson.convert(raw.get("timestamp"), LocalDateTime.class);
         val headStatus = MoreJson.convert(raw.get("headStatus"), HydraState.class);
         val hydraNodeVersion = raw.get("hydraNodeVersion").asText();
+        val utxo = raw.has("snapshotUtxo") ? MoreJson.convert(raw.get("snapshotUtxo"), LazyUTxOMap.class) : null;
 
-        if (raw.has("snapshotUtxo")) {
-            val utxo = MoreJson.convertUTxOMap(raw.get("snapshotUtxo"));
-
-            uTxOStore.storeLatestUtxO(utxo);
-
-            return new GreetingsResponse(party, seq, timestamp, headStatus, utxo, hydraNodeVersion);
-        }
+        return new GreetingsResponse(party, seq, timestamp, headStatus, utxo, hydraNodeVersion);
+    }
 
-        return new GreetingsResponse(party, seq, timestamp, headStatus, Map.of(), hydraNodeVersion);
+    public static GreetingsResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, GreetingsResponse.class);
     }
 
 }
@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -14,6 +18,7 @@ import java.util.Map;
 // One of the participant did `Abort` the head before all commits were done or collected.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class HeadIsAbortedResponse extends Response {
 
     private final String headId;
@@ -22,7 +27,11 @@ public class HeadIsAbortedResponse extends Response {
 
     private final Map<String, UTXO> utxo;
 
-    public HeadIsAbortedResponse(String headId, int seq, LocalDateTime timestamp, Map<String, UTXO> utxo) {
+    @JsonCreator
+    public HeadIsAbortedResponse(@JsonProperty("headId") String headId,
+                                 @JsonProperty("seq") int seq,
+                                 @JsonProperty("timestamp") LocalDateTime timestamp,
+                                 @JsonProperty("utxo") Map<String, UTXO> utxo) {
         super(Tag.HeadIsAborted, seq);
         this.headId = headId;
         this.timestamp = timestamp;
@@ -38,4 +47,8 @@ public class HeadIsAbortedResponse extends Response {
         return new HeadIsAbortedResponse(headId, seq, timestamp, utxo);
     }
 
+    public static HeadIsAbortedResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, HeadIsAbortedResponse.class);
+    }
+
 }
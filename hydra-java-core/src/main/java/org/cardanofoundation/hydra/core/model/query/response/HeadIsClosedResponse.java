@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -12,6 +16,7 @@ import java.time.LocalDateTime;
 // A `Close` transaction has been observed on-chain, the head is now closed and the contestation phase begins.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class HeadIsClosedResponse extends Response {
 
     private final int snapshotNumber;
@@ -22,11 +27,12 @@ public class HeadIsClosedResponse extends Response {
 
     private final LocalDateTime timestamp;
 
-    public HeadIsClosedResponse(String headId,
-                                int snapshotNumber,
-                                LocalDateTime contestationDeadline,
-                                int seq,
-                                LocalDateTime timestamp) {
+    @JsonCreator
+    public HeadIsClosedResponse(@JsonProperty("headId") String headId,
+                                @JsonProperty("snapshotNumber") int snapshotNumber,
+                                @JsonProperty("contestationDeadline") LocalDateTime contestationDeadline,
+                                @JsonProperty("seq") int seq,
+                                @JsonProperty("timestamp") LocalDateTime timestamp) {
         super(Tag.HeadIsClosed, seq);
         this.headId = headId;
         this.snapshotNumber = snapshotNumber;
@@ -44,4 +50,8 @@ public class HeadIsClosedResponse extends Response {
         return new HeadIsClosedResponse(headId, snapshotNumber, contestationDeadline, seq, timestamp);
     }
 
+    public static HeadIsClosedResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, HeadIsClosedResponse.class);
+    }
+
 }
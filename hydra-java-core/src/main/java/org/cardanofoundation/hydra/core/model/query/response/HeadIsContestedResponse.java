@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -14,6 +18,7 @@ import java.time.LocalDateTime;
 //        the latest accepted snapshot.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class HeadIsContestedResponse extends Response {
 
     private final String headId;
@@ -22,7 +27,11 @@ public class HeadIsContestedResponse extends Response {
 
     private final int snapshotNumber;
 
-    public HeadIsContestedResponse(String headId, int seq, LocalDateTime timestamp, int snapshotNumber) {
+    @JsonCreator
+    public HeadIsContestedResponse(@JsonProperty("headId") String headId,
+                                   @JsonProperty("seq") int seq,
+                                   @JsonProperty("timestamp") LocalDateTime timestamp,
+                                   @JsonProperty("snapshotNumber") int snapshotNumber) {
         super(Tag.HeadIsClosed, seq);
         this.headId = headId;
         this.timestamp = timestamp;
@@ -38,5 +47,9 @@ public class HeadIsContestedResponse extends Response {
         return new HeadIsContestedResponse(headId, seq, timestamp, snapshotNumber);
     }
 
+    public static HeadIsContestedResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, HeadIsContestedResponse.class);
+    }
+
 
 }
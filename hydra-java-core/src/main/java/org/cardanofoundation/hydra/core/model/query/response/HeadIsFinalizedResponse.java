@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -14,6 +18,7 @@ import java.util.Map;
 // The head was already closed and the contestation period is now over.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class HeadIsFinalizedResponse extends Response {
 
     private final String headId;
@@ -22,7 +27,11 @@ public class HeadIsFinalizedResponse extends Response {
 
     private final Map<String, UTXO> utxo;
 
-    public HeadIsFinalizedResponse(String headId, int seq, LocalDateTime timestamp, Map<String, UTXO> utxo) {
+    @JsonCreator
+    public HeadIsFinalizedResponse(@JsonProperty("headId") String headId,
+                                   @JsonProperty("seq") int seq,
+                                   @JsonProperty("timestamp") LocalDateTime timestamp,
+                                   @JsonProperty("utxo") Map<String, UTXO> utxo) {
         super(Tag.HeadIsFinalized, seq);
         this.headId = headId;
         this.timestamp = timestamp;
@@ -38,5 +47,9 @@ public class HeadIsFinalizedResponse extends Response {
         return new HeadIsFinalizedResponse(headId, seq, timestamp, utxo);
     }
 
+    public static HeadIsFinalizedResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, HeadIsFinalizedResponse.class);
+    }
+
 }
 
@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -14,6 +18,7 @@ import java.util.List;
 // A `Init` transaction has been observed on-chain by the given party who's now ready to commit into the initialized head.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class HeadIsInitializingResponse extends Response {
 
     private final List<Party> parties;
@@ -22,7 +27,11 @@ public class HeadIsInitializingResponse extends Response {
 
     private final LocalDateTime timestamp;
 
-    public HeadIsInitializingResponse(String headId, List<Party> parties, int seq, LocalDateTime timestamp) {
+    @JsonCreator
+    public HeadIsInitializingResponse(@JsonProperty("headId") String headId,
+                                      @JsonProperty("parties") List<Party> parties,
+                                      @JsonProperty("seq") int seq,
+                                      @JsonProperty("timestamp") LocalDateTime timestamp) {
         super(Tag.HeadIsInitializing, seq);
         this.headId = headId;
         this.parties = parties;
@@ -39,4 +48,8 @@ public class HeadIsInitializingResponse extends Response {
         return new HeadIsInitializingResponse(headId, parties, seq, timestamp);
     }
 
+    public static HeadIsInitializingResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, HeadIsInitializingResponse.class);
+    }
+
 }
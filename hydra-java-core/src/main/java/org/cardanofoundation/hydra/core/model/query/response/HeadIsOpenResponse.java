@@ -1,12 +1,15 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.val;
 import org.cardanofoundation.hydra.core.model.Tag;
 import org.cardanofoundation.hydra.core.model.UTXO;
-import org.cardanofoundation.hydra.core.store.UTxOStore;
 import org.cardanofoundation.hydra.core.utils.MoreJson;
 
 import java.time.LocalDateTime;
@@ -15,6 +18,7 @@ import java.util.Map;
 // All parties have committed, and a successful `CollectCom` transaction was observed on-chain. The head is now open; transactions can flow.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class HeadIsOpenResponse extends Response {
 
     private final String headId;
@@ -23,24 +27,28 @@ public class HeadIsOpenResponse extends Response {
 
     private final LocalDateTime timestamp;
 
-    public HeadIsOpenResponse(String headId,
-                              Map<String, UTXO> utxo,
-                              int seq, LocalDateTime timestamp) {
+    @JsonCreator
+    public HeadIsOpenResponse(@JsonProperty("headId") String headId,
+                              @JsonProperty("utxo") Map<String, UTXO> utxo,
+                              @JsonProperty("seq") int seq,
+                              @JsonProperty("timestamp") LocalDateTime timestamp) {
         super(Tag.HeadIsOpen, seq);
         this.headId = headId;
         this.utxo = utxo;
         this.timestamp = timestamp;
     }
 
-    public static HeadIsOpenResponse create(UTxOStore uTxOStore, JsonNode raw) {
+    public static HeadIsOpenResponse create(JsonNode raw) {
         val utxoMap = MoreJson.convertUTxOMap(raw.get("utxo"));
         val headId = raw.get("headId").asText();
         val seq = raw.get("seq").asInt();
         val timestamp = MoreJson.convert(raw.get("timestamp"), LocalDateTime.class);
 
-        uTxOStore.storeLatestUtxO(utxoMap);
-
         return new HeadIsOpenResponse(headId, utxoMap, seq, timestamp);
     }
 
+    public static HeadIsOpenResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, HeadIsOpenResponse.class);
+    }
+
 }
@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -12,6 +16,7 @@ import java.time.LocalDateTime;
 // Emitted by the server when it has failed to parse some client input. It returns the malformed input as well as some hint about what went wrong.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class InvalidInputResponse extends Response implements FailureResponse {
 
     private final LocalDateTime timestamp;
@@ -19,7 +24,11 @@ public class InvalidInputResponse extends Response implements FailureResponse {
     private final String reason;
     private final String input;
 
-    public InvalidInputResponse(int seq, LocalDateTime timestamp, String reason, String input) {
+    @JsonCreator
+    public InvalidInputResponse(@JsonProperty("seq") int seq,
+                                @JsonProperty("timestamp") LocalDateTime timestamp,
+                                @JsonProperty("reason") String reason,
+                                @JsonProperty("input") String input) {
         super(Tag.InvalidInput, seq, true);
         this.timestamp = timestamp;
         this.reason = reason;
@@ -36,4 +45,8 @@ public class InvalidInputResponse extends Response implements FailureResponse {
         return new InvalidInputResponse(seq, timestamp, reason, input);
     }
 
+    public static InvalidInputResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, InvalidInputResponse.class);
+    }
+
 }
@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -12,13 +16,17 @@ import java.time.LocalDateTime;
 // A peer is now connected to the head network.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class PeerConnectedResponse extends Response {
 
     private final String peer;
 
     private final LocalDateTime timestamp;
 
-    public PeerConnectedResponse(String peer, int seq, LocalDateTime timestamp) {
+    @JsonCreator
+    public PeerConnectedResponse(@JsonProperty("peer") String peer,
+                                 @JsonProperty("seq") int seq,
+                                 @JsonProperty("timestamp") LocalDateTime timestamp) {
         super(Tag.PeerConnected, seq);
         this.peer = peer;
         this.timestamp = timestamp;
@@ -32,4 +40,8 @@ public class PeerConnectedResponse extends Response {
         return new PeerConnectedResponse(peer, seq, timestamp);
     }
 
+    public static PeerConnectedResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, PeerConnectedResponse.class);
+    }
+
 }
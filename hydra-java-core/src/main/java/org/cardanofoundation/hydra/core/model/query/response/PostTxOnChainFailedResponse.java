@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -14,12 +18,16 @@ import java.time.LocalDateTime;
 // Something wrong happened when trying to post a transaction on-chain. Provides information about what kind of transaction was tentatively posted, and the reason for failure.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class PostTxOnChainFailedResponse extends Response implements FailureResponse {
 
     private final LocalDateTime timestamp;
     private final PostChainTx postChainTx;
 
-    public PostTxOnChainFailedResponse(int seq, LocalDateTime timestamp, PostChainTx postChainTx) {
+    @JsonCreator
+    public PostTxOnChainFailedResponse(@JsonProperty("seq") int seq,
+                                       @JsonProperty("timestamp") LocalDateTime timestamp,
+                                       @JsonProperty("postChainTx") PostChainTx postChainTx) {
         super(Tag.PostTxOnChainFailed, seq, true);
         this.timestamp = timestamp;
         this.postChainTx = postChainTx;
@@ -33,6 +41,10 @@ public class PostTxOnChainFailedResponse extends Response implements FailureResp
         return new PostTxOnChainFailedResponse(seq, timestamp, postChainTx);
     }
 
+    public static PostTxOnChainFailedResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, PostTxOnChainFailedResponse.class);
+    }
+
     @Override
     public boolean isLowLevelFailure() {
         return postChainTx.getTag() == Tag.CollectComTx;
@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -13,13 +17,17 @@ import java.time.LocalDateTime;
 //   a fanout transaction.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class ReadyToFanoutResponse extends Response {
 
     private final String headId;
 
     private final LocalDateTime timestamp;
 
-    public ReadyToFanoutResponse(String headId, int seq, LocalDateTime timestamp) {
+    @JsonCreator
+    public ReadyToFanoutResponse(@JsonProperty("headId") String headId,
+                                 @JsonProperty("seq") int seq,
+                                 @JsonProperty("timestamp") LocalDateTime timestamp) {
         super(Tag.ReadyToFanout, seq);
         this.headId = headId;
         this.timestamp = timestamp;
@@ -33,5 +41,9 @@ public class ReadyToFanoutResponse extends Response {
         return new ReadyToFanoutResponse(headId, seq, timestamp);
     }
 
+    public static ReadyToFanoutResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, ReadyToFanoutResponse.class);
+    }
+
 }
 
@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -12,11 +16,14 @@ import java.time.LocalDateTime;
 // The node has adopted a different chain fork and we had to rollback the application state.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class RolledbackResponse extends Response {
 
     private final LocalDateTime timestamp;
 
-    public RolledbackResponse(int seq, LocalDateTime timestamp) {
+    @JsonCreator
+    public RolledbackResponse(@JsonProperty("seq") int seq,
+                              @JsonProperty("timestamp") LocalDateTime timestamp) {
         super(Tag.RolledBack, seq);
         this.timestamp = timestamp;
     }
@@ -28,4 +35,8 @@ public class RolledbackResponse extends Response {
         return new RolledbackResponse(seq, timestamp);
     }
 
+    public static RolledbackResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, RolledbackResponse.class);
+    }
+
 }
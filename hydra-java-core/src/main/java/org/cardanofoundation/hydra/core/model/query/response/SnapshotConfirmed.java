@@ -1,12 +1,15 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.val;
 import org.cardanofoundation.hydra.core.model.Snapshot;
 import org.cardanofoundation.hydra.core.model.Tag;
-import org.cardanofoundation.hydra.core.store.UTxOStore;
 import org.cardanofoundation.hydra.core.utils.MoreJson;
 import org.jetbrains.annotations.Nullable;
 
@@ -15,6 +18,7 @@ import java.time.LocalDateTime;
 // A `Init` transaction has been observed on-chain by the given party who's now ready to commit into the initialized head.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class SnapshotConfirmed extends Response {
 
     private final String headId;
@@ -23,25 +27,28 @@ public class SnapshotConfirmed extends Response {
 
     @Nullable private final Snapshot snapshot;
 
-    public SnapshotConfirmed(String headId,
-                             int seq,
-                             LocalDateTime timestamp,
-                             @Nullable Snapshot snapshot) {
+    @JsonCreator
+    public SnapshotConfirmed(@JsonProperty("headId") String headId,
+                             @JsonProperty("seq") int seq,
+                             @JsonProperty("timestamp") LocalDateTime timestamp,
+                             @JsonProperty("snapshot") @Nullable Snapshot snapshot) {
         super(Tag.SnapshotConfirmed, seq);
         this.headId = headId;
         this.timestamp = timestamp;
         this.snapshot = snapshot;
     }
 
-    public static SnapshotConfirmed create(UTxOStore store, JsonNode raw) {
+    public static SnapshotConfirmed create(JsonNode raw) {
         val headId = raw.get("headId").asText();
         val seq = raw.get("seq").asInt();
         val timestamp = MoreJson.convert(raw.get("timestamp"), LocalDateTime.class);
         val snapshot = MoreJson.convert(raw.get("snapshot"), Snapshot.class);
 
-        store.storeLatestUtxO(snapshot.getUtxo());
-
         return new SnapshotConfirmed(headId, seq, timestamp, snapshot);
     }
 
+    public static SnapshotConfirmed create(JsonParser parser) {
+        return MoreJson.readValue(parser, SnapshotConfirmed.class);
+    }
+
 }
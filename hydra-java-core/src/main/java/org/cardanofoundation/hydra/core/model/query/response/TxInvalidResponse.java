@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -16,6 +20,7 @@ import java.util.Map;
 // is no longer valid (because of conflicting transactions observed in-between.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class TxInvalidResponse extends Response implements FailureResponse {
 
     private final String headId;
@@ -26,12 +31,13 @@ public class TxInvalidResponse extends Response implements FailureResponse {
     private final JsonNode transaction;
     private final ValidationError validationError;
 
-    public TxInvalidResponse(String headId,
-                             int seq,
-                             LocalDateTime timestamp,
-                             Map<String, UTXO> utxo,
-                             JsonNode transaction,
-                             ValidationError validationError) {
+    @JsonCreator
+    public TxInvalidResponse(@JsonProperty("headId") String headId,
+                             @JsonProperty("seq") int seq,
+                             @JsonProperty("timestamp") LocalDateTime timestamp,
+                             @JsonProperty("utxo") Map<String, UTXO> utxo,
+                             @JsonProperty("transaction") JsonNode transaction,
+                             @JsonProperty("validationError") ValidationError validationError) {
         super(Tag.TxInvalid, seq, true);
         this.headId = headId;
         this.timestamp = timestamp;
@@ -51,4 +57,8 @@ public class TxInvalidResponse extends Response implements FailureResponse {
         return new TxInvalidResponse(headId, seq, timestamp, utxo, transaction, validationError);
     }
 
+    public static TxInvalidResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, TxInvalidResponse.class);
+    }
+
 }
@@ -1,5 +1,9 @@
 package org.cardanofoundation.hydra.core.model.query.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import lombok.ToString;
@@ -12,6 +16,7 @@ import java.time.LocalDateTime;
 // An observed transaction is valid and can therefore be applied.
 @Getter
 @ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class TxValidResponse extends Response {
 
     private final JsonNode transaction;
@@ -20,10 +25,11 @@ public class TxValidResponse extends Response {
 
     private final LocalDateTime timestamp;
 
-    public TxValidResponse(JsonNode transaction,
-                           String headId,
-                           int seq,
-                           LocalDateTime timestamp) {
+    @JsonCreator
+    public TxValidResponse(@JsonProperty("transaction") JsonNode transaction,
+                           @JsonProperty("headId") String headId,
+                           @JsonProperty("seq") int seq,
+                           @JsonProperty("timestamp") LocalDateTime timestamp) {
         super(Tag.TxValid, seq);
         this.transaction = transaction;
         this.headId = headId;
@@ -39,4 +45,8 @@ public class TxValidResponse extends Response {
         return new TxValidResponse(transaction, headId, seq, timestamp);
     }
 
+    public static TxValidResponse create(JsonParser parser) {
+        return MoreJson.readValue(parser, TxValidResponse.class);
+    }
+
 }
@@ -15,4 +15,10 @@ public class EmptyUTxOStore implements UTxOStore {
     public void storeLatestUtxO(Map<String, UTXO> utxo) {
         //noop
     }
+
+    @Override
+    public UTxODelta applySnapshot(int snapshotNumber, Map<String, UTXO> utxo) {
+        return UTxODelta.empty(snapshotNumber);
+    }
+
 }
@@ -1,6 +1,7 @@
 package org.cardanofoundation.hydra.core.store;
 
 import lombok.NoArgsConstructor;
+import lombok.val;
 import org.cardanofoundation.hydra.core.model.UTXO;
 
 import java.util.HashMap;
@@ -26,4 +27,11 @@ public class InMemoryUTxOStore implements UTxOStore {
         reference.set(utxo);
     }
 
+    @Override
+    public UTxODelta applySnapshot(int snapshotNumber, Map<String, UTXO> utxo) {
+        val previous = reference.getAndSet(utxo);
+
+        return UTxODelta.between(snapshotNumber, previous, utxo);
+    }
+
 }
@@ -0,0 +1,146 @@
+package org.cardanofoundation.hydra.core.store;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.core.model.UTXO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * UTxO store which applies every new UTxO set as a delta against the currently stored one.
+ *
+ * Outputs of TxIns already present in the store are kept as they are (the same UTXO instances),
+ * only added entries are taken from the new set (and therefore decoded, in case of a lazily decoded set)
+ * and removed entries are dropped. Registered UTxODeltaListener instances are notified about every
+ * non empty change, which allows downstream indexes to be updated in O(changes).
+ *
+ * The set returned by getLatestUTxO is a live, read-only view, readers iterating it while a snapshot is being
+ * applied may observe the change partially.
+ */
+@Slf4j
+public class IncrementalUTxOStore implements UTxOStore {
+
+    private final Map<String, UTXO> utxo = new ConcurrentHashMap<>();
+
+    private final Map<String, UTXO> utxoView = Collections.unmodifiableMap(utxo);
+
+    private final List<UTxODeltaListener> deltaListeners = new CopyOnWriteArrayList<>();
+
+    private volatile int snapshotNumber = 0;
+
+    @Override
+    public Map<String, UTXO> getLatestUTxO() {
+        return utxoView;
+    }
+
+    /**
+     * Snapshot number of the last applied UTxO set.
+     *
+     * @return snapshot number
+     */
+    public int getSnapshotNumber() {
+        return snapshotNumber;
+    }
+
+    @Override
+    public void storeLatestUtxO(Map<String, UTXO> utxo) {
+        applySnapshot(snapshotNumber, utxo);
+    }
+
+    @Override
+    public synchronized UTxODelta applySnapshot(int snapshotNumber, Map<String, UTXO> latestUtxo) {
+        val latest = latestUtxo == null ? Map.<String, UTXO>of() : latestUtxo;
+
+        val addedTxIns = new ArrayList<String>();
+        for (val txIn : latest.keySet()) {
+            if (!utxo.containsKey(txIn)) {
+                addedTxIns.add(txIn);
+            }
+        }
+
+        val removed = new HashMap<String, UTXO>();
+        // sizes tell us whether anything has been spent at all, in which case we need to look for it
+        if (utxo.size() + addedTxIns.size() != latest.size()) {
+            for (val entry : utxo.entrySet()) {
+                if (!latest.containsKey(entry.getKey())) {
+                    removed.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        removed.keySet().forEach(utxo::remove);
+
+        val added = new HashMap<String, UTXO>();
+        for (val txIn : addedTxIns) {
+            val output = latest.get(txIn);
+            added.put(txIn, output);
+            utxo.put(txIn, output);
+        }
+
+        this.snapshotNumber = snapshotNumber;
+
+        val delta = UTxODelta.of(snapshotNumber, added, removed);
+        log.debug("Applied snapshot: {}", delta);
+
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            deltaApplied(delta);
+            deltaListeners.forEach(listener -> listener.onDelta(delta));
+        }
+
+        return delta;
+    }
+
+    /**
+     * Applies a delta without a complete UTxO set to compare it against, e.g. when replaying changes a subclass
+     * persisted itself. Removed entries are expected to carry the outputs currently stored for their TxIns.
+     *
+     * @param delta - delta to apply
+     */
+    protected synchronized void applyDelta(UTxODelta delta) {
+        delta.getRemoved().keySet().forEach(utxo::remove);
+        utxo.putAll(delta.getAdded());
+
+        this.snapshotNumber = delta.getSnapshotNumber();
+
+        if (!delta.isEmpty()) {
+            deltaApplied(delta);
+            deltaListeners.forEach(listener -> listener.onDelta(delta));
+        }
+    }
+
+    /**
+     * Called for every non empty delta once it has been applied to the store, before delta listeners are notified.
+     *
+     * @param delta - applied delta
+     */
+    protected void deltaApplied(UTxODelta delta) {
+        // for subclasses
+    }
+
+    public IncrementalUTxOStore addDeltaListener(UTxODeltaListener deltaListener) {
+        if (deltaListener == null) {
+            throw new IllegalArgumentException("UTxODeltaListener instance cannot be null!");
+        }
+
+        deltaListeners.add(deltaListener);
+
+        return this;
+    }
+
+    public IncrementalUTxOStore removeDeltaListener(UTxODeltaListener deltaListener) {
+        if (deltaListener == null) {
+            throw new IllegalArgumentException("UTxODeltaListener instance cannot be null!");
+        }
+
+        deltaListeners.remove(deltaListener);
+
+        return this;
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.cardanofoundation.hydra.core.store;
+
+import lombok.val;
+import org.cardanofoundation.hydra.core.model.UTXO;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Incremental UTxO store which additionally maintains address, policy id and asset (unit) indexes,
+ * updated from the delta of every applied snapshot.
+ *
+ * Index lookups return TxIns, outputs can then be fetched from getLatestUTxO in O(result).
+ */
+public class IndexedUTxOStore extends IncrementalUTxOStore {
+
+    private static final String LOVELACE = "lovelace";
+
+    private static final int POLICY_ID_LENGTH = 56;
+
+    private final Map<String, Set<String>> txInsByAddress = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> txInsByPolicyId = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> txInsByUnit = new ConcurrentHashMap<>();
+
+    /**
+     * @param address - bech32 address
+     * @return TxIns of outputs locked at the address
+     */
+    public Set<String> getTxInsByAddress(String address) {
+        return lookup(txInsByAddress, address);
+    }
+
+    /**
+     * @param policyId - hex encoded policy id
+     * @return TxIns of outputs holding at least one asset of the policy
+     */
+    public Set<String> getTxInsByPolicyId(String policyId) {
+        return lookup(txInsByPolicyId, policyId);
+    }
+
+    /**
+     * @param unit - policy id concatenated with hex encoded asset name
+     * @return TxIns of outputs holding the asset
+     */
+    public Set<String> getTxInsByUnit(String unit) {
+        return lookup(txInsByUnit, unit);
+    }
+
+    @Override
+    protected void deltaApplied(UTxODelta delta) {
+        for (val removed : delta.getRemoved().entrySet()) {
+            index(removed.getKey(), removed.getValue(), IndexedUTxOStore::unindex);
+        }
+        for (val added : delta.getAdded().entrySet()) {
+            index(added.getKey(), added.getValue(), IndexedUTxOStore::index);
+        }
+    }
+
+    private void index(String txIn, UTXO utxo, IndexOperation operation) {
+        if (utxo.getAddress() != null) {
+            operation.apply(txInsByAddress, utxo.getAddress(), txIn);
+        }
+        if (utxo.getValue() == null) {
+            return;
+        }
+
+        for (val unit : utxo.getValue().keySet()) {
+            if (LOVELACE.equals(unit)) {
+                continue;
+            }
+            operation.apply(txInsByUnit, unit, txIn);
+            if (unit.length() >= POLICY_ID_LENGTH) {
+                operation.apply(txInsByPolicyId, unit.substring(0, POLICY_ID_LENGTH), txIn);
+            }
+        }
+    }
+
+    private static void index(Map<String, Set<String>> index, String key, String txIn) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(txIn);
+    }
+
+    private static void unindex(Map<String, Set<String>> index, String key, String txIn) {
+        index.computeIfPresent(key, (k, txIns) -> {
+            txIns.remove(txIn);
+
+            return txIns.isEmpty() ? null : txIns;
+        });
+    }
+
+    private static Set<String> lookup(Map<String, Set<String>> index, String key) {
+        val txIns = index.get(key);
+
+        return txIns == null ? Set.of() : Collections.unmodifiableSet(txIns);
+    }
+
+    @FunctionalInterface
+    private interface IndexOperation {
+
+        void apply(Map<String, Set<String>> index, String key, String txIn);
+
+    }
+
+}
@@ -0,0 +1,422 @@
+package org.cardanofoundation.hydra.core.store;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.core.HydraException;
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.cardanofoundation.hydra.core.utils.MoreJson;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Indexed UTxO store persisted to a file, which allows a restarted client to serve the last known UTxO set
+ * right away and reconcile it (as a delta) against the next snapshot it receives.
+ *
+ * The file is a log, the delta of every applied snapshot is appended to it, so persisting a snapshot costs
+ * O(changes). Once the appended deltas outgrow the complete set the log starts with (and at least 1 MiB), the
+ * whole set is written to a temporary file and atomically moved over the log. Compaction happens with the store
+ * locked, its O(set) cost is spread over the appended changes. On start the log is read through a read-only memory
+ * map and replayed into the store in batches, an unreadable file is ignored and the store starts empty. A trailing
+ * record cut short or torn by a crash (length or checksum not matching) is dropped.
+ *
+ * Only reading goes through a memory map, records are appended through a file channel which is forced to disk every
+ * forceEvery records. With the default of 1 every applied snapshot is durable once applied, higher values group the
+ * fsyncs of several snapshots and may lose the records not forced yet on power loss (not on a process crash).
+ * {@link #sync()} forces outstanding records, {@link #close()} also releases the channel. A complete set larger than
+ * a record can hold (2 GiB) is rejected and not persisted.
+ *
+ * Layout (big endian): magic, version, followed by records of byte length, CRC32C of the following bytes, snapshot
+ * number, added and removed count, added entries (txIn, address, datum, datumhash, inlineDatum (json), inlineDatumhash, referenceScript and
+ * value entry count with (unit, quantity) pairs) and removed txIns. Strings are stored as int length (-1 for null)
+ * and UTF-8 bytes, quantities as byte length and two's-complement bytes.
+ */
+@Slf4j
+public class MappedFileUTxOStore extends IndexedUTxOStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x48555458; // HUTX
+
+    private static final int VERSION = 3;
+
+    private static final int HEADER_SIZE = 8;
+
+    // byte length and checksum preceding every record
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    // snapshot number, added and removed count
+    private static final int MIN_RECORD_SIZE = 3 * Integer.BYTES;
+
+    public static final int DEFAULT_FORCE_EVERY = 1;
+
+    private static final int NULL_LENGTH = -1;
+
+    private static final int DEFAULT_MIN_COMPACTION_BYTES = 1024 * 1024;
+
+    private static final int LOAD_BATCH_SIZE = 4096;
+
+    private final Path file;
+
+    private final long minCompactionBytes;
+
+    private final int forceEvery;
+
+    // opened by the first append after a compaction, records are appended to the current file only
+    private FileChannel appendChannel;
+
+    private int unforcedRecords = 0;
+
+    // size of the first record, i.e. of the complete set the log starts with
+    private long baseBytes = 0;
+
+    // size of the records appended since
+    private long appendedBytes = 0;
+
+    // true when the file does not hold a readable log to append to
+    private boolean compactionRequired = true;
+
+    public MappedFileUTxOStore(Path file) {
+        this(file, DEFAULT_FORCE_EVERY);
+    }
+
+    /**
+     * @param file - file the UTxO log is kept in
+     * @param forceEvery - appended records after which the file is forced to disk
+     */
+    public MappedFileUTxOStore(Path file, int forceEvery) {
+        this(file, forceEvery, DEFAULT_MIN_COMPACTION_BYTES);
+    }
+
+    MappedFileUTxOStore(Path file, int forceEvery, long minCompactionBytes) {
+        if (forceEvery < 1) {
+            throw new IllegalArgumentException("forceEvery must be at least 1!");
+        }
+        this.file = file;
+        this.forceEvery = forceEvery;
+        this.minCompactionBytes = minCompactionBytes;
+        load();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized UTxODelta applySnapshot(int snapshotNumber, Map<String, UTXO> utxo) {
+        val previousSnapshotNumber = getSnapshotNumber();
+        val delta = super.applySnapshot(snapshotNumber, utxo);
+
+        if (delta.isEmpty() && snapshotNumber == previousSnapshotNumber && !compactionRequired) {
+            return delta;
+        }
+        try {
+            persist(delta);
+        } catch (HydraException e) {
+            // in memory state stays valid, the log is rewritten as a whole with the next applied snapshot
+            compactionRequired = true;
+            log.error("Unable to persist UTxO of snapshot: {}", delta.getSnapshotNumber(), e);
+        }
+
+        return delta;
+    }
+
+    /**
+     * Forces the records appended since the last force to disk.
+     */
+    public synchronized void sync() {
+        if (appendChannel == null || unforcedRecords == 0) {
+            return;
+        }
+        try {
+            appendChannel.force(false);
+            unforcedRecords = 0;
+        } catch (IOException e) {
+            throw new HydraException("Unable to force UTxO file: " + file, e);
+        }
+    }
+
+    /**
+     * Forces outstanding records to disk and closes the file, a later snapshot opens it again.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            sync();
+        } finally {
+            closeAppendChannel();
+        }
+    }
+
+    private void persist(UTxODelta delta) {
+        if (compactionRequired || appendedBytes > Math.max(baseBytes, minCompactionBytes)) {
+            compact(delta.getSnapshotNumber());
+            return;
+        }
+        appendedBytes += append(delta);
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        val startTime = System.currentTimeMillis();
+        try (val channel = FileChannel.open(file, READ)) {
+            val buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                log.warn("Ignoring UTxO file: {} of unknown format.", file);
+                return;
+            }
+
+            var records = 0;
+            val crc = new CRC32C();
+            while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                val length = buffer.getInt(buffer.position());
+                if (length < MIN_RECORD_SIZE || buffer.remaining() - RECORD_HEADER_SIZE < length) {
+                    break;
+                }
+                val record = buffer.slice(buffer.position() + RECORD_HEADER_SIZE, length);
+                crc.reset();
+                crc.update(record.duplicate());
+                if ((int) crc.getValue() != buffer.getInt(buffer.position() + Integer.BYTES)) {
+                    break;
+                }
+                replay(record);
+                buffer.position(buffer.position() + RECORD_HEADER_SIZE + length);
+
+                if (records++ == 0) {
+                    baseBytes = RECORD_HEADER_SIZE + length;
+                } else {
+                    appendedBytes += RECORD_HEADER_SIZE + length;
+                }
+            }
+            // an incomplete record is never appended to, the log is rewritten as a whole with the next snapshot
+            if (buffer.hasRemaining()) {
+                log.warn("Dropping incomplete record of UTxO file: {}.", file);
+            }
+            compactionRequired = records == 0 || buffer.hasRemaining();
+
+            log.info("Loaded {} UTxOs of snapshot: {} from {} records of: {} in {} ms.", getLatestUTxO().size(), getSnapshotNumber(), records, file, System.currentTimeMillis() - startTime);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException | HydraException e) {
+            log.warn("Unable to read UTxO file: {}, starting empty.", file, e);
+            // drops whatever has been replayed before the failure, without persisting
+            super.applySnapshot(0, Map.of());
+        }
+    }
+
+    // decodes a record in batches, added entries go straight into the store without collecting the whole set first
+    private void replay(ByteBuffer record) {
+        val snapshotNumber = record.getInt();
+        val addedCount = record.getInt();
+        val removedCount = record.getInt();
+
+        var added = new HashMap<String, UTXO>();
+        for (int i = 0; i < addedCount; i++) {
+            val txIn = readString(record);
+            added.put(txIn, readUTxO(record));
+            if (added.size() == LOAD_BATCH_SIZE) {
+                applyDelta(UTxODelta.of(snapshotNumber, added, Map.of()));
+                added = new HashMap<>();
+            }
+        }
+
+        val removed = new HashMap<String, UTXO>();
+        for (int i = 0; i < removedCount; i++) {
+            val txIn = readString(record);
+            val output = getLatestUTxO().get(txIn);
+            if (output != null) {
+                removed.put(txIn, output);
+            }
+        }
+
+        applyDelta(UTxODelta.of(snapshotNumber, added, removed));
+    }
+
+    private long append(UTxODelta delta) {
+        val bytes = new ByteArrayOutputStream();
+        try {
+            val out = new DataOutputStream(bytes);
+            out.writeLong(0);
+            writeRecord(out, delta.getSnapshotNumber(), delta.getAdded(), delta.getRemoved().keySet());
+
+            val record = ByteBuffer.wrap(bytes.toByteArray());
+            val crc = new CRC32C();
+            crc.update(record.slice(RECORD_HEADER_SIZE, record.capacity() - RECORD_HEADER_SIZE));
+            record.putInt(0, record.capacity() - RECORD_HEADER_SIZE);
+            record.putInt(Integer.BYTES, (int) crc.getValue());
+
+            if (appendChannel == null) {
+                appendChannel = FileChannel.open(file, WRITE, APPEND);
+            }
+            while (record.hasRemaining()) {
+                appendChannel.write(record);
+            }
+            if (++unforcedRecords >= forceEvery) {
+                appendChannel.force(false);
+                unforcedRecords = 0;
+            }
+        } catch (IOException e) {
+            closeAppendChannel();
+            throw new HydraException("Unable to append to UTxO file: " + file, e);
+        }
+
+        return bytes.size();
+    }
+
+    private void closeAppendChannel() {
+        if (appendChannel == null) {
+            return;
+        }
+        try {
+            appendChannel.close();
+        } catch (IOException e) {
+            log.warn("Unable to close UTxO file: {}", file, e);
+        }
+        appendChannel = null;
+        unforcedRecords = 0;
+    }
+
+    private void compact(int snapshotNumber) {
+        val tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        long size;
+        try (val channel = FileChannel.open(tmpFile, CREATE, READ, WRITE, TRUNCATE_EXISTING)) {
+            val out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            val crc = new CRC32C();
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(0);
+            writeRecord(new DataOutputStream(new CheckedOutputStream(out, crc)), snapshotNumber, getLatestUTxO(), Set.of());
+            out.flush();
+
+            size = channel.size();
+            val length = size - HEADER_SIZE - RECORD_HEADER_SIZE;
+            if (length > Integer.MAX_VALUE) {
+                throw new HydraException("UTxO set of snapshot: " + snapshotNumber + " exceeds the maximum record size of UTxO file: " + file);
+            }
+            val recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE)
+                    .putInt(0, (int) length)
+                    .putInt(Integer.BYTES, (int) crc.getValue());
+            channel.write(recordHeader, HEADER_SIZE);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new HydraException("Unable to write UTxO file: " + tmpFile, e);
+        }
+
+        // appends go to the replaced file from now on
+        closeAppendChannel();
+        try {
+            Files.move(tmpFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new HydraException("Unable to replace UTxO file: " + file, e);
+        }
+
+        baseBytes = size - HEADER_SIZE;
+        appendedBytes = 0;
+        compactionRequired = false;
+    }
+
+    private static void writeRecord(DataOutputStream out,
+                                    int snapshotNumber,
+                                    Map<String, UTXO> added,
+                                    Set<String> removed) throws IOException {
+        out.writeInt(snapshotNumber);
+        out.writeInt(added.size());
+        out.writeInt(removed.size());
+
+        for (val entry : added.entrySet()) {
+            writeString(out, entry.getKey());
+            writeUTxO(out, entry.getValue());
+        }
+        for (val txIn : removed) {
+            writeString(out, txIn);
+        }
+    }
+
+    private static void writeUTxO(DataOutputStream out, UTXO utxo) throws IOException {
+        writeString(out, utxo.getAddress());
+        writeString(out, utxo.getDatum());
+        writeString(out, utxo.getDatumhash());
+        writeString(out, utxo.getInlineDatum() == null ? null : utxo.getInlineDatum().toString());
+        writeString(out, utxo.getInlineDatumhash());
+        writeString(out, utxo.getReferenceScript());
+
+        if (utxo.getValue() == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        out.writeInt(utxo.getValue().size());
+        for (val asset : utxo.getValue().entrySet()) {
+            writeString(out, asset.getKey());
+            val quantity = asset.getValue().toByteArray();
+            out.writeByte(quantity.length);
+            out.write(quantity);
+        }
+    }
+
+    private static UTXO readUTxO(ByteBuffer buffer) {
+        val utxo = new UTXO();
+        utxo.setAddress(readString(buffer));
+        utxo.setDatum(readString(buffer));
+        utxo.setDatumhash(readString(buffer));
+        val inlineDatum = readString(buffer);
+        utxo.setInlineDatum(inlineDatum == null ? null : MoreJson.read(inlineDatum));
+        utxo.setInlineDatumhash(readString(buffer));
+        utxo.setReferenceScript(readString(buffer));
+
+        val assets = buffer.getInt();
+        if (assets == NULL_LENGTH) {
+            return utxo;
+        }
+        val value = new HashMap<String, BigInteger>(assets * 4 / 3 + 1);
+        for (int i = 0; i < assets; i++) {
+            val unit = readString(buffer);
+            val quantity = new byte[Byte.toUnsignedInt(buffer.get())];
+            buffer.get(quantity);
+            value.put(unit, new BigInteger(quantity));
+        }
+        utxo.setValue(value);
+
+        return utxo;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        val bytes = s.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        val length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        val bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, UTF_8);
+    }
+
+}
@@ -0,0 +1,416 @@
+package org.cardanofoundation.hydra.core.store;
+
+import lombok.val;
+
+import java.util.*;
+
+/**
+ * Immutable hash array mapped trie. Updates return a new map sharing all untouched nodes with the original one,
+ * which makes keeping many versions of a large map cheap.
+ *
+ * Mutating methods of the Map interface are not supported, use plus / minus instead.
+ */
+final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final Object NOT_FOUND = new Object();
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node root;
+
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    PersistentHashMap<K, V> plus(K key, V value) {
+        val added = new boolean[1];
+        val newRoot = root == null
+                ? new BitmapNode(0, new Object[0]).put(new Leaf(hash(key), key, value), 0, added)
+                : root.put(new Leaf(hash(key), key, value), 0, added);
+
+        if (newRoot == root) {
+            return this;
+        }
+
+        return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    PersistentHashMap<K, V> minus(Object key) {
+        if (root == null) {
+            return this;
+        }
+        val newRoot = root.remove(hash(key), key, 0);
+        if (newRoot == root) {
+            return this;
+        }
+
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return root != null && root.find(hash(key), key, 0) != NOT_FOUND;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (root == null) {
+            return null;
+        }
+        val value = root.find(hash(key), key, 0);
+
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+        };
+    }
+
+    private static int hash(Object key) {
+        val h = key.hashCode();
+
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static Object[] insert(Object[] array, int index, Object element) {
+        val copy = new Object[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, index);
+        copy[index] = element;
+        System.arraycopy(array, index, copy, index + 1, array.length - index);
+
+        return copy;
+    }
+
+    private static Object[] replace(Object[] array, int index, Object element) {
+        val copy = array.clone();
+        copy[index] = element;
+
+        return copy;
+    }
+
+    private static Object[] delete(Object[] array, int index) {
+        val copy = new Object[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, index);
+        System.arraycopy(array, index + 1, copy, index, array.length - index - 1);
+
+        return copy;
+    }
+
+    private static Node merge(Leaf first, Leaf second, int shift) {
+        if (first.hash == second.hash) {
+            return new CollisionNode(first.hash, new Object[] { first, second });
+        }
+        val firstBit = bit(first.hash, shift);
+        val secondBit = bit(second.hash, shift);
+        if (firstBit == secondBit) {
+            return new BitmapNode(firstBit, new Object[] { merge(first, second, shift + BITS) });
+        }
+
+        return new BitmapNode(firstBit | secondBit, Integer.compareUnsigned(firstBit, secondBit) < 0
+                ? new Object[] { first, second }
+                : new Object[] { second, first });
+    }
+
+    private static final class Leaf implements Map.Entry<Object, Object> {
+
+        private final int hash;
+
+        private final Object key;
+
+        private final Object value;
+
+        private Leaf(int hash, Object key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+
+    }
+
+    private abstract static class Node {
+
+        // every slot holds either a Leaf or a child Node
+        abstract Object[] slots();
+
+        abstract Object find(int hash, Object key, int shift);
+
+        abstract Node put(Leaf leaf, int shift, boolean[] added);
+
+        // returns null once the node becomes empty
+        abstract Node remove(int hash, Object key, int shift);
+
+    }
+
+    private static final class BitmapNode extends Node {
+
+        private final int bitmap;
+
+        private final Object[] slots;
+
+        private BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        @Override
+        Object[] slots() {
+            return slots;
+        }
+
+        @Override
+        Object find(int hash, Object key, int shift) {
+            val bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            val slot = slots[Integer.bitCount(bitmap & (bit - 1))];
+            if (slot instanceof Leaf leaf) {
+                return leaf.hash == hash && leaf.key.equals(key) ? leaf.value : NOT_FOUND;
+            }
+
+            return ((Node) slot).find(hash, key, shift + BITS);
+        }
+
+        @Override
+        Node put(Leaf leaf, int shift, boolean[] added) {
+            val bit = bit(leaf.hash, shift);
+            val index = Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, insert(slots, index, leaf));
+            }
+
+            val slot = slots[index];
+            if (slot instanceof Leaf existing) {
+                if (existing.hash == leaf.hash && existing.key.equals(leaf.key)) {
+                    return existing.value == leaf.value ? this : new BitmapNode(bitmap, replace(slots, index, leaf));
+                }
+                added[0] = true;
+                return new BitmapNode(bitmap, replace(slots, index, merge(existing, leaf, shift + BITS)));
+            }
+
+            val child = (Node) slot;
+            val newChild = child.put(leaf, shift + BITS, added);
+
+            return newChild == child ? this : new BitmapNode(bitmap, replace(slots, index, newChild));
+        }
+
+        @Override
+        Node remove(int hash, Object key, int shift) {
+            val bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            val index = Integer.bitCount(bitmap & (bit - 1));
+            val slot = slots[index];
+
+            if (slot instanceof Leaf leaf) {
+                if (leaf.hash != hash || !leaf.key.equals(key)) {
+                    return this;
+                }
+                return bitmap == bit ? null : new BitmapNode(bitmap ^ bit, delete(slots, index));
+            }
+
+            val child = (Node) slot;
+            val newChild = child.remove(hash, key, shift + BITS);
+            if (newChild == child) {
+                return this;
+            }
+            if (newChild == null) {
+                return bitmap == bit ? null : new BitmapNode(bitmap ^ bit, delete(slots, index));
+            }
+            // pull a lonely leaf up, keeps the trie as shallow as if the key has never been there
+            val childSlots = newChild.slots();
+            if (childSlots.length == 1 && childSlots[0] instanceof Leaf lonely) {
+                return new BitmapNode(bitmap, replace(slots, index, lonely));
+            }
+
+            return new BitmapNode(bitmap, replace(slots, index, newChild));
+        }
+
+    }
+
+    private static final class CollisionNode extends Node {
+
+        private final int hash;
+
+        private final Object[] leaves;
+
+        private CollisionNode(int hash, Object[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        @Override
+        Object[] slots() {
+            return leaves;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (((Leaf) leaves[i]).key.equals(key)) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        @Override
+        Object find(int hash, Object key, int shift) {
+            val index = hash == this.hash ? indexOf(key) : -1;
+
+            return index < 0 ? NOT_FOUND : ((Leaf) leaves[index]).value;
+        }
+
+        @Override
+        Node put(Leaf leaf, int shift, boolean[] added) {
+            if (leaf.hash != hash) {
+                // a different hash which shares the prefix so far, split into a bitmap node at this level
+                val split = new BitmapNode(bit(hash, shift), new Object[] { this });
+
+                return split.put(leaf, shift, added);
+            }
+            val index = indexOf(leaf.key);
+            if (index < 0) {
+                added[0] = true;
+                return new CollisionNode(hash, insert(leaves, leaves.length, leaf));
+            }
+
+            return ((Leaf) leaves[index]).value == leaf.value ? this : new CollisionNode(hash, replace(leaves, index, leaf));
+        }
+
+        @Override
+        Node remove(int hash, Object key, int shift) {
+            val index = hash == this.hash ? indexOf(key) : -1;
+            if (index < 0) {
+                return this;
+            }
+
+            return leaves.length == 1 ? null : new CollisionNode(hash, delete(leaves, index));
+        }
+
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+
+        private final Deque<Object[]> slots = new ArrayDeque<>();
+
+        private final Deque<Integer> positions = new ArrayDeque<>();
+
+        private Leaf next;
+
+        private EntryIterator() {
+            if (root != null) {
+                slots.push(root.slots());
+                positions.push(0);
+            }
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (!slots.isEmpty()) {
+                val current = slots.peek();
+                val position = positions.pop();
+                if (position >= current.length) {
+                    slots.pop();
+                    continue;
+                }
+                positions.push(position + 1);
+
+                val slot = current[position];
+                if (slot instanceof Leaf leaf) {
+                    next = leaf;
+                    return;
+                }
+                slots.push(((Node) slot).slots());
+                positions.push(0);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            val current = next;
+            advance();
+
+            return (Entry<K, V>) (Entry<?, ?>) current;
+        }
+
+    }
+
+}
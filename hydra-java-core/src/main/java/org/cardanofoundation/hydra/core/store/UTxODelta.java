@@ -0,0 +1,107 @@
+package org.cardanofoundation.hydra.core.store;
+
+import lombok.val;
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Difference between two consecutive UTxO sets, keyed by TxIn (txHash#outputIndex).
+ *
+ * Outputs referenced by a TxIn never change, an UTxO set can therefore only gain or lose entries.
+ */
+public final class UTxODelta {
+
+    private final int snapshotNumber;
+
+    @Nullable private final Map<String, UTXO> previous;
+
+    @Nullable private final Map<String, UTXO> latest;
+
+    @Nullable private volatile Map<String, UTXO> added;
+
+    @Nullable private volatile Map<String, UTXO> removed;
+
+    private UTxODelta(int snapshotNumber,
+                      @Nullable Map<String, UTXO> previous,
+                      @Nullable Map<String, UTXO> latest,
+                      @Nullable Map<String, UTXO> added,
+                      @Nullable Map<String, UTXO> removed) {
+        this.snapshotNumber = snapshotNumber;
+        this.previous = previous;
+        this.latest = latest;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    public static UTxODelta of(int snapshotNumber, Map<String, UTXO> added, Map<String, UTXO> removed) {
+        return new UTxODelta(snapshotNumber, null, null, Collections.unmodifiableMap(added), Collections.unmodifiableMap(removed));
+    }
+
+    public static UTxODelta empty(int snapshotNumber) {
+        return new UTxODelta(snapshotNumber, null, null, Map.of(), Map.of());
+    }
+
+    /**
+     * Creates a delta which is only computed when added or removed entries are requested for the first time.
+     */
+    public static UTxODelta between(int snapshotNumber,
+                                    @Nullable Map<String, UTXO> previous,
+                                    @Nullable Map<String, UTXO> latest) {
+        return new UTxODelta(snapshotNumber, previous == null ? Map.of() : previous, latest == null ? Map.of() : latest, null, null);
+    }
+
+    public int getSnapshotNumber() {
+        return snapshotNumber;
+    }
+
+    /**
+     * @return entries present in the latest set but not in the previous one
+     */
+    public Map<String, UTXO> getAdded() {
+        var result = added;
+        if (result == null) {
+            result = difference(latest, previous);
+            added = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * @return entries present in the previous set but not in the latest one
+     */
+    public Map<String, UTXO> getRemoved() {
+        var result = removed;
+        if (result == null) {
+            result = difference(previous, latest);
+            removed = result;
+        }
+
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return getAdded().isEmpty() && getRemoved().isEmpty();
+    }
+
+    private static Map<String, UTXO> difference(Map<String, UTXO> from, Map<String, UTXO> without) {
+        val result = new HashMap<String, UTXO>();
+        for (val entry : from.entrySet()) {
+            if (!without.containsKey(entry.getKey())) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UTxODelta(snapshotNumber:%d, added:%d, removed:%d)", snapshotNumber, getAdded().size(), getRemoved().size());
+    }
+
+}
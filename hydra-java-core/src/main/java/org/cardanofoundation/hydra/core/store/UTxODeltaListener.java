@@ -0,0 +1,9 @@
+package org.cardanofoundation.hydra.core.store;
+
+import java.util.EventListener;
+
+public interface UTxODeltaListener extends EventListener {
+
+    void onDelta(UTxODelta delta);
+
+}
@@ -1,5 +1,6 @@
 package org.cardanofoundation.hydra.core.store;
 
+import lombok.val;
 import org.cardanofoundation.hydra.core.model.UTXO;
 
 import java.util.Map;
@@ -11,4 +12,27 @@ public interface UTxOStore {
 
     void storeLatestUtxO(Map<String, UTXO> utxo);
 
+    /**
+     * Stores the UTxO set of the given snapshot and reports what changed compared to the previously stored set.
+     *
+     * @param snapshotNumber - number of the snapshot the UTxO set belongs to
+     * @param utxo - complete UTxO set of the snapshot
+     * @return TxIns added and removed by this snapshot
+     */
+    default UTxODelta applySnapshot(int snapshotNumber, Map<String, UTXO> utxo) {
+        val previous = getLatestUTxO();
+        storeLatestUtxO(utxo);
+
+        return UTxODelta.between(snapshotNumber, previous, utxo);
+    }
+
+    /**
+     * Called when the hydra-node reports it has adopted a different chain fork and rolled back its state.
+     * The rollback does not tell how far back it goes, stores must not guess a version to revert to, they may
+     * mark the UTxO set stale until the next snapshot is applied.
+     */
+    default void rollback() {
+        // nothing to revert to by default
+    }
+
 }
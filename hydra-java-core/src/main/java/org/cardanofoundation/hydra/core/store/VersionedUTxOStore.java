@@ -0,0 +1,160 @@
+package org.cardanofoundation.hydra.core.store;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.core.model.UTXO;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * UTxO store which keeps the UTxO sets of the last N snapshots. Versions are persistent maps sharing structure
+ * with each other, so a version costs O(changes) memory and reverting to any kept version is O(1).
+ *
+ * Applying a snapshot number lower than the latest one drops all newer versions, through the client's updater
+ * this happens when a new head opens and starts over at snapshot 0. Applying the same snapshot number again
+ * (e.g. commits) replaces its version.
+ *
+ * RolledBack messages of the hydra-node carry no snapshot number, an observed rollback therefore only marks the
+ * store stale until the next snapshot instead of guessing a version to revert to. {@link #rollbackTo(int)} is for
+ * callers which know the snapshot to go back to from elsewhere, the client never calls it.
+ */
+@Slf4j
+public class VersionedUTxOStore implements UTxOStore {
+
+    public static final int DEFAULT_MAX_VERSIONS = 16;
+
+    private final int maxVersions;
+
+    private final NavigableMap<Integer, PersistentHashMap<String, UTXO>> versions = new ConcurrentSkipListMap<>();
+
+    private volatile PersistentHashMap<String, UTXO> latest = PersistentHashMap.empty();
+
+    private volatile int snapshotNumber = 0;
+
+    private volatile boolean stale = false;
+
+    public VersionedUTxOStore() {
+        this(DEFAULT_MAX_VERSIONS);
+    }
+
+    public VersionedUTxOStore(int maxVersions) {
+        if (maxVersions < 1) {
+            throw new IllegalArgumentException("maxVersions must be at least 1!");
+        }
+        this.maxVersions = maxVersions;
+    }
+
+    /**
+     * @return immutable UTxO set of the latest snapshot
+     */
+    @Override
+    public Map<String, UTXO> getLatestUTxO() {
+        return latest;
+    }
+
+    public int getSnapshotNumber() {
+        return snapshotNumber;
+    }
+
+    /**
+     * @return true after a rollback was observed until the next snapshot is applied
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * @param snapshotNumber - snapshot number
+     * @return immutable UTxO set at the given snapshot, empty if it is not kept (anymore)
+     */
+    public Optional<Map<String, UTXO>> getUTxO(int snapshotNumber) {
+        return Optional.ofNullable(versions.get(snapshotNumber));
+    }
+
+    /**
+     * @return snapshot numbers of all kept versions, oldest first
+     */
+    public NavigableSet<Integer> getSnapshotNumbers() {
+        return Collections.unmodifiableNavigableSet(versions.navigableKeySet());
+    }
+
+    @Override
+    public void storeLatestUtxO(Map<String, UTXO> utxo) {
+        applySnapshot(snapshotNumber, utxo);
+    }
+
+    @Override
+    public synchronized UTxODelta applySnapshot(int snapshotNumber, Map<String, UTXO> latestUtxo) {
+        val utxo = latestUtxo == null ? Map.<String, UTXO>of() : latestUtxo;
+        val previous = latest;
+
+        var next = previous;
+        val added = new HashMap<String, UTXO>();
+        // only added entries are read, entries of a lazily decoded set already in the store stay undecoded
+        for (val txIn : utxo.keySet()) {
+            if (!previous.containsKey(txIn)) {
+                val output = utxo.get(txIn);
+                added.put(txIn, output);
+                next = next.plus(txIn, output);
+            }
+        }
+
+        val removed = new HashMap<String, UTXO>();
+        // sizes tell us whether anything has been spent at all, in which case we need to look for it
+        if (previous.size() + added.size() != utxo.size()) {
+            for (val entry : previous.entrySet()) {
+                if (!utxo.containsKey(entry.getKey())) {
+                    removed.put(entry.getKey(), entry.getValue());
+                    next = next.minus(entry.getKey());
+                }
+            }
+        }
+
+        val newer = versions.tailMap(snapshotNumber, false);
+        if (!newer.isEmpty()) {
+            log.info("Snapshot: {} is older than the latest: {}, dropping newer versions.", snapshotNumber, versions.lastKey());
+            newer.clear();
+        }
+        versions.put(snapshotNumber, next);
+        while (versions.size() > maxVersions) {
+            versions.pollFirstEntry();
+        }
+
+        this.latest = next;
+        this.snapshotNumber = snapshotNumber;
+        this.stale = false;
+
+        return UTxODelta.of(snapshotNumber, added, removed);
+    }
+
+    /**
+     * Reverts the store to the given snapshot, all newer versions are dropped.
+     *
+     * @param snapshotNumber - snapshot number to revert to
+     * @return true if the store has been reverted, false if the version is not kept
+     */
+    public synchronized boolean rollbackTo(int snapshotNumber) {
+        val version = versions.get(snapshotNumber);
+        if (version == null) {
+            return false;
+        }
+        versions.tailMap(snapshotNumber, false).clear();
+
+        this.latest = version;
+        this.snapshotNumber = snapshotNumber;
+        this.stale = false;
+
+        return true;
+    }
+
+    /**
+     * Marks the UTxO set stale until the next snapshot, no version is reverted to.
+     */
+    @Override
+    public void rollback() {
+        log.info("Rollback observed, UTxO set of snapshot: {} is stale until the next snapshot.", snapshotNumber);
+        stale = true;
+    }
+
+}
@@ -1,7 +1,37 @@
 package org.cardanofoundation.hydra.core.utils;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Lookup table based hex codec, encodes and decodes whole arrays and buffers without allocating per byte.
+ */
 public final class HexUtils {
 
+    private static final byte[] DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    // byte -> two ascii digits, high digit first
+    private static final byte[] ENCODE_TABLE = new byte[512];
+
+    // ascii -> nibble, -1 for characters which are no hex digits
+    private static final byte[] DECODE_TABLE = new byte[128];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            ENCODE_TABLE[i << 1] = DIGITS[i >>> 4];
+            ENCODE_TABLE[(i << 1) + 1] = DIGITS[i & 0xF];
+        }
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            DECODE_TABLE['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            DECODE_TABLE['a' + i] = (byte) (10 + i);
+            DECODE_TABLE['A' + i] = (byte) (10 + i);
+        }
+    }
+
     public static String encodeHexString(byte[] byteArray) {
         if (byteArray == null)
             return null;
@@ -13,17 +43,77 @@ public final class HexUtils {
         if (byteArray == null)
             return null;
 
-        StringBuilder hexStringBuffer = new StringBuilder();
-        for (byte b : byteArray) {
-            hexStringBuffer.append(byteToHex(b));
+        int offset = withPrefix ? 2 : 0;
+        byte[] ascii = new byte[offset + byteArray.length * 2];
+        if (withPrefix) {
+            ascii[0] = '0';
+            ascii[1] = 'x';
         }
-        String hexString = hexStringBuffer.toString();
+        encodeHex(byteArray, ascii, offset);
 
-        if (withPrefix) {
-            return "0x" + hexString;
+        return new String(ascii, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @param bytes - bytes to encode
+     * @return lower case hex digits
+     */
+    public static char[] encodeHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        encodeHex(bytes, hex, 0);
+
+        return hex;
+    }
+
+    /**
+     * Writes the lower case hex digits of the given bytes into the given array.
+     *
+     * @param bytes - bytes to encode
+     * @param dst - destination, needs room for two characters per byte
+     * @param dstOffset - index of the first character written
+     */
+    public static void encodeHex(byte[] bytes, char[] dst, int dstOffset) {
+        int j = dstOffset;
+        for (byte b : bytes) {
+            int index = (b & 0xFF) << 1;
+            dst[j++] = (char) ENCODE_TABLE[index];
+            dst[j++] = (char) ENCODE_TABLE[index + 1];
         }
+    }
 
-        return hexString;
+    /**
+     * Writes the lower case hex digits of the given bytes as ascii into the given array.
+     */
+    public static void encodeHex(byte[] bytes, byte[] dst, int dstOffset) {
+        int j = dstOffset;
+        for (byte b : bytes) {
+            int index = (b & 0xFF) << 1;
+            dst[j++] = ENCODE_TABLE[index];
+            dst[j++] = ENCODE_TABLE[index + 1];
+        }
+    }
+
+    /**
+     * Writes the lower case hex digits of the given bytes as ascii at the position of the buffer, advancing it.
+     *
+     * @param bytes - bytes to encode
+     * @param dst - destination, needs two bytes remaining per encoded byte
+     */
+    public static void encodeHex(byte[] bytes, ByteBuffer dst) {
+        int length = bytes.length * 2;
+        if (dst.remaining() < length) {
+            throw new IllegalArgumentException("Buffer too small for hex encoding, needed: " + length + ", remaining: " + dst.remaining());
+        }
+        if (dst.hasArray()) {
+            encodeHex(bytes, dst.array(), dst.arrayOffset() + dst.position());
+            dst.position(dst.position() + length);
+            return;
+        }
+        for (byte b : bytes) {
+            int index = (b & 0xFF) << 1;
+            dst.put(ENCODE_TABLE[index]);
+            dst.put(ENCODE_TABLE[index + 1]);
+        }
     }
 
     public static byte[] decodeHexString(String hexString) {
@@ -33,13 +123,60 @@ public final class HexUtils {
 
         assert hexString != null;
 
-        if (hexString.length() % 2 == 1) {
-            throw new IllegalArgumentException("Invalid hexadecimal String supplied. " + hexString);
+        return decodeHex(hexString);
+    }
+
+    /**
+     * @param hex - hex digits, upper or lower case
+     * @return decoded bytes
+     */
+    public static byte[] decodeHex(CharSequence hex) {
+        int length = hex.length();
+        if (length % 2 == 1) {
+            throw new IllegalArgumentException("Invalid hexadecimal String supplied. " + hex);
+        }
+
+        byte[] bytes = new byte[length / 2];
+        for (int i = 0, j = 0; i < length; i += 2, j++) {
+            bytes[j] = (byte) ((toDigit(hex.charAt(i)) << 4) | toDigit(hex.charAt(i + 1)));
+        }
+
+        return bytes;
+    }
+
+    /**
+     * @param hex - hex digits, upper or lower case
+     * @return decoded bytes
+     */
+    public static byte[] decodeHex(char[] hex) {
+        if (hex.length % 2 == 1) {
+            throw new IllegalArgumentException("Invalid hexadecimal String supplied. " + new String(hex));
+        }
+
+        byte[] bytes = new byte[hex.length / 2];
+        for (int i = 0, j = 0; i < hex.length; i += 2, j++) {
+            bytes[j] = (byte) ((toDigit(hex[i]) << 4) | toDigit(hex[i + 1]));
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Decodes the remaining ascii hex digits of the buffer, advancing it to its limit.
+     *
+     * @param hex - ascii hex digits, upper or lower case
+     * @return decoded bytes
+     */
+    public static byte[] decodeHex(ByteBuffer hex) {
+        int length = hex.remaining();
+        if (length % 2 == 1) {
+            throw new IllegalArgumentException("Invalid hexadecimal buffer supplied, odd length: " + length);
         }
 
-        byte[] bytes = new byte[hexString.length() / 2];
-        for (int i = 0; i < hexString.length(); i += 2) {
-            bytes[i / 2] = hexToByte(hexString.substring(i, i + 2));
+        byte[] bytes = new byte[length / 2];
+        for (int j = 0; j < bytes.length; j++) {
+            int high = toDigit((char) (hex.get() & 0xFF));
+            bytes[j] = (byte) ((high << 4) | toDigit((char) (hex.get() & 0xFF)));
         }
 
         return bytes;
@@ -52,15 +189,13 @@ public final class HexUtils {
     }
 
     public static String byteToHex(byte num) {
-        char[] hexDigits = new char[2];
-        hexDigits[0] = Character.forDigit((num >> 4) & 0xF, 16);
-        hexDigits[1] = Character.forDigit((num & 0xF), 16);
+        int index = (num & 0xFF) << 1;
 
-        return new String(hexDigits);
+        return new String(ENCODE_TABLE, index, 2, StandardCharsets.ISO_8859_1);
     }
 
     private static int toDigit(char hexChar) {
-        int digit = Character.digit(hexChar, 16);
+        int digit = hexChar < DECODE_TABLE.length ? DECODE_TABLE[hexChar] : -1;
         if (digit == -1) {
             throw new IllegalArgumentException(
                     "Invalid Hexadecimal Character: "+ hexChar);
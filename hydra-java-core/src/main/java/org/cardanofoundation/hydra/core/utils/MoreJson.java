@@ -1,5 +1,6 @@
 package org.cardanofoundation.hydra.core.utils;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -60,6 +61,30 @@ public class MoreJson {
         }
     }
 
+    public static JsonParser createParser(String json) throws HydraException {
+        try {
+            return MAPPER.createParser(json);
+        } catch (IOException e) {
+            throw new HydraException("Unable to create json parser", e);
+        }
+    }
+
+    public static <T> T readValue(byte[] json, int offset, int length, Class<T> clazz) throws HydraException {
+        try {
+            return MAPPER.readValue(json, offset, length, clazz);
+        } catch (IOException e) {
+            throw new HydraException("Unable to deserialise json", e);
+        }
+    }
+
+    public static <T> T readValue(JsonParser parser, Class<T> clazz) throws HydraException {
+        try {
+            return MAPPER.readValue(parser, clazz);
+        } catch (IOException e) {
+            throw new HydraException("Unable to deserialise json", e);
+        }
+    }
+
     public static Map<String, UTXO> convertUTxOMap(JsonNode o) throws HydraException {
         return MAPPER.convertValue(o, new TypeReference<Map<String, UTXO>>(){});
     }
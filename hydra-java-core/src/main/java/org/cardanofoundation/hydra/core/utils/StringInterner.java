@@ -0,0 +1,94 @@
+package org.cardanofoundation.hydra.core.utils;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, lock-free interner for strings repeated across snapshots (addresses, datum hashes, asset units).
+ *
+ * Works as a direct mapped cache of weak references: a string hashes to exactly one slot and replaces whatever
+ * was there on a miss, so the interner never holds more than its capacity and never keeps a string alive.
+ */
+public final class StringInterner {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final StringInterner SHARED = new StringInterner(DEFAULT_CAPACITY);
+
+    private final AtomicReferenceArray<WeakReference<String>> slots;
+
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity - number of slots, rounded up to a power of two
+     */
+    public StringInterner(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive!");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return interner shared by UTXO decoding and UTxO stores
+     */
+    public static StringInterner shared() {
+        return SHARED;
+    }
+
+    @Nullable
+    public String intern(@Nullable String s) {
+        if (s == null) {
+            return null;
+        }
+        int h = s.hashCode();
+        int index = (h ^ (h >>> 16)) & mask;
+
+        WeakReference<String> slot = slots.get(index);
+        String interned = slot == null ? null : slot.get();
+        if (s.equals(interned)) {
+            hits.increment();
+            return interned;
+        }
+
+        misses.increment();
+        slots.set(index, new WeakReference<>(s));
+
+        return s;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return share of intern calls answered with an already known instance, 0 when nothing has been interned yet
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+}
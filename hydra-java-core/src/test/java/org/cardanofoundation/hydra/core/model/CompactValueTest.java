@@ -0,0 +1,53 @@
+package org.cardanofoundation.hydra.core.model;
+
+import org.cardanofoundation.hydra.core.utils.MoreJson;
+import org.cardanofoundation.hydra.core.utils.StringInterner;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactValueTest {
+
+    private static final String UNIT = "8bb9e8a4a4e5e1f1c6f0f3ab2f0d0c3f4e5d6c7b8a9f0e1d2c3b4a59.746f6b656e";
+
+    @Test
+    public void keepsUTXOValueCompact() {
+        var maxQuantity = new BigInteger("18446744073709551615");
+        var value = new LinkedHashMap<String, BigInteger>();
+        value.put("lovelace", BigInteger.valueOf(2_000_000));
+        value.put(UNIT, maxQuantity);
+
+        var utxo = UTXO.builder().address("addr1").value(value).build();
+
+        var compact = assertInstanceOf(CompactValue.class, utxo.getValue());
+        assertEquals(2_000_000, compact.lovelace());
+        assertEquals(value, compact);
+        assertEquals(maxQuantity, compact.get(UNIT));
+        assertNull(compact.get("other"));
+        assertSame(StringInterner.shared().intern(UNIT), compact.keySet().stream().skip(1).findFirst().orElseThrow());
+    }
+
+    @Test
+    public void compactsDeserialisedValue() {
+        var utxo = MoreJson.readValue("{\"address\":\"addr1\",\"value\":{\"lovelace\":10,\"" + UNIT + "\":1}}", UTXO.class);
+
+        assertInstanceOf(CompactValue.class, utxo.getValue());
+        assertEquals(Map.of("lovelace", BigInteger.TEN, UNIT, BigInteger.ONE), utxo.getValue());
+        assertEquals(MoreJson.read("{\"lovelace\":10,\"" + UNIT + "\":1}"), MoreJson.read(MoreJson.serialise(utxo.getValue())));
+    }
+
+    @Test
+    public void leavesOutOfRangeValuesAsTheyAre() {
+        var negative = Map.of("lovelace", BigInteger.ONE, UNIT, BigInteger.valueOf(-1));
+        var withoutLovelace = Map.of(UNIT, BigInteger.ONE);
+
+        assertSame(negative, CompactValue.of(negative));
+        assertFalse(CompactValue.of(withoutLovelace).containsKey("lovelace"));
+        assertEquals(0, ((CompactValue) CompactValue.of(withoutLovelace)).lovelace());
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.cardanofoundation.hydra.core.model;
+
+import org.cardanofoundation.hydra.core.model.query.request.InitRequest;
+import org.cardanofoundation.hydra.core.model.query.request.NewTxRequest;
+import org.cardanofoundation.hydra.core.utils.HexUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestEncoderTest {
+
+    private static String json(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+    }
+
+    @Test
+    public void encodesRequestsIntoReusedBuffer() {
+        var encoder = new RequestEncoder(8);
+
+        var init = encoder.encode(new InitRequest());
+        assertEquals("{\"tag\":\"Init\"}", json(init));
+
+        var newTx = encoder.encode(new NewTxRequest("84a300"));
+        assertEquals("{\"tag\":\"NewTx\",\"transaction\":\"84a300\"}", json(newTx));
+
+        // grown once, then reused
+        assertSame(newTx, encoder.encode(new InitRequest()));
+        assertEquals("{\"tag\":\"Init\"}", json(newTx));
+    }
+
+    @Test
+    public void hexEncodesTransactionBytes() {
+        var encoder = new RequestEncoder();
+        var cbor = new byte[] { (byte) 0x84, (byte) 0xa3, 0x00, (byte) 0xff, 0x0f };
+
+        assertEquals(new NewTxRequest(HexUtils.encodeHexString(cbor)).getRequestBody(), json(encoder.encodeNewTx(cbor)));
+    }
+
+    @Test
+    public void escapesStrings() {
+        var encoder = new RequestEncoder();
+
+        var json = json(encoder.encode(new NewTxRequest("a\"b\\c\nd€😀")));
+
+        assertEquals("{\"tag\":\"NewTx\",\"transaction\":\"a\\\"b\\\\c\\u000ad€😀\"}", json);
+    }
+
+    @Test
+    public void encodesBodyOfRequestsOnlyRenderingIt() {
+        var request = new Request(Tag.NewTx) {
+            @Override
+            protected String getRequestBody() {
+                return "{\"tag\":\"NewTx\",\"transaction\":\"ünïcode\"}";
+            }
+        };
+
+        assertEquals(request.getRequestBody(), json(new RequestEncoder(8).encode(request)));
+        assertEquals("{\"tag\":\"Init\"}", new InitRequest().getRequestBody());
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.cardanofoundation.hydra.core.store;
+
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalUTxOStoreTest {
+
+    private static UTXO utxo(String address, long lovelace) {
+        return UTXO.builder()
+                .address(address)
+                .value(Map.of("lovelace", BigInteger.valueOf(lovelace)))
+                .build();
+    }
+
+    @Test
+    public void reportsAddedAndRemovedTxIns() {
+        var store = new IncrementalUTxOStore();
+
+        var delta0 = store.applySnapshot(0, Map.of("a#0", utxo("addr1", 10), "b#0", utxo("addr2", 20)));
+
+        assertEquals(Set.of("a#0", "b#0"), delta0.getAdded().keySet());
+        assertTrue(delta0.getRemoved().isEmpty());
+
+        var delta1 = store.applySnapshot(1, Map.of("b#0", utxo("addr2", 20), "c#0", utxo("addr1", 5), "c#1", utxo("addr2", 5)));
+
+        assertEquals(1, delta1.getSnapshotNumber());
+        assertEquals(Set.of("c#0", "c#1"), delta1.getAdded().keySet());
+        assertEquals(Set.of("a#0"), delta1.getRemoved().keySet());
+        assertEquals("addr1", delta1.getRemoved().get("a#0").getAddress());
+        assertEquals(Set.of("b#0", "c#0", "c#1"), store.getLatestUTxO().keySet());
+        assertEquals(1, store.getSnapshotNumber());
+    }
+
+    @Test
+    public void keepsInstancesOfUnchangedOutputs() {
+        var store = new IncrementalUTxOStore();
+        var original = utxo("addr1", 10);
+
+        store.applySnapshot(0, Map.of("a#0", original));
+        var delta = store.applySnapshot(1, Map.of("a#0", utxo("addr1", 10)));
+
+        assertTrue(delta.isEmpty());
+        assertSame(original, store.getLatestUTxO().get("a#0"));
+    }
+
+    @Test
+    public void notifiesListenersOnlyAboutChanges() {
+        var deltas = new ArrayList<UTxODelta>();
+        var store = new IncrementalUTxOStore().addDeltaListener(deltas::add);
+
+        store.applySnapshot(0, Map.of("a#0", utxo("addr1", 10)));
+        store.applySnapshot(1, Map.of("a#0", utxo("addr1", 10)));
+        store.applySnapshot(2, Map.of());
+
+        assertEquals(2, deltas.size());
+        assertEquals(Set.of("a#0"), deltas.get(1).getRemoved().keySet());
+    }
+
+    @Test
+    public void lazyDeltaOfReplacingStore() {
+        var store = new InMemoryUTxOStore(Map.of("a#0", utxo("addr1", 10)));
+
+        var delta = store.applySnapshot(1, Map.of("b#0", utxo("addr1", 10)));
+
+        assertEquals(Set.of("b#0"), delta.getAdded().keySet());
+        assertEquals(Set.of("a#0"), delta.getRemoved().keySet());
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.cardanofoundation.hydra.core.store;
+
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedUTxOStoreTest {
+
+    private static final String POLICY_ID = "8bb9e8a4a4e5e1f1c6f0f3ab2f0d0c3f4e5d6c7b8a9f0e1d2c3b4a59";
+
+    private static UTXO utxo(String address, Map<String, BigInteger> value) {
+        return UTXO.builder()
+                .address(address)
+                .value(value)
+                .build();
+    }
+
+    @Test
+    public void indexesAddressesAndAssets() {
+        var store = new IndexedUTxOStore();
+        var token = POLICY_ID + "746f6b656e";
+
+        store.applySnapshot(0, Map.of(
+                "a#0", utxo("addr1", Map.of("lovelace", BigInteger.TEN)),
+                "a#1", utxo("addr1", Map.of("lovelace", BigInteger.TEN, token, BigInteger.ONE)),
+                "b#0", utxo("addr2", Map.of("lovelace", BigInteger.TWO))));
+
+        assertEquals(Set.of("a#0", "a#1"), store.getTxInsByAddress("addr1"));
+        assertEquals(Set.of("b#0"), store.getTxInsByAddress("addr2"));
+        assertEquals(Set.of("a#1"), store.getTxInsByUnit(token));
+        assertEquals(Set.of("a#1"), store.getTxInsByPolicyId(POLICY_ID));
+        assertTrue(store.getTxInsByUnit("lovelace").isEmpty());
+        assertTrue(store.getTxInsByAddress("addr3").isEmpty());
+    }
+
+    @Test
+    public void dropsSpentOutputsFromIndexes() {
+        var store = new IndexedUTxOStore();
+        var token = POLICY_ID + "746f6b656e";
+
+        store.applySnapshot(0, Map.of(
+                "a#0", utxo("addr1", Map.of("lovelace", BigInteger.TEN, token, BigInteger.ONE)),
+                "b#0", utxo("addr2", Map.of("lovelace", BigInteger.TWO))));
+        store.applySnapshot(1, Map.of(
+                "b#0", utxo("addr2", Map.of("lovelace", BigInteger.TWO)),
+                "c#0", utxo("addr2", Map.of("lovelace", BigInteger.TEN, token, BigInteger.ONE))));
+
+        assertTrue(store.getTxInsByAddress("addr1").isEmpty());
+        assertEquals(Set.of("b#0", "c#0"), store.getTxInsByAddress("addr2"));
+        assertEquals(Set.of("c#0"), store.getTxInsByPolicyId(POLICY_ID));
+    }
+
+}
@@ -0,0 +1,194 @@
+package org.cardanofoundation.hydra.core.store;
+
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.cardanofoundation.hydra.core.utils.MoreJson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileUTxOStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void reopensLastPersistedSnapshot() {
+        var file = tempDir.resolve("utxo.bin");
+        var store = new MappedFileUTxOStore(file);
+
+        store.applySnapshot(3, Map.of(
+                "a#0", UTXO.builder()
+                        .address("addr1")
+                        .value(Map.of("lovelace", new BigInteger("18446744073709551615"), "abcd.ef", BigInteger.ONE))
+                        .inlineDatum(MoreJson.read("{\"constructor\":0,\"fields\":[{\"int\":42}]}"))
+                        .inlineDatumhash("deadbeef")
+                        .build(),
+                "b#1", UTXO.builder()
+                        .address("addr2")
+                        .value(Map.of("lovelace", BigInteger.TEN))
+                        .build()));
+
+        var reopened = new MappedFileUTxOStore(file);
+
+        assertEquals(3, reopened.getSnapshotNumber());
+        assertEquals(Set.of("a#0", "b#1"), reopened.getLatestUTxO().keySet());
+        var utxo = reopened.getLatestUTxO().get("a#0");
+        assertEquals("addr1", utxo.getAddress());
+        assertEquals(new BigInteger("18446744073709551615"), utxo.getValue().get("lovelace"));
+        assertEquals(BigInteger.ONE, utxo.getValue().get("abcd.ef"));
+        assertEquals(42, utxo.getInlineDatum().get("fields").get(0).get("int").asInt());
+        assertEquals("deadbeef", utxo.getInlineDatumhash());
+        assertNull(utxo.getDatumhash());
+        assertEquals(Set.of("b#1"), reopened.getTxInsByAddress("addr2"));
+    }
+
+    @Test
+    public void reconcilesAgainstNextSnapshot() {
+        var file = tempDir.resolve("utxo.bin");
+        new MappedFileUTxOStore(file).applySnapshot(1, Map.of("a#0", utxo("addr1"), "b#0", utxo("addr1")));
+
+        var reopened = new MappedFileUTxOStore(file);
+        var delta = reopened.applySnapshot(2, Map.of("b#0", utxo("addr1"), "c#0", utxo("addr2")));
+
+        assertEquals(Set.of("c#0"), delta.getAdded().keySet());
+        assertEquals(Set.of("a#0"), delta.getRemoved().keySet());
+        assertEquals(2, new MappedFileUTxOStore(file).getSnapshotNumber());
+    }
+
+    @Test
+    public void startsEmptyWithUnreadableFile() throws IOException {
+        var file = tempDir.resolve("utxo.bin");
+        Files.write(file, new byte[] { 1, 2, 3 });
+
+        var store = new MappedFileUTxOStore(file);
+
+        assertTrue(store.getLatestUTxO().isEmpty());
+    }
+
+    @Test
+    public void persistsSnapshotNumberOfEmptyDelta() {
+        var file = tempDir.resolve("utxo.bin");
+        var store = new MappedFileUTxOStore(file);
+        store.applySnapshot(1, Map.of("a#0", utxo("addr1")));
+
+        store.applySnapshot(2, Map.of("a#0", utxo("addr1")));
+
+        assertEquals(2, new MappedFileUTxOStore(file).getSnapshotNumber());
+    }
+
+    @Test
+    public void appendsDeltasUntilCompacting() throws IOException {
+        var file = tempDir.resolve("utxo.bin");
+        var store = new MappedFileUTxOStore(file, 1, 0);
+        store.applySnapshot(1, Map.of("a#0", utxo("addr1"), "b#0", utxo("addr1")));
+        var compactedSize = Files.size(file);
+
+        store.applySnapshot(2, Map.of("a#0", utxo("addr1"), "c#0", utxo("addr2")));
+        var appendedSize = Files.size(file);
+        store.applySnapshot(3, Map.of("a#0", utxo("addr1"), "c#0", utxo("addr2"), "d#0", utxo("addr2")));
+
+        assertTrue(appendedSize > compactedSize);
+        assertTrue(Files.size(file) > appendedSize);
+        var reopened = new MappedFileUTxOStore(file, 1, 0);
+        assertEquals(3, reopened.getSnapshotNumber());
+        assertEquals(Set.of("a#0", "c#0", "d#0"), reopened.getLatestUTxO().keySet());
+        assertEquals(Set.of("c#0", "d#0"), reopened.getTxInsByAddress("addr2"));
+
+        // appended deltas outgrew the initial set, the next snapshot rewrites the log as a whole
+        reopened.applySnapshot(4, Map.of("d#0", utxo("addr2")));
+
+        assertTrue(Files.size(file) < compactedSize);
+        assertEquals(Set.of("d#0"), new MappedFileUTxOStore(file).getLatestUTxO().keySet());
+    }
+
+    @Test
+    public void dropsIncompleteRecord() throws IOException {
+        var file = tempDir.resolve("utxo.bin");
+        var store = new MappedFileUTxOStore(file);
+        store.applySnapshot(1, Map.of("a#0", utxo("addr1")));
+        var compactedSize = Files.size(file);
+        store.applySnapshot(2, Map.of("a#0", utxo("addr1"), "b#0", utxo("addr1")));
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 1);
+        }
+        var reopened = new MappedFileUTxOStore(file);
+
+        assertEquals(1, reopened.getSnapshotNumber());
+        assertEquals(Set.of("a#0"), reopened.getLatestUTxO().keySet());
+
+        reopened.applySnapshot(3, Map.of("c#0", utxo("addr1")));
+
+        assertEquals(compactedSize, Files.size(file));
+        assertEquals(Set.of("c#0"), new MappedFileUTxOStore(file).getLatestUTxO().keySet());
+    }
+
+    @Test
+    public void dropsTornTrailingRecord() throws IOException {
+        var file = tempDir.resolve("utxo.bin");
+        var store = new MappedFileUTxOStore(file);
+        store.applySnapshot(1, Map.of("a#0", utxo("addr1")));
+        store.applySnapshot(2, Map.of("a#0", utxo("addr1"), "b#0", utxo("addr1")));
+        var appendedSize = Files.size(file);
+        store.applySnapshot(3, Map.of("a#0", utxo("addr1"), "b#0", utxo("addr1"), "c#0", utxo("addr2")));
+        store.close();
+
+        // the last record has its full length but a byte of it never made it to disk
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0 }), Files.size(file) - 2);
+        }
+        var reopened = new MappedFileUTxOStore(file);
+
+        assertEquals(2, reopened.getSnapshotNumber());
+        assertEquals(Set.of("a#0", "b#0"), reopened.getLatestUTxO().keySet());
+
+        // a zero filled tail as left by a crash while extending the file
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(appendedSize);
+            channel.write(ByteBuffer.allocate(64), appendedSize);
+        }
+        reopened = new MappedFileUTxOStore(file);
+
+        assertEquals(2, reopened.getSnapshotNumber());
+        assertEquals(Set.of("a#0", "b#0"), reopened.getLatestUTxO().keySet());
+
+        reopened.applySnapshot(4, Map.of("b#0", utxo("addr1")));
+
+        assertEquals(Set.of("b#0"), new MappedFileUTxOStore(file).getLatestUTxO().keySet());
+    }
+
+    @Test
+    public void appendsGroupForcedRecords() {
+        var file = tempDir.resolve("utxo.bin");
+        var store = new MappedFileUTxOStore(file, 8);
+        for (int i = 1; i <= 10; i++) {
+            store.applySnapshot(i, Map.of("a#" + i, utxo("addr1")));
+        }
+        store.close();
+
+        var reopened = new MappedFileUTxOStore(file, 8);
+
+        assertEquals(10, reopened.getSnapshotNumber());
+        assertEquals(Set.of("a#10"), reopened.getLatestUTxO().keySet());
+        assertThrows(IllegalArgumentException.class, () -> new MappedFileUTxOStore(file, 0));
+    }
+
+    private static UTXO utxo(String address) {
+        return UTXO.builder()
+                .address(address)
+                .value(Map.of("lovelace", BigInteger.TEN))
+                .build();
+    }
+
+}
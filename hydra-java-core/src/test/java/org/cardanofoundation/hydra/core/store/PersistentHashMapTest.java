@@ -0,0 +1,62 @@
+package org.cardanofoundation.hydra.core.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHashMapTest {
+
+    // equal hash codes for different keys, exercises collision nodes
+    private record Key(int hash, String name) {
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    @Test
+    public void behavesLikeHashMap() {
+        var random = new Random(42);
+        var expected = new HashMap<Key, Integer>();
+        var map = PersistentHashMap.<Key, Integer>empty();
+
+        for (int i = 0; i < 20_000; i++) {
+            var key = new Key(random.nextInt(512) * 0x01010101, "k" + random.nextInt(2_000));
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                expected.put(key, i);
+                map = map.plus(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map);
+        assertEquals(expected.entrySet(), map.entrySet());
+        for (var entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void keepsPreviousVersionsUntouched() {
+        var v1 = PersistentHashMap.<String, Integer>empty().plus("a", 1).plus("b", 2);
+        var v2 = v1.plus("c", 3).minus("a");
+
+        assertEquals(2, v1.size());
+        assertEquals(1, v1.get("a"));
+        assertFalse(v1.containsKey("c"));
+        assertEquals(2, v2.size());
+        assertNull(v2.get("a"));
+        assertEquals(3, v2.get("c"));
+        assertSame(v2, v2.minus("x"));
+        assertSame(v2, v2.plus("c", v2.get("c")));
+    }
+
+}
@@ -0,0 +1,96 @@
+package org.cardanofoundation.hydra.core.store;
+
+import org.cardanofoundation.hydra.core.model.LazyUTxOMap;
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.cardanofoundation.hydra.core.utils.MoreJson;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedUTxOStoreTest {
+
+    private static UTXO utxo(String address) {
+        return UTXO.builder()
+                .address(address)
+                .value(Map.of("lovelace", BigInteger.TEN))
+                .build();
+    }
+
+    @Test
+    public void answersUTxOAtSnapshot() {
+        var store = new VersionedUTxOStore();
+
+        store.applySnapshot(1, Map.of("a#0", utxo("addr1")));
+        var delta = store.applySnapshot(2, Map.of("b#0", utxo("addr1")));
+
+        assertEquals(Set.of("b#0"), delta.getAdded().keySet());
+        assertEquals(Set.of("a#0"), delta.getRemoved().keySet());
+        assertEquals(Set.of("a#0"), store.getUTxO(1).orElseThrow().keySet());
+        assertEquals(Set.of("b#0"), store.getUTxO(2).orElseThrow().keySet());
+        assertTrue(store.getUTxO(3).isEmpty());
+    }
+
+    @Test
+    public void decodesOnlyAddedEntriesOfLazySet() {
+        var store = new VersionedUTxOStore();
+        store.applySnapshot(1, Map.of("a#0", utxo("addr1")));
+
+        var lazy = MoreJson.readValue("{\"a#0\":{\"address\":\"addr1\",\"value\":{\"lovelace\":10}},\"b#0\":{\"address\":\"addr2\",\"value\":{\"lovelace\":10}}}", LazyUTxOMap.class);
+        var delta = store.applySnapshot(2, lazy);
+
+        assertEquals(Set.of("b#0"), delta.getAdded().keySet());
+        assertEquals(1, lazy.decodedCount());
+    }
+
+    @Test
+    public void keepsLastVersionsOnly() {
+        var store = new VersionedUTxOStore(2);
+
+        store.applySnapshot(1, Map.of("a#0", utxo("addr1")));
+        store.applySnapshot(2, Map.of("b#0", utxo("addr1")));
+        store.applySnapshot(3, Map.of("c#0", utxo("addr1")));
+
+        assertEquals(List.of(2, 3), List.copyOf(store.getSnapshotNumbers()));
+    }
+
+    @Test
+    public void marksStaleOnRollbackWithoutReverting() {
+        var store = new VersionedUTxOStore();
+
+        store.applySnapshot(1, Map.of("a#0", utxo("addr1")));
+        store.applySnapshot(2, Map.of("b#0", utxo("addr1")));
+        store.rollback();
+
+        assertTrue(store.isStale());
+        assertEquals(2, store.getSnapshotNumber());
+        assertEquals(Set.of("b#0"), store.getLatestUTxO().keySet());
+        assertEquals(List.of(1, 2), List.copyOf(store.getSnapshotNumbers()));
+
+        var delta = store.applySnapshot(3, Map.of("b#0", utxo("addr1"), "c#0", utxo("addr2")));
+        assertFalse(store.isStale());
+        assertEquals(Set.of("c#0"), delta.getAdded().keySet());
+        assertTrue(delta.getRemoved().isEmpty());
+    }
+
+    @Test
+    public void dropsNewerVersionsWhenOlderSnapshotIsApplied() {
+        var store = new VersionedUTxOStore();
+
+        store.applySnapshot(1, Map.of("a#0", utxo("addr1")));
+        store.applySnapshot(2, Map.of("b#0", utxo("addr1")));
+        store.applySnapshot(3, Map.of("c#0", utxo("addr1")));
+        store.applySnapshot(2, Map.of("d#0", utxo("addr1")));
+
+        assertEquals(List.of(1, 2), List.copyOf(store.getSnapshotNumbers()));
+        assertEquals(Set.of("d#0"), store.getLatestUTxO().keySet());
+        assertTrue(store.rollbackTo(1));
+        assertFalse(store.rollbackTo(3));
+        assertEquals(Set.of("a#0"), store.getLatestUTxO().keySet());
+    }
+
+}
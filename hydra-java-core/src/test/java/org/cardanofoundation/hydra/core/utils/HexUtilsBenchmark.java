@@ -0,0 +1,69 @@
+package org.cardanofoundation.hydra.core.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Measures hex encoding and decoding of transaction sized payloads (1 - 16 KB).
+ *
+ * Tagged benchmark, not part of the regular test run, execute with:
+ * mvn -Pbenchmarks -pl hydra-java-core -am test -Dtest=HexUtilsBenchmark
+ */
+@Slf4j
+@Tag("benchmark")
+class HexUtilsBenchmark {
+
+    private static final int[] SIZES = { 1024, 4096, 16 * 1024 };
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final int OPERATIONS = 20_000;
+
+    // keeps results reachable so the JIT cannot drop the work
+    private static long sink;
+
+    @Test
+    public void encodeAndDecode() {
+        for (int size : SIZES) {
+            var tx = new byte[size];
+            new Random(size).nextBytes(tx);
+            var hex = HexUtils.encodeHexString(tx);
+            var buffer = ByteBuffer.allocate(size * 2);
+            assertArrayEquals(tx, HexUtils.decodeHexString(hex));
+
+            var encodeString = measure(() -> sink += HexUtils.encodeHexString(tx).length());
+            var encodeBuffer = measure(() -> {
+                buffer.clear();
+                HexUtils.encodeHex(tx, buffer);
+                sink += buffer.position();
+            });
+            var decodeString = measure(() -> sink += HexUtils.decodeHexString(hex).length);
+
+            log.info("{} bytes, encodeHexString: {} ns/op, encodeHex into ByteBuffer: {} ns/op, decodeHexString: {} ns/op",
+                    size, encodeString, encodeBuffer, decodeString);
+        }
+    }
+
+    private static long measure(Runnable operation) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            run(operation);
+        }
+        var start = System.nanoTime();
+        run(operation);
+
+        return (System.nanoTime() - start) / OPERATIONS;
+    }
+
+    private static void run(Runnable operation) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            operation.run();
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.cardanofoundation.hydra.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HexUtilsTest {
+
+    private static String reference(byte[] bytes) {
+        var sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+
+        return sb.toString();
+    }
+
+    @Test
+    public void encodesAndDecodesAllByteValues() {
+        var bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        var hex = reference(bytes);
+
+        assertEquals(hex, HexUtils.encodeHexString(bytes));
+        assertEquals("0x" + hex, HexUtils.encodeHexString(bytes, true));
+        assertArrayEquals(hex.toCharArray(), HexUtils.encodeHex(bytes));
+        assertArrayEquals(bytes, HexUtils.decodeHexString(hex));
+        assertArrayEquals(bytes, HexUtils.decodeHexString("0x" + hex.toUpperCase()));
+        assertArrayEquals(bytes, HexUtils.decodeHex(hex.toCharArray()));
+        assertEquals("ff", HexUtils.byteToHex((byte) 0xff));
+        assertEquals((byte) 0xab, HexUtils.hexToByte("AB"));
+    }
+
+    @Test
+    public void encodesIntoAndDecodesFromBuffers() {
+        var bytes = new byte[4096];
+        new Random(42).nextBytes(bytes);
+        var hex = reference(bytes);
+
+        for (var buffer : new ByteBuffer[] { ByteBuffer.allocate(8200), ByteBuffer.allocateDirect(8200) }) {
+            buffer.put((byte) '"');
+            HexUtils.encodeHex(bytes, buffer);
+            buffer.put((byte) '"');
+            buffer.flip();
+
+            var ascii = new byte[buffer.remaining()];
+            buffer.duplicate().get(ascii);
+            assertEquals('"' + hex + '"', new String(ascii, StandardCharsets.US_ASCII));
+
+            buffer.position(1).limit(buffer.limit() - 1);
+            assertArrayEquals(bytes, HexUtils.decodeHex(buffer));
+            assertFalse(buffer.hasRemaining());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> HexUtils.encodeHex(bytes, ByteBuffer.allocate(10)));
+    }
+
+    @Test
+    public void rejectsInvalidHex() {
+        assertThrows(IllegalArgumentException.class, () -> HexUtils.decodeHexString("abc"));
+        assertThrows(IllegalArgumentException.class, () -> HexUtils.decodeHexString("zz"));
+        assertThrows(IllegalArgumentException.class, () -> HexUtils.decodeHex("0é".toCharArray()));
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.cardanofoundation.hydra.core.utils;
+
+import org.cardanofoundation.hydra.core.model.UTXO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringInternerTest {
+
+    @Test
+    public void returnsKnownInstance() {
+        var interner = new StringInterner(1024);
+        var first = new String("addr_test1vp5cxztpc6hep9ds7fjgmle3l225tk8ske3rmwr9adu0m6qchmx5z");
+        var second = new String(first);
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertNull(interner.intern(null));
+        assertEquals(1, interner.getHits());
+        assertEquals(1, interner.getMisses());
+        assertEquals(0.5, interner.getHitRate());
+    }
+
+    @Test
+    public void staysBounded() {
+        var interner = new StringInterner(100);
+
+        for (int i = 0; i < 10_000; i++) {
+            interner.intern("policy" + i);
+        }
+
+        assertEquals(128, interner.getCapacity());
+        assertEquals(10_000, interner.getMisses());
+    }
+
+    @Test
+    public void deduplicatesDecodedAddresses() {
+        var json = "{\"address\":\"addr_test1vp5cxztpc6hep9ds7fjgmle3l225tk8ske3rmwr9adu0m6qchmx5z\",\"datumhash\":\"a1b2\",\"value\":{\"lovelace\":1}}";
+
+        var first = MoreJson.readValue(json, UTXO.class);
+        var second = MoreJson.readValue(json, UTXO.class);
+
+        assertSame(first.getAddress(), second.getAddress());
+        assertSame(first.getDatumhash(), second.getDatumhash());
+    }
+
+}
@@ -1,6 +1,7 @@
 package org.cardanofoundation.hydra.reactor;
 
 import org.cardanofoundation.hydra.client.HydraStateEventListener;
+import org.cardanofoundation.hydra.client.ReadBackpressure;
 import org.cardanofoundation.hydra.core.model.HydraState;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
@@ -9,16 +10,35 @@ import javax.annotation.Nullable;
 
 public class FluxSinkHydraStateAdapter implements HydraStateEventListener {
 
+    @Nullable private final ReadBackpressure readBackpressure;
+
     @Nullable private FluxSink<BiHydraState> sink;
 
+    @Nullable private SinkDemand sinkDemand;
+
+    public FluxSinkHydraStateAdapter() {
+        this(null);
+    }
+
+    /**
+     * @param readBackpressure - paused while the subscriber requested no more states, null to never pause reading
+     */
+    public FluxSinkHydraStateAdapter(@Nullable ReadBackpressure readBackpressure) {
+        this.readBackpressure = readBackpressure;
+    }
+
     public void setSink(@Nullable FluxSink<BiHydraState> sink) {
         this.sink = sink;
+        this.sinkDemand = sink != null && readBackpressure != null ? new SinkDemand(readBackpressure, sink) : null;
     }
 
     @Override
     public void onStateChanged(HydraState oldState, HydraState newState) {
         if (sink != null) {
             sink.next(new BiHydraState(oldState, newState));
+            if (sinkDemand != null) {
+                sinkDemand.onEmitted();
+            }
         }
     }
 
@@ -1,6 +1,7 @@
 package org.cardanofoundation.hydra.reactor;
 
 import org.cardanofoundation.hydra.client.HydraQueryEventListener;
+import org.cardanofoundation.hydra.client.ReadBackpressure;
 import org.cardanofoundation.hydra.core.model.query.response.Response;
 import reactor.core.publisher.FluxSink;
 
@@ -8,17 +9,38 @@ import javax.annotation.Nullable;
 
 public class FluxSinkResponseAdapter extends HydraQueryEventListener.Stub {
 
+    @Nullable
+    private final ReadBackpressure readBackpressure;
+
     @Nullable
     private FluxSink<Response> sink;
 
+    @Nullable
+    private SinkDemand sinkDemand;
+
+    public FluxSinkResponseAdapter() {
+        this(null);
+    }
+
+    /**
+     * @param readBackpressure - paused while the subscriber requested no more responses, null to never pause reading
+     */
+    public FluxSinkResponseAdapter(@Nullable ReadBackpressure readBackpressure) {
+        this.readBackpressure = readBackpressure;
+    }
+
     public void setSink(@Nullable FluxSink<Response> sink) {
         this.sink = sink;
+        this.sinkDemand = sink != null && readBackpressure != null ? new SinkDemand(readBackpressure, sink) : null;
     }
 
     @Override
     public void onSuccess(Response response) {
         if (sink != null) {
             sink.next(response);
+            if (sinkDemand != null) {
+                sinkDemand.onEmitted();
+            }
         }
     }
 
@@ -0,0 +1,17 @@
+package org.cardanofoundation.hydra.reactor;
+
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+
+/**
+ * Receives the responses of every head managed by a HydraConnectionManager.
+ */
+@FunctionalInterface
+public interface HeadResponseListener {
+
+    /**
+     * @param headId - id the head was added to the connection manager with
+     * @param response - response received from the hydra-node of the head
+     */
+    void onResponse(String headId, Response response);
+
+}
@@ -0,0 +1,222 @@
+package org.cardanofoundation.hydra.reactor;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.client.HydraClientOptions;
+import org.cardanofoundation.hydra.client.HydraQueryEventListener;
+import org.cardanofoundation.hydra.client.HydraTransport;
+import org.cardanofoundation.hydra.client.HydraWSClient;
+import org.cardanofoundation.hydra.core.model.Tag;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connects to the hydra-nodes of many heads over one shared netty event loop group.
+ *
+ * Every head gets its own HydraWSClient, the connections of all heads are served by the same few event loop
+ * threads instead of a reading and a writing thread per connection. Responses of every head are routed to head
+ * response listeners together with the id the head was added with.
+ *
+ * Listeners run on the event loop threads, work which blocks is to be handed off to another thread.
+ */
+@Slf4j
+public class HydraConnectionManager implements AutoCloseable {
+
+    /**
+     * Number of event loop threads when not given, one per core
+     */
+    public static final int DEFAULT_EVENT_LOOP_THREADS = LoopResources.DEFAULT_IO_WORKER_COUNT;
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final LoopResources loopResources;
+
+    private final HydraTransport.Factory transportFactory;
+
+    @Getter
+    private final int eventLoopThreads;
+
+    private final Map<String, Head> heads = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private final Map<HeadResponseListener, Set<Tag>> headResponseListeners = new LinkedHashMap<>();
+
+    public HydraConnectionManager() {
+        this(DEFAULT_EVENT_LOOP_THREADS);
+    }
+
+    /**
+     * @param eventLoopThreads - number of threads serving the connections of all heads
+     */
+    public HydraConnectionManager(int eventLoopThreads) {
+        if (eventLoopThreads < 1) {
+            throw new IllegalArgumentException("eventLoopThreads must be positive, was: " + eventLoopThreads);
+        }
+        this.eventLoopThreads = eventLoopThreads;
+        this.loopResources = LoopResources.create("hydra-connections", eventLoopThreads, true);
+        this.transportFactory = NettyHydraTransport.factory(loopResources);
+    }
+
+    /**
+     * Adds a head, the client is not connected yet.
+     *
+     * @param headId - id responses of the head are routed with
+     * @param hydraClientOptions - options of the head's client
+     * @return client of the head
+     */
+    public synchronized HydraWSClient addHead(String headId, HydraClientOptions hydraClientOptions) {
+        if (headId == null) {
+            throw new IllegalArgumentException("headId cannot be null!");
+        }
+        if (heads.containsKey(headId)) {
+            throw new IllegalArgumentException("Head already added: " + headId);
+        }
+
+        val head = new Head(headId, new HydraWSClient(hydraClientOptions, transportFactory));
+        headResponseListeners.forEach(head::route);
+        heads.put(headId, head);
+
+        return head.client;
+    }
+
+    /**
+     * Removes a head and closes its connection.
+     *
+     * @param headId - id the head was added with
+     */
+    public synchronized void removeHead(String headId) {
+        val head = heads.remove(headId);
+        if (head != null) {
+            head.client.clearAllHydraQueryEventListeners();
+            head.client.close();
+        }
+    }
+
+    public Optional<HydraWSClient> getHead(String headId) {
+        return Optional.ofNullable(heads.get(headId)).map(head -> head.client);
+    }
+
+    public Set<String> getHeadIds() {
+        return Set.copyOf(heads.keySet());
+    }
+
+    /**
+     * Starts connecting the clients of all heads without waiting for the connections to open.
+     */
+    public void connectAll() {
+        heads.values().forEach(head -> head.client.connect());
+    }
+
+    /**
+     * Adds a listener receiving the responses of all heads.
+     *
+     * @param listener - listener to add
+     * @return this instance
+     */
+    public HydraConnectionManager addHeadResponseListener(HeadResponseListener listener) {
+        return addHeadResponseListener(listener, EnumSet.allOf(Tag.class));
+    }
+
+    /**
+     * Adds a listener receiving the responses of all heads with the given tags, messages no listener of a head
+     * is interested in are not decoded.
+     *
+     * @param listener - listener to add
+     * @param tags - tags of the responses to pass on to the listener
+     * @return this instance
+     */
+    public synchronized HydraConnectionManager addHeadResponseListener(HeadResponseListener listener, Set<Tag> tags) {
+        if (listener == null) {
+            throw new IllegalArgumentException("HeadResponseListener instance cannot be null!");
+        }
+        if (tags == null) {
+            throw new IllegalArgumentException("tags cannot be null!");
+        }
+        headResponseListeners.put(listener, tags);
+        heads.values().forEach(head -> head.route(listener, tags));
+
+        return this;
+    }
+
+    public synchronized HydraConnectionManager removeHeadResponseListener(HeadResponseListener listener) {
+        headResponseListeners.remove(listener);
+        heads.values().forEach(head -> head.unroute(listener));
+
+        return this;
+    }
+
+    /**
+     * Closes the connections of all heads and shuts the event loop group down once they are closed, requests
+     * flushed before are written by the event loops first. Connections not closed within the shutdown timeout are
+     * cut off by the shutdown.
+     */
+    @Override
+    public synchronized void close() {
+        heads.values().forEach(head -> head.client.close());
+        awaitClosed();
+        heads.clear();
+        loopResources.disposeLater().block(SHUTDOWN_TIMEOUT);
+    }
+
+    // all connections close at the same time, they share one deadline
+    private void awaitClosed() {
+        val deadline = System.nanoTime() + SHUTDOWN_TIMEOUT.toNanos();
+        try {
+            for (val head : heads.values()) {
+                val remaining = Math.max(0, deadline - System.nanoTime());
+                if (!head.client.closeBlocking(remaining, TimeUnit.NANOSECONDS)) {
+                    log.warn("Connection of head: {} not closed within: {}, shutting down anyway.", head.headId, SHUTDOWN_TIMEOUT);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted waiting for the connections to close, shutting down anyway.");
+        }
+    }
+
+    private static class Head {
+
+        private final String headId;
+
+        private final HydraWSClient client;
+
+        // client side listener of every head response listener
+        private final Map<HeadResponseListener, HydraQueryEventListener> routes = new ConcurrentHashMap<>();
+
+        Head(String headId, HydraWSClient client) {
+            this.headId = headId;
+            this.client = client;
+        }
+
+        void route(HeadResponseListener listener, Set<Tag> tags) {
+            val route = new HydraQueryEventListener.Stub() {
+                @Override
+                public void onResponse(Response response) {
+                    listener.onResponse(headId, response);
+                }
+            };
+            unroute(listener);
+            routes.put(listener, route);
+            client.addHydraQueryEventListener(route, tags);
+        }
+
+        void unroute(HeadResponseListener listener) {
+            val route = routes.remove(listener);
+            if (route != null) {
+                client.removeHydraQueryEventListener(route);
+            }
+        }
+
+    }
+
+}
@@ -5,9 +5,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.hydra.client.HydraClientOptions;
 import org.cardanofoundation.hydra.client.HydraQueryEventListener;
 import org.cardanofoundation.hydra.client.HydraWSClient;
+import org.cardanofoundation.hydra.client.JdkWebSocketTransport;
+import org.cardanofoundation.hydra.client.ReadBackpressure;
 import org.cardanofoundation.hydra.core.HydraException;
 import org.cardanofoundation.hydra.core.model.HydraState;
 import org.cardanofoundation.hydra.core.model.Request;
+import org.cardanofoundation.hydra.core.model.Tag;
 import org.cardanofoundation.hydra.core.model.UTXO;
 import org.cardanofoundation.hydra.core.model.query.response.*;
 import org.cardanofoundation.hydra.core.store.UTxOStore;
@@ -18,15 +21,16 @@ import reactor.core.publisher.MonoSink;
 import reactor.util.annotation.Nullable;
 
 import java.time.Duration;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 
 import static org.cardanofoundation.hydra.client.HydraClientOptions.TransactionFormat.JSON;
 import static org.cardanofoundation.hydra.core.model.HydraState.*;
 import static org.cardanofoundation.hydra.core.model.Tag.FanoutTx;
-import static org.cardanofoundation.hydra.core.utils.HexUtils.encodeHexString;
 
 @Slf4j
 public class HydraReactiveClient extends HydraQueryEventListener.Stub {
@@ -36,6 +40,21 @@ public class HydraReactiveClient extends HydraQueryEventListener.Stub {
      */
     private static final Duration DEF_TIMEOUT_DURATION = Duration.ofMinutes(5);
 
+    /**
+     * Tags of the responses the pending requests are completed with.
+     */
+    private static final Set<Tag> RESPONSE_TAGS = EnumSet.of(Tag.Greetings,
+            Tag.Committed,
+            Tag.HeadIsClosed,
+            Tag.SnapshotConfirmed,
+            Tag.HeadIsInitializing,
+            Tag.HeadIsAborted,
+            Tag.HeadIsFinalized,
+            Tag.PostTxOnChainFailed,
+            Tag.TxValid,
+            Tag.TxInvalid,
+            Tag.GetUTxOResponse);
+
     /**
      * WebSocket client for communication with the Hydra network.
      */
@@ -51,6 +70,11 @@ public class HydraReactiveClient extends HydraQueryEventListener.Stub {
      */
     private final Duration timeout;
 
+    /**
+     * True when reading of the websocket pauses while a stream's subscriber requests no more elements.
+     */
+    private final boolean pauseReadingWithoutDemand;
+
     /**
      * Map to store MonoSink references for ongoing requests.
      */
@@ -77,14 +101,38 @@ public class HydraReactiveClient extends HydraQueryEventListener.Stub {
     public HydraReactiveClient(UTxOStore uTxOStore,
                                String baseUrl,
                                Duration timeout) {
+        this(uTxOStore, baseUrl, timeout, false);
+    }
+
+    /**
+     * Constructs a HydraReactiveClient with the given parameters.
+     *
+     * Pausing reading holds up all streams and pending requests of the client while any stream's subscriber requests
+     * no more elements. The client then connects through the JDK websocket, which pauses without holding up a
+     * reading thread, a paused Java-WebSocket connection would be closed as lost after 60 seconds.
+     *
+     * @param uTxOStore The UTXO store for Hydra.
+     * @param baseUrl   The base URL for Hydra communication.
+     * @param timeout   The timeout duration for requests.
+     * @param pauseReadingWithoutDemand True to pause reading of the websocket while a stream's subscriber requests
+     *                                  no more elements.
+     */
+    public HydraReactiveClient(UTxOStore uTxOStore,
+                               String baseUrl,
+                               Duration timeout,
+                               boolean pauseReadingWithoutDemand) {
         this.timeout = timeout;
+        this.pauseReadingWithoutDemand = pauseReadingWithoutDemand;
 
-        this.hydraClientOptions = HydraClientOptions.builder(baseUrl)
+        var options = HydraClientOptions.builder(baseUrl)
                 .utxoStore(uTxOStore)
                 .transactionFormat(JSON)
                 .history(false)
-                .snapshotUtxo(true)
-                .build();
+                .snapshotUtxo(true);
+        if (pauseReadingWithoutDemand) {
+            options.transportFactory(JdkWebSocketTransport.factory());
+        }
+        this.hydraClientOptions = options.build();
     }
 
     /**
@@ -93,7 +141,7 @@ public class HydraReactiveClient extends HydraQueryEventListener.Stub {
     private void initWSClient() {
         if (this.hydraWSClient == null) {
             this.hydraWSClient = new HydraWSClient(hydraClientOptions);
-            hydraWSClient.addHydraQueryEventListener(this);
+            hydraWSClient.addHydraQueryEventListener(this, RESPONSE_TAGS);
             this.monoSinkMap = new ConcurrentHashMap<>();
         }
     }
@@ -101,6 +149,9 @@ public class HydraReactiveClient extends HydraQueryEventListener.Stub {
     /**
      * Gets a reactive stream of Hydra states.
      *
+     * With pausing enabled, reading of the websocket pauses while the subscriber requests no more states, which holds
+     * up all other streams and pending requests of the client as well.
+     *
      * @return A Flux emitting BiHydraState objects.
      */
     public Flux<BiHydraState> getHydraStatesStream() {
@@ -108,7 +159,7 @@ public class HydraReactiveClient extends HydraQueryEventListener.Stub {
             return Flux.empty();
         }
 
-        var adapter = new FluxSinkHydraStateAdapter();
+        var adapter = new FluxSinkHydraStateAdapter(readBackpressure());
 
         // TODO when we close the connection how do we terminate the flux here?
         return Flux.<BiHydraState>create(fluxSink -> {
@@ -123,6 +174,9 @@ public class HydraReactiveClient extends HydraQueryEventListener.Stub {
     /**
      * Gets a reactive stream of Hydra responses.
      *
+     * With pausing enabled, reading of the websocket pauses while the subscriber requests no more responses, which
+     * holds up all other streams and pending requests of the client as well.
+     *
      * @return A Flux emitting Response objects.
      */
     public Flux<Response> getHydraResponsesStream() {
@@ -131,7 +185,7 @@ public class HydraReactiveClient extends HydraQueryEventListener.Stub {
         }
 
         // TODO when we close the connection how do we terminate the flux here?
-        var adapter = new FluxSinkResponseAdapter();
+        var adapter = new FluxSinkResponseAdapter(readBackpressure());
         return Flux.<Response>create(fluxSink -> {
             adapter.setSink(fluxSink);
             hydraWSClient.addHydraQueryEventListener(adapter);
@@ -141,6 +195,36 @@ public class HydraReactiveClient extends HydraQueryEventListener.Stub {
         });
     }
 
+    /**
+     * Gets a reactive stream of Hydra responses with the given tags.
+     *
+     * Messages with tags no stream is interested in are not decoded at all. With pausing enabled, reading of the
+     * websocket pauses while the subscriber requests no more responses.
+     *
+     * @param tags The tags of the responses to emit.
+     * @return A Flux emitting Response objects.
+     */
+    public Flux<Response> getHydraResponsesStream(Set<Tag> tags) {
+        if (hydraWSClient == null) {
+            return Flux.empty();
+        }
+
+        var adapter = new FluxSinkResponseAdapter(readBackpressure());
+        return Flux.<Response>create(fluxSink -> {
+            adapter.setSink(fluxSink);
+            hydraWSClient.addHydraQueryEventListener(adapter, tags);
+        }).doFinally(signal -> {
+            log.debug("Removing hydra query event listener...");
+            hydraWSClient.removeHydraQueryEventListener(adapter);
+        });
+    }
+
+    // null unless pausing is enabled, adapters then never pause reading
+    @Nullable
+    private ReadBackpressure readBackpressure() {
+        return pauseReadingWithoutDemand && hydraWSClient != null ? hydraWSClient.getReadBackpressure() : null;
+    }
+
     /**
      * Destroys the WebSocket client and clears event listeners.
      */
@@ -167,20 +251,10 @@ public class HydraReactiveClient extends HydraQueryEventListener.Stub {
         log.debug("monoSinkMap current size: {}", monoSinkMap.size());
 
         if (response instanceof GreetingsResponse gr) {
-            var snapshotUtxo = gr.getSnapshotUtxo();
-            hydraClientOptions.getUtxoStore().storeLatestUtxO(snapshotUtxo);
-
             applyMonoSuccess(ConnectCommand.key(), gr);
         }
 
-        if (response instanceof HeadIsOpenResponse ho) {
-            hydraClientOptions.getUtxoStore().storeLatestUtxO(ho.getUtxo());
-        }
-
         if (response instanceof CommittedResponse cr) {
-            var utxoMap = cr.getUtxo();
-            hydraClientOptions.getUtxoStore().storeLatestUtxO(utxoMap);
-
             applyMonoSuccess(CommittedCommand.key(), cr);
         }
 
@@ -189,10 +263,6 @@ public class HydraReactiveClient extends HydraQueryEventListener.Stub {
         }
 
         if (response instanceof SnapshotConfirmed sc) {
-            var utxo = sc.getSnapshot().getUtxo();
-
-            hydraClientOptions.getUtxoStore().storeLatestUtxO(utxo);
-
             for (var txId : sc.getSnapshot().getConfirmedTransactions()) {
                 var txSubmitGlobalCommand = TxSubmitGlobalCommand.of(txId);
 
@@ -325,7 +395,7 @@ public class HydraReactiveClient extends HydraQueryEventListener.Stub {
 
         return Mono.<TxResult>create(monoSink -> {
                     storeMonoSinkReference(commandKey, monoSink);
-                    hydraWSClient.submitTx(encodeHexString(txCbor));
+                    hydraWSClient.submitTx(txCbor);
                 })
                 .timeout(timeout, Mono.defer(() -> {
                     applyMonoCleanup(commandKey);
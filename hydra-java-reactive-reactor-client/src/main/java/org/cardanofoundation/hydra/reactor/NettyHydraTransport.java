@@ -0,0 +1,426 @@
+package org.cardanofoundation.hydra.reactor;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.PromiseCombiner;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.cardanofoundation.hydra.client.HydraTransport;
+import org.cardanofoundation.hydra.client.ReadDemand;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.WebsocketClientSpec;
+import reactor.netty.http.websocket.WebsocketInbound;
+import reactor.netty.http.websocket.WebsocketOutbound;
+import reactor.netty.resources.LoopResources;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transport on top of reactor-netty, connections share the threads of the event loop group they run on.
+ *
+ * Handler callbacks run on the event loop thread of the connection, a handler blocking there holds up every
+ * other connection served by the same thread.
+ *
+ * Frames are requested one at a time, while reading is paused none is requested and reactor-netty stops reading
+ * the socket.
+ */
+@Slf4j
+public class NettyHydraTransport implements HydraTransport {
+
+    /**
+     * Largest message accepted, a Greetings message carrying the UTxO set of a big head takes tens of MB
+     */
+    public static final int DEFAULT_MAX_MESSAGE_SIZE = 256 * 1024 * 1024;
+
+    private final URI serverUri;
+
+    private final Handler handler;
+
+    private final HttpClient httpClient;
+
+    private final int maxMessageSize;
+
+    private final CountDownLatch openLatch = new CountDownLatch(1);
+
+    private final CountDownLatch closeLatch = new CountDownLatch(1);
+
+    private final AtomicBoolean connectStarted = new AtomicBoolean();
+
+    private final AtomicBoolean closeFired = new AtomicBoolean();
+
+    private final ChannelFutureListener writeFailed;
+
+    private volatile Disposable subscription;
+
+    private volatile Channel channel;
+
+    private volatile FrameSubscriber frameSubscriber;
+
+    // requests are executed on the event loop by reactor-netty, never on the calling thread
+    private final ReadDemand readDemand = new ReadDemand(() -> frameSubscriber.request(1));
+
+    private volatile WebsocketOutbound outbound;
+
+    private volatile boolean closing;
+
+    private volatile int closeCode = ABNORMAL_CLOSURE;
+
+    private volatile String closeReason = "";
+
+    // true while the continuation frames of a text message arrive, used by the reading event loop thread only
+    private boolean textMessage;
+
+    // frames written but not flushed yet, pooled buffers released by close when the connection is gone
+    private final Object pendingLock = new Object();
+
+    private List<TextWebSocketFrame> pendingFrames = new ArrayList<>();
+
+    /**
+     * @param serverUri - websocket uri of the hydra-node
+     * @param handler - receives the events of the connection
+     * @param httpClient - client to connect with, carries the event loop group the connection runs on
+     */
+    public NettyHydraTransport(URI serverUri, Handler handler, HttpClient httpClient) {
+        this(serverUri, handler, httpClient, DEFAULT_MAX_MESSAGE_SIZE);
+    }
+
+    /**
+     * @param serverUri - websocket uri of the hydra-node
+     * @param handler - receives the events of the connection
+     * @param httpClient - client to connect with, carries the event loop group the connection runs on
+     * @param maxMessageSize - largest message accepted, frames of a message are aggregated up to this size
+     */
+    public NettyHydraTransport(URI serverUri, Handler handler, HttpClient httpClient, int maxMessageSize) {
+        this.serverUri = serverUri;
+        this.handler = handler;
+        this.httpClient = httpClient;
+        this.maxMessageSize = maxMessageSize;
+        this.writeFailed = future -> {
+            if (!future.isSuccess()) {
+                handler.onError(new IllegalStateException("Sending frame failed", future.cause()));
+            }
+        };
+    }
+
+    /**
+     * Creates transports sharing the given event loop group.
+     *
+     * @param loopResources - event loop group all connections run on
+     * @return transport factory
+     */
+    public static Factory factory(LoopResources loopResources) {
+        return factory(loopResources, DEFAULT_MAX_MESSAGE_SIZE);
+    }
+
+    /**
+     * Creates transports sharing the given event loop group.
+     *
+     * @param loopResources - event loop group all connections run on
+     * @param maxMessageSize - largest message accepted
+     * @return transport factory
+     */
+    public static Factory factory(LoopResources loopResources, int maxMessageSize) {
+        val httpClient = HttpClient.newConnection().runOn(loopResources);
+
+        return (serverUri, handler) -> new NettyHydraTransport(serverUri, handler, httpClient, maxMessageSize);
+    }
+
+    @Override
+    public void connect() {
+        if (!connectStarted.compareAndSet(false, true)) {
+            throw new IllegalStateException("Transport connects only once, create a new one to reconnect");
+        }
+        val spec = WebsocketClientSpec.builder()
+                .maxFramePayloadLength(maxMessageSize)
+                .build();
+
+        subscription = httpClient.websocket(spec)
+                .uri(serverUri)
+                .handle(this::onConnected)
+                .subscribe(null, this::onConnectFailed);
+    }
+
+    @Override
+    public boolean connectBlocking(long time, TimeUnit timeUnit) throws InterruptedException {
+        connect();
+        openLatch.await(time, timeUnit);
+
+        return isOpen();
+    }
+
+    @Override
+    public void close(int code, String reason) {
+        closing = true;
+        releasePendingFrames();
+        val outbound = this.outbound;
+        if (outbound == null) {
+            // not connected (yet), stop connecting
+            val subscription = this.subscription;
+            if (subscription != null) {
+                subscription.dispose();
+            }
+            fireClose(NEVER_CONNECTED, reason, false);
+            return;
+        }
+        closeCode = code;
+        closeReason = reason;
+        outbound.sendClose(code, reason).subscribe(null, e -> log.debug("Sending close frame failed: {}", e.getMessage()));
+    }
+
+    @Override
+    public void closeBlocking() throws InterruptedException {
+        close(NORMAL_CLOSURE, "");
+        closeLatch.await();
+    }
+
+    @Override
+    public boolean closeBlocking(long time, TimeUnit timeUnit) throws InterruptedException {
+        if (!closing) {
+            close(NORMAL_CLOSURE, "");
+        }
+
+        return closeLatch.await(time, timeUnit);
+    }
+
+    @Override
+    public boolean isOpen() {
+        val channel = this.channel;
+
+        return channel != null && channel.isActive() && !closing && closeLatch.getCount() > 0;
+    }
+
+    @Override
+    public boolean isClosing() {
+        return closing && closeLatch.getCount() > 0;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closeLatch.getCount() == 0;
+    }
+
+    @Override
+    public void send(ByteBuffer payload) {
+        write(payload);
+        flush();
+    }
+
+    @Override
+    public void write(ByteBuffer payload) {
+        val channel = this.channel;
+        if (channel == null || !channel.isActive()) {
+            throw new IllegalStateException("Transport is not connected to: " + serverUri);
+        }
+        // copied into a pooled buffer, the caller's buffer stays untouched
+        val frame = channel.alloc().buffer(payload.remaining()).writeBytes(payload.duplicate());
+        synchronized (pendingLock) {
+            pendingFrames.add(new TextWebSocketFrame(frame));
+        }
+    }
+
+    // one event loop task writes all pending frames, a single flush gathers them into as few socket writes as possible
+    @Override
+    public CompletableFuture<Void> flush() {
+        final List<TextWebSocketFrame> frames;
+        synchronized (pendingLock) {
+            if (pendingFrames.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            frames = pendingFrames;
+            pendingFrames = new ArrayList<>();
+        }
+        val channel = this.channel;
+        if (channel == null || !channel.isActive()) {
+            release(frames);
+            return CompletableFuture.failedFuture(new IllegalStateException("Transport is not connected to: " + serverUri));
+        }
+        val sent = new CompletableFuture<Void>();
+        if (channel.eventLoop().inEventLoop()) {
+            writeAndFlush(channel, frames, sent);
+            return sent;
+        }
+        try {
+            channel.eventLoop().execute(() -> writeAndFlush(channel, frames, sent));
+        } catch (RejectedExecutionException e) {
+            // the event loop shut down, the frames never reach the channel
+            release(frames);
+            sent.completeExceptionally(e);
+        }
+
+        return sent;
+    }
+
+    // frames written but not flushed yet, for tests
+    List<TextWebSocketFrame> getPendingFrames() {
+        synchronized (pendingLock) {
+            return List.copyOf(pendingFrames);
+        }
+    }
+
+    private void releasePendingFrames() {
+        final List<TextWebSocketFrame> frames;
+        synchronized (pendingLock) {
+            frames = pendingFrames;
+            pendingFrames = new ArrayList<>();
+        }
+        release(frames);
+    }
+
+    private static void release(List<TextWebSocketFrame> frames) {
+        frames.forEach(ReferenceCountUtil::release);
+    }
+
+    private void writeAndFlush(Channel channel, List<TextWebSocketFrame> frames, CompletableFuture<Void> sent) {
+        val combiner = new PromiseCombiner(channel.eventLoop());
+        for (val frame : frames) {
+            combiner.add(channel.write(frame));
+        }
+        val written = channel.newPromise();
+        written.addListener(writeFailed);
+        written.addListener(future -> {
+            if (future.isSuccess()) {
+                sent.complete(null);
+            } else {
+                sent.completeExceptionally(future.cause());
+            }
+        });
+        combiner.finish(written);
+        channel.flush();
+    }
+
+    private Mono<Void> onConnected(WebsocketInbound inbound, WebsocketOutbound outbound) {
+        inbound.withConnection(connection -> {
+            this.channel = connection.channel();
+            connection.onDispose(() -> {
+                releasePendingFrames();
+                fireClose(closeCode, closeReason, !closing);
+            });
+        });
+        this.outbound = outbound;
+        inbound.receiveCloseStatus().subscribe(status -> {
+            closeCode = status.code();
+            closeReason = status.reasonText();
+        });
+        handler.onOpen();
+        openLatch.countDown();
+
+        // every frame is handed over as it arrives for handlers accepting message parts, messages are never aggregated
+        val frames = handler.acceptsMessageParts()
+                ? inbound.receiveFrames()
+                : inbound.aggregateFrames(maxMessageSize).receiveFrames();
+
+        return Mono.create(done -> {
+            val subscriber = new FrameSubscriber(done);
+            frameSubscriber = subscriber;
+            done.onCancel(subscriber);
+            frames.subscribe(subscriber);
+        });
+    }
+
+    @Override
+    public void pauseReading() {
+        readDemand.pause();
+    }
+
+    @Override
+    public void resumeReading() {
+        readDemand.resume();
+    }
+
+    private void onMessage(WebSocketFrame frame) {
+        if (frame instanceof TextWebSocketFrame textFrame) {
+            // a failing message must not tear down the connection
+            try {
+                handler.onMessage(textFrame.text());
+            } catch (RuntimeException e) {
+                handler.onError(e);
+            }
+        }
+    }
+
+    private void onFrame(WebSocketFrame frame) {
+        if (frame instanceof TextWebSocketFrame) {
+            textMessage = !frame.isFinalFragment();
+        } else if (!(frame instanceof ContinuationWebSocketFrame) || !textMessage) {
+            return;
+        } else if (frame.isFinalFragment()) {
+            textMessage = false;
+        }
+        // a failing message must not tear down the connection
+        try {
+            handler.onMessagePart(frame.content().nioBuffer(), frame.isFinalFragment());
+        } catch (RuntimeException e) {
+            handler.onError(e);
+        }
+    }
+
+    // completes the connection's handling once the inbound frames completed
+    private class FrameSubscriber extends BaseSubscriber<WebSocketFrame> {
+
+        private final MonoSink<Void> done;
+
+        private final boolean messageParts = handler.acceptsMessageParts();
+
+        private FrameSubscriber(MonoSink<Void> done) {
+            this.done = done;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            readDemand.requestNext();
+        }
+
+        @Override
+        protected void hookOnNext(WebSocketFrame frame) {
+            if (messageParts) {
+                onFrame(frame);
+            } else {
+                onMessage(frame);
+            }
+            readDemand.requestNext();
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            done.success();
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            done.error(throwable);
+        }
+
+    }
+
+    private void onConnectFailed(Throwable e) {
+        handler.onError(e instanceof Exception exception ? exception : new RuntimeException(e));
+        fireClose(channel == null ? NEVER_CONNECTED : ABNORMAL_CLOSURE, String.valueOf(e.getMessage()), false);
+    }
+
+    private void fireClose(int code, String reason, boolean remote) {
+        if (!closeFired.compareAndSet(false, true)) {
+            return;
+        }
+        handler.onClose(code, reason, remote);
+        openLatch.countDown();
+        closeLatch.countDown();
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.cardanofoundation.hydra.reactor;
+
+import org.cardanofoundation.hydra.client.ReadBackpressure;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * Holds up reading of the websocket while the subscriber of a sink requested nothing more, reading resumes with the
+ * subscriber's next request or when the sink is disposed.
+ */
+class SinkDemand {
+
+    private final ReadBackpressure readBackpressure;
+
+    private final FluxSink<?> sink;
+
+    SinkDemand(ReadBackpressure readBackpressure, FluxSink<?> sink) {
+        this.readBackpressure = readBackpressure;
+        this.sink = sink;
+        sink.onRequest(n -> release());
+        sink.onDispose(this::release);
+    }
+
+    // the sink adds the requested amount before calling back, checking and releasing under one lock never misses a request
+    synchronized void onEmitted() {
+        if (sink.requestedFromDownstream() == 0 && !sink.isCancelled()) {
+            readBackpressure.hold(this);
+        }
+    }
+
+    private synchronized void release() {
+        readBackpressure.release(this);
+    }
+
+}
@@ -0,0 +1,133 @@
+package org.cardanofoundation.hydra.reactor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.hydra.client.HydraClientOptions;
+import org.cardanofoundation.hydra.client.HydraQueryEventListener;
+import org.cardanofoundation.hydra.client.HydraWSClient;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Connects 500 heads to a local server which greets every connection and streams responses to it, once with a
+ * HydraWSClient per head on its own Java-WebSocket threads and once with all heads in a HydraConnectionManager.
+ *
+ * Tagged benchmark, not part of the regular test run, execute with:
+ * mvn -Pbenchmarks -pl hydra-java-reactive-reactor-client -am test -Dtest=HydraConnectionManagerBenchmark
+ */
+@Slf4j
+@Tag("benchmark")
+class HydraConnectionManagerBenchmark {
+
+    private static final int HEADS = 500;
+
+    private static final int RESPONSES_PER_HEAD = 200;
+
+    private static final int EVENT_LOOP_THREADS = 2;
+
+    private final static String GREETINGS = "{\"headStatus\":\"Idle\",\"hydraNodeVersion\":\"0.13.0-d8a8f1a9\",\"me\":{\"vkey\":\"b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb\"},\"seq\":0,\"tag\":\"Greetings\",\"timestamp\":\"2023-10-18T09:35:40.426712549Z\"}";
+
+    private static String peerConnected(int seq) {
+        return "{\"peer\":\"bob\",\"seq\":" + seq + ",\"tag\":\"PeerConnected\",\"timestamp\":\"2023-10-18T09:35:41.426712549Z\"}";
+    }
+
+    @Test
+    public void connectManyHeads() throws Exception {
+        var server = new StreamingServer();
+        server.setConnectionLostTimeout(0);
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS));
+        var serverUri = "ws://localhost:" + server.getPort();
+
+        try {
+            var baselineThreads = Thread.activeCount();
+
+            var delivered = new CountDownLatch(HEADS * (RESPONSES_PER_HEAD + 1));
+            var clients = new ArrayList<HydraWSClient>();
+            var start = System.nanoTime();
+            for (int i = 0; i < HEADS; i++) {
+                var client = new HydraWSClient(HydraClientOptions.createDefault(serverUri));
+                client.addHydraQueryEventListener(countingListener(delivered));
+                client.connect();
+                clients.add(client);
+            }
+            assertTrue(delivered.await(2, TimeUnit.MINUTES));
+            log.info("Java-WebSocket per head: {} ms, threads: {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Thread.activeCount() - baselineThreads);
+            for (var client : clients) {
+                client.closeBlocking();
+            }
+
+            var managed = new CountDownLatch(HEADS * (RESPONSES_PER_HEAD + 1));
+            try (var manager = new HydraConnectionManager(EVENT_LOOP_THREADS)) {
+                manager.addHeadResponseListener((headId, response) -> managed.countDown());
+                start = System.nanoTime();
+                IntStream.range(0, HEADS).forEach(i -> manager.addHead("head-" + i, HydraClientOptions.createDefault(serverUri)));
+                manager.connectAll();
+                assertTrue(managed.await(2, TimeUnit.MINUTES));
+                log.info("Connection manager: {} ms, threads: {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), eventLoopThreads());
+            }
+        } finally {
+            server.stop(1000);
+        }
+    }
+
+    private static long eventLoopThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("hydra-connections"))
+                .count();
+    }
+
+    private static HydraQueryEventListener countingListener(CountDownLatch delivered) {
+        return new HydraQueryEventListener.Stub() {
+            @Override
+            public void onResponse(Response response) {
+                delivered.countDown();
+            }
+        };
+    }
+
+    private static class StreamingServer extends WebSocketServer {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private StreamingServer() {
+            super(new InetSocketAddress("localhost", 0));
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+            conn.send(GREETINGS);
+            IntStream.rangeClosed(1, RESPONSES_PER_HEAD).forEach(seq -> conn.send(peerConnected(seq)));
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+
+    }
+
+}
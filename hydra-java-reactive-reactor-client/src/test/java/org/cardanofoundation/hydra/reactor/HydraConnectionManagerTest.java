@@ -0,0 +1,133 @@
+package org.cardanofoundation.hydra.reactor;
+
+import org.cardanofoundation.hydra.client.HydraClientOptions;
+import org.cardanofoundation.hydra.core.model.Tag;
+import org.cardanofoundation.hydra.core.model.query.response.PeerConnectedResponse;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HydraConnectionManagerTest {
+
+    private final static String GREETINGS = "{\"headStatus\":\"Idle\",\"hydraNodeVersion\":\"0.13.0-d8a8f1a9\",\"me\":{\"vkey\":\"b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb\"},\"seq\":0,\"tag\":\"Greetings\",\"timestamp\":\"2023-10-18T09:35:40.426712549Z\"}";
+
+    private static String peerConnected(String peer, int seq) {
+        return "{\"peer\":\"" + peer + "\",\"seq\":" + seq + ",\"tag\":\"PeerConnected\",\"timestamp\":\"2023-10-18T09:35:41.426712549Z\"}";
+    }
+
+    @Test
+    public void routesResponsesOfEveryHeadOverSharedEventLoop() throws Exception {
+        var server = new HeadServer();
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS));
+
+        var heads = List.of("head-a", "head-b", "head-c");
+        var routed = new CopyOnWriteArrayList<String>();
+        var greeted = new CountDownLatch(heads.size());
+        var answered = new CountDownLatch(heads.size());
+
+        try (var manager = new HydraConnectionManager(1)) {
+            manager.addHeadResponseListener((headId, response) -> {
+                var peer = ((PeerConnectedResponse) response).getPeer();
+                routed.add(headId + "=" + peer);
+                answered.countDown();
+            }, EnumSet.of(Tag.PeerConnected));
+            manager.addHeadResponseListener((headId, response) -> greeted.countDown(), EnumSet.of(Tag.Greetings));
+
+            heads.forEach(headId -> manager.addHead(headId, HydraClientOptions.createDefault("ws://localhost:" + server.getPort() + "/" + headId)));
+            manager.connectAll();
+            assertTrue(greeted.await(10, TimeUnit.SECONDS));
+
+            heads.forEach(headId -> manager.getHead(headId).orElseThrow().getUTXO());
+            assertTrue(answered.await(10, TimeUnit.SECONDS));
+
+            assertEquals(Set.of("head-a=/head-a", "head-b=/head-b", "head-c=/head-c"), Set.copyOf(routed));
+            assertEquals(1, manager.getEventLoopThreads());
+            assertThrows(IllegalArgumentException.class, () -> manager.addHead("head-a", HydraClientOptions.createDefault("ws://localhost")));
+        } finally {
+            server.stop(1000);
+        }
+    }
+
+    @Test
+    public void writesSentRequestsBeforeShuttingDown() throws Exception {
+        var server = new HeadServer();
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS));
+
+        var heads = List.of("head-a", "head-b", "head-c");
+        var greeted = new CountDownLatch(heads.size());
+        var manager = new HydraConnectionManager(1);
+        try {
+            manager.addHeadResponseListener((headId, response) -> greeted.countDown(), EnumSet.of(Tag.Greetings));
+            heads.forEach(headId -> manager.addHead(headId, HydraClientOptions.createDefault("ws://localhost:" + server.getPort() + "/" + headId)));
+            manager.connectAll();
+            assertTrue(greeted.await(10, TimeUnit.SECONDS));
+            var clients = heads.stream().map(headId -> manager.getHead(headId).orElseThrow()).toList();
+
+            clients.forEach(client -> client.getUTXO());
+            manager.close();
+
+            clients.forEach(client -> assertTrue(client.isClosed()));
+            assertEquals(Set.of("/head-a", "/head-b", "/head-c"), Set.copyOf(server.requested));
+            assertEquals(heads.size(), server.closed.size());
+        } finally {
+            manager.close();
+            server.stop(1000);
+        }
+    }
+
+    // greets every connection and answers every request with the path the client connected to
+    private static class HeadServer extends WebSocketServer {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        // paths of the connections requests were received from
+        private final List<String> requested = new CopyOnWriteArrayList<>();
+
+        private final List<String> closed = new CopyOnWriteArrayList<>();
+
+        private HeadServer() {
+            super(new InetSocketAddress("localhost", 0));
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+            conn.setAttachment(handshake.getResourceDescriptor().split("\\?")[0]);
+            conn.send(GREETINGS);
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+            closed.add(conn.getAttachment());
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+            requested.add(conn.getAttachment());
+            conn.send(peerConnected(conn.getAttachment(), 1));
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+
+    }
+
+}
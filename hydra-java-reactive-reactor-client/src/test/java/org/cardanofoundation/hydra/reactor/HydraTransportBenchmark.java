@@ -0,0 +1,136 @@
+package org.cardanofoundation.hydra.reactor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.hydra.client.HydraClientOptions;
+import org.cardanofoundation.hydra.client.HydraQueryEventListener;
+import org.cardanofoundation.hydra.client.HydraTransport;
+import org.cardanofoundation.hydra.client.HydraWSClient;
+import org.cardanofoundation.hydra.client.JavaWebSocketTransport;
+import org.cardanofoundation.hydra.client.JdkWebSocketTransport;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.LoopResources;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the websocket transports on one connection: streaming responses from the node to the client and
+ * request / response round trips.
+ *
+ * Tagged benchmark, not part of the regular test run, execute with:
+ * mvn -Pbenchmarks -pl hydra-java-reactive-reactor-client -am test -Dtest=HydraTransportBenchmark
+ */
+@Slf4j
+@Tag("benchmark")
+class HydraTransportBenchmark {
+
+    private static final int STREAMED = 200_000;
+
+    private static final int REQUESTS = 20_000;
+
+    private static final int ROUNDS = 3;
+
+    private final static String GREETINGS = "{\"headStatus\":\"Idle\",\"hydraNodeVersion\":\"0.13.0-d8a8f1a9\",\"me\":{\"vkey\":\"b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb\"},\"seq\":0,\"tag\":\"Greetings\",\"timestamp\":\"2023-10-18T09:35:40.426712549Z\"}";
+
+    private static String peerConnected(int seq) {
+        return "{\"peer\":\"bob\",\"seq\":" + seq + ",\"tag\":\"PeerConnected\",\"timestamp\":\"2023-10-18T09:35:41.426712549Z\"}";
+    }
+
+    @Test
+    public void compareTransports() throws Exception {
+        var server = new BenchmarkServer();
+        server.setConnectionLostTimeout(0);
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS));
+        var loopResources = LoopResources.create("hydra-benchmark", 1, true);
+
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                run("Java-WebSocket", server, JavaWebSocketTransport::new);
+                run("JDK HttpClient", server, JdkWebSocketTransport.factory());
+                run("reactor-netty", server, NettyHydraTransport.factory(loopResources));
+            }
+        } finally {
+            loopResources.dispose();
+            server.stop(1000);
+        }
+    }
+
+    private void run(String name, BenchmarkServer server, HydraTransport.Factory transportFactory) throws Exception {
+        var client = new HydraWSClient(HydraClientOptions.createDefault("ws://localhost:" + server.getPort()), transportFactory);
+        var counter = new AtomicReference<>(new CountDownLatch(STREAMED + 1));
+        client.addHydraQueryEventListener(new HydraQueryEventListener.Stub() {
+            @Override
+            public void onResponse(Response response) {
+                counter.get().countDown();
+            }
+        });
+
+        try {
+            var start = System.nanoTime();
+            client.connect();
+            assertTrue(counter.get().await(2, TimeUnit.MINUTES));
+            var streamedNanos = System.nanoTime() - start;
+
+            counter.set(new CountDownLatch(REQUESTS));
+            start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                client.getUTXO();
+            }
+            assertTrue(counter.get().await(2, TimeUnit.MINUTES));
+            var requestNanos = System.nanoTime() - start;
+
+            log.info("{}: streamed {} msg/s, requests {} msg/s", name,
+                    STREAMED * 1_000_000_000L / streamedNanos,
+                    REQUESTS * 1_000_000_000L / requestNanos);
+        } finally {
+            client.closeBlocking();
+        }
+    }
+
+    // streams responses to every new connection and answers every request
+    private static class BenchmarkServer extends WebSocketServer {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private BenchmarkServer() {
+            super(new InetSocketAddress("localhost", 0));
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+            conn.send(GREETINGS);
+            IntStream.rangeClosed(1, STREAMED).forEach(seq -> conn.send(peerConnected(seq)));
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+            conn.send(peerConnected(0));
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+
+    }
+
+}
@@ -0,0 +1,171 @@
+package org.cardanofoundation.hydra.reactor;
+
+import org.cardanofoundation.hydra.client.HydraClientOptions;
+import org.cardanofoundation.hydra.client.HydraTransport;
+import org.cardanofoundation.hydra.client.HydraWSClient;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.LoopResources;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NettyHydraTransportTest {
+
+    private final static String GREETINGS = "{\"headStatus\":\"Idle\",\"hydraNodeVersion\":\"0.13.0-d8a8f1a9\",\"me\":{\"vkey\":\"b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb\"},\"seq\":0,\"tag\":\"Greetings\",\"timestamp\":\"2023-10-18T09:35:40.426712549Z\"}";
+
+    private final static String PEER_CONNECTED = "{\"peer\":\"" + "x".repeat(1024) + "\",\"seq\":1,\"tag\":\"PeerConnected\",\"timestamp\":\"2023-10-18T09:35:41.426712549Z\"}";
+
+    private final static int ANSWERS = 20_000;
+
+    @Test
+    public void pausesReadingWhileSubscriberRequestsNoMore() throws Exception {
+        var server = new FloodingServer();
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS));
+        var loopResources = LoopResources.create("hydra-test", 1, true);
+
+        var client = new HydraWSClient(HydraClientOptions.builder("ws://localhost:" + server.getPort())
+                .transportFactory(NettyHydraTransport.factory(loopResources))
+                .build());
+        var adapter = new FluxSinkResponseAdapter(client.getReadBackpressure());
+        var received = new AtomicInteger();
+        var completed = new CountDownLatch(1 + ANSWERS);
+        var subscriber = new BaseSubscriber<Response>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(10);
+            }
+
+            @Override
+            protected void hookOnNext(Response response) {
+                received.incrementAndGet();
+                completed.countDown();
+            }
+        };
+        Flux.<Response>create(sink -> {
+            adapter.setSink(sink);
+            client.addHydraQueryEventListener(adapter);
+        }).subscribe(subscriber);
+
+        try {
+            client.connectBlocking(5, TimeUnit.SECONDS);
+            client.getUTXO();
+
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!client.getReadBackpressure().isPaused()) {
+                assertTrue(System.nanoTime() < deadline, "reading never paused");
+                Thread.sleep(10);
+            }
+            // 20MB of answers do not fit into the socket buffers, they pile up at the server while reading is paused
+            Thread.sleep(500);
+            assertTrue(server.connection.hasBufferedData());
+            assertEquals(10, received.get());
+
+            subscriber.requestUnbounded();
+            assertTrue(completed.await(30, TimeUnit.SECONDS));
+            assertFalse(client.getReadBackpressure().isPaused());
+        } finally {
+            subscriber.dispose();
+            client.closeBlocking();
+            loopResources.dispose();
+            server.stop(1000);
+        }
+    }
+
+    @Test
+    public void releasesFramesNotFlushedBeforeClose() throws Exception {
+        var server = new FloodingServer();
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS));
+        var loopResources = LoopResources.create("hydra-test", 1, true);
+        var transport = new NettyHydraTransport(URI.create("ws://localhost:" + server.getPort()),
+                new HydraTransport.Handler() {
+                    @Override
+                    public void onOpen() {
+                    }
+
+                    @Override
+                    public void onMessage(String message) {
+                    }
+
+                    @Override
+                    public void onClose(int code, String reason, boolean remote) {
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                    }
+                }, HttpClient.newConnection().runOn(loopResources));
+
+        try {
+            assertTrue(transport.connectBlocking(5, TimeUnit.SECONDS));
+            transport.write(ByteBuffer.wrap("{\"tag\":\"GetUTxO\"}".getBytes(StandardCharsets.UTF_8)));
+            var frames = transport.getPendingFrames();
+            assertEquals(1, frames.size());
+
+            transport.closeBlocking();
+
+            assertEquals(0, frames.get(0).refCnt());
+            assertTrue(transport.getPendingFrames().isEmpty());
+            assertTrue(transport.flush().isDone());
+        } finally {
+            loopResources.dispose();
+            server.stop(1000);
+        }
+    }
+
+    // greets every connection and floods it with answers to every request
+    private static class FloodingServer extends WebSocketServer {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private volatile WebSocket connection;
+
+        private FloodingServer() {
+            super(new InetSocketAddress("localhost", 0));
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+            connection = conn;
+            conn.send(GREETINGS);
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+            for (int i = 0; i < ANSWERS; i++) {
+                conn.send(PEER_CONNECTED);
+            }
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+
+    }
+
+}
@@ -0,0 +1,173 @@
+package org.cardanofoundation.hydra.reactor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.hydra.client.HydraClientOptions;
+import org.cardanofoundation.hydra.client.HydraQueryEventListener;
+import org.cardanofoundation.hydra.client.HydraWSClient;
+import org.cardanofoundation.hydra.core.model.query.response.Response;
+import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketImpl;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.LoopResources;
+
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Submits a burst of transactions from several threads over reactor-netty, flushing every frame on its own,
+ * flushing per drained burst and flushing with a linger, then measures the round trip of single requests.
+ *
+ * Tagged benchmark, not part of the regular test run, execute with:
+ * mvn -Pbenchmarks -pl hydra-java-reactive-reactor-client -am test -Dtest=RequestCoalescingBenchmark
+ */
+@Slf4j
+@Tag("benchmark")
+class RequestCoalescingBenchmark {
+
+    private static final int PRODUCERS = 4;
+
+    private static final int TXS_PER_PRODUCER = 25_000;
+
+    private static final int ROUND_TRIPS = 2_000;
+
+    private static final byte[] TX_CBOR = new byte[300];
+
+    private static final int RECEIVE_BUFFER_SIZE = 4 * 1024 * 1024;
+
+    private final static String GREETINGS = "{\"headStatus\":\"Idle\",\"hydraNodeVersion\":\"0.13.0-d8a8f1a9\",\"me\":{\"vkey\":\"b37aabd81024c043f53a069c91e51a5b52e4ea399ae17ee1fe3cb9c44db707eb\"},\"seq\":0,\"tag\":\"Greetings\",\"timestamp\":\"2023-10-18T09:35:40.426712549Z\"}";
+
+    private final static String PEER_CONNECTED = "{\"peer\":\"bob\",\"seq\":1,\"tag\":\"PeerConnected\",\"timestamp\":\"2023-10-18T09:35:41.426712549Z\"}";
+
+    @Test
+    public void burstSubmission() throws Exception {
+        var server = new CountingServer();
+        server.setConnectionLostTimeout(0);
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS));
+        var loopResources = LoopResources.create("hydra-benchmark", 1, true);
+
+        try {
+            for (int round = 0; round < 3; round++) {
+                run("flush per frame", server, loopResources, 1, Duration.ZERO);
+                run("flush per burst", server, loopResources, 64 * 1024, Duration.ZERO);
+                run("flush with 50us linger", server, loopResources, 64 * 1024, Duration.ofNanos(50_000));
+            }
+        } finally {
+            loopResources.dispose();
+            server.stop(1000);
+        }
+    }
+
+    private void run(String name, CountingServer server, LoopResources loopResources, int flushThreshold, Duration linger) throws Exception {
+        var options = HydraClientOptions.builder("ws://localhost:" + server.getPort())
+                .transportFactory(NettyHydraTransport.factory(loopResources))
+                .requestFlushThreshold(flushThreshold)
+                .requestLinger(linger)
+                .build();
+        var client = new HydraWSClient(options);
+        var answered = new AtomicReference<>(new CountDownLatch(1));
+        client.addHydraQueryEventListener(new HydraQueryEventListener.Stub() {
+            @Override
+            public void onResponse(Response response) {
+                answered.get().countDown();
+            }
+        });
+
+        try {
+            client.connectBlocking(5, TimeUnit.SECONDS);
+            assertTrue(answered.get().await(5, TimeUnit.SECONDS));
+
+            var expected = server.received.get() + PRODUCERS * TXS_PER_PRODUCER;
+            var start = System.nanoTime();
+            var producers = new ArrayList<Thread>();
+            for (int i = 0; i < PRODUCERS; i++) {
+                var producer = new Thread(() -> {
+                    for (int tx = 0; tx < TXS_PER_PRODUCER; tx++) {
+                        client.submitTx(TX_CBOR);
+                    }
+                });
+                producer.start();
+                producers.add(producer);
+            }
+            for (var producer : producers) {
+                producer.join();
+            }
+            while (server.received.get() < expected) {
+                Thread.sleep(1);
+            }
+            var burstNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ROUND_TRIPS; i++) {
+                answered.set(new CountDownLatch(1));
+                client.getUTXO();
+                assertTrue(answered.get().await(5, TimeUnit.SECONDS));
+            }
+            var roundTripNanos = System.nanoTime() - start;
+
+            log.info("{}: burst {} tx/s, round trip {} us", name,
+                    PRODUCERS * TXS_PER_PRODUCER * 1_000_000_000L / burstNanos,
+                    TimeUnit.NANOSECONDS.toMicros(roundTripNanos / ROUND_TRIPS));
+        } finally {
+            client.closeBlocking();
+        }
+    }
+
+    // counts every request and answers the GetUTxO ones
+    private static class CountingServer extends WebSocketServer {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final AtomicInteger received = new AtomicInteger();
+
+        private CountingServer() {
+            super(new InetSocketAddress("localhost", 0));
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+            // the 16K receive buffer of the server socket stalls bursts over loopback, reading would be the bottleneck
+            try {
+                ((SocketChannel) ((WebSocketImpl) conn).getChannel()).socket().setReceiveBufferSize(RECEIVE_BUFFER_SIZE);
+            } catch (SocketException e) {
+                throw new IllegalStateException(e);
+            }
+            conn.send(GREETINGS);
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+            received.incrementAndGet();
+            if (message.contains("GetUTxO")) {
+                conn.send(PEER_CONNECTED);
+            }
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+
+    }
+
+}